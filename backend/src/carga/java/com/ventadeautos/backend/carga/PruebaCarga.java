@@ -0,0 +1,311 @@
+package com.ventadeautos.backend.carga;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.ventadeautos.backend.BackendApplication;
+import com.ventadeautos.backend.model.Auto;
+import com.ventadeautos.backend.model.Marca;
+import com.ventadeautos.backend.service.AutoService;
+import com.ventadeautos.backend.service.MarcaService;
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+import org.springframework.boot.SpringApplication;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+
+/**
+ * Prueba de carga de punta a punta: levanta la aplicación en este mismo proceso
+ * (puerto aleatorio, base configurada por el perfil de Spring elegido) y le envía
+ * una mezcla de tráfico parecida a la real.
+ *
+ * La carga es de lazo abierto: las peticiones salen a la tasa pedida con llegadas
+ * de Poisson, sin esperar a que terminen las anteriores, y cada una corre en su
+ * propio hilo virtual. La latencia se mide desde el instante en que la petición
+ * debía salir (no desde que salió), así un servidor saturado no esconde la cola
+ * (omisión coordinada). Por endpoint se registra un HdrHistogram y al final se
+ * escribe un reporte JSON con p50/p90/p99/p999 para comparar corridas.
+ *
+ * Uso: ./mvnw -P carga verify -Dcarga.tasa=300 -Dcarga.duracion=120 [-Dcarga.perfil=generador]
+ */
+public class PruebaCarga {
+
+    private static final long LATENCIA_MAXIMA_MICROS = TimeUnit.MINUTES.toMicros(2);
+
+    private record Operacion(String nombre, int peso, Function<SplittableRandom, HttpRequest> peticion) {
+    }
+
+    private static final class Resultado {
+        final ConcurrentHistogram latencias = new ConcurrentHistogram(LATENCIA_MAXIMA_MICROS, 3);
+        final LongAdder errores = new LongAdder();
+    }
+
+    private final int tasa;
+    private final Duration duracion;
+    private final Duration calentamiento;
+    private final long semilla;
+    private final Path reporte;
+    private final HttpClient cliente;
+    private final ObjectMapper objectMapper = new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT);
+
+    private final List<Operacion> operaciones = new ArrayList<>();
+    private final Map<String, Resultado> resultados = new LinkedHashMap<>();
+    private int pesoTotal;
+
+    PruebaCarga(int tasa, Duration duracion, Duration calentamiento, long semilla, Path reporte,
+                ExecutorService hilos) {
+        this.tasa = tasa;
+        this.duracion = duracion;
+        this.calentamiento = calentamiento;
+        this.semilla = semilla;
+        this.reporte = reporte;
+        this.cliente = HttpClient.newBuilder()
+                .executor(hilos)
+                .connectTimeout(Duration.ofSeconds(5))
+                .build();
+    }
+
+    public static void main(String[] args) throws Exception {
+        int tasa = Integer.getInteger("carga.tasa", 200);
+        Duration duracion = Duration.ofSeconds(Long.getLong("carga.duracion", 60L));
+        Duration calentamiento = Duration.ofSeconds(Long.getLong("carga.calentamiento", 15L));
+        long semilla = Long.getLong("carga.semilla", 42L);
+        Path reporte = Path.of(System.getProperty("carga.reporte", "target/carga-reporte.json"));
+
+        ConfigurableApplicationContext contexto = SpringApplication.run(BackendApplication.class, "--server.port=0");
+        try (ExecutorService hilos = Executors.newVirtualThreadPerTaskExecutor()) {
+            String base = "http://localhost:" + contexto.getEnvironment().getProperty("local.server.port");
+            PruebaCarga prueba = new PruebaCarga(tasa, duracion, calentamiento, semilla, reporte, hilos);
+            prueba.definirMezcla(base, contexto);
+            prueba.ejecutar(hilos);
+        } finally {
+            SpringApplication.exit(contexto);
+        }
+    }
+
+    // =============================================
+    // MEZCLA DE TRÁFICO
+    // =============================================
+
+    private void definirMezcla(String base, ConfigurableApplicationContext contexto) {
+        List<Long> autoIds = contexto.getBean(AutoService.class).obtenerAutosDisponibles().stream()
+                .map(Auto::getId).toList();
+        List<Long> marcaIds = contexto.getBean(MarcaService.class).obtenerMarcasActivas().stream()
+                .map(Marca::getId).toList();
+        if (autoIds.isEmpty() || marcaIds.isEmpty()) {
+            throw new IllegalStateException("No hay autos o marcas para generar tráfico; cargue datos primero");
+        }
+
+        // Catálogo público: la mayor parte del tráfico (el navegador pide gzip)
+        agregar("GET /api/autos/disponibles", 50, r -> get(base + "/api/autos/disponibles")
+                .header("Accept-Encoding", "gzip").build());
+
+        // Filtros: combinaciones de marca, categoría, rango de precio y orden
+        agregar("GET /api/autos/filtros", 25, r -> {
+            StringBuilder url = new StringBuilder(base).append("/api/autos/filtros?marcaId=")
+                    .append(marcaIds.get(r.nextInt(marcaIds.size())));
+            if (r.nextBoolean()) {
+                url.append("&categoriaId=").append(1 + r.nextInt(6));
+            }
+            if (r.nextInt(3) == 0) {
+                int minimo = 10_000 + r.nextInt(30) * 1_000;
+                url.append("&precioMin=").append(minimo).append("&precioMax=").append(minimo + 15_000);
+            }
+            url.append("&orden=").append(r.nextBoolean() ? "precio_asc" : "anio_desc").append("&limite=24");
+            return get(url.toString()).build();
+        });
+        agregar("GET /api/autos/marca/{id}", 6, r -> get(base + "/api/autos/marca/"
+                + marcaIds.get(r.nextInt(marcaIds.size()))).build());
+        agregar("GET /api/autos/facetas", 4, r -> get(base + "/api/autos/facetas?marcaId="
+                + marcaIds.get(r.nextInt(marcaIds.size()))).build());
+
+        // Formulario de contacto
+        agregar("POST /api/contact/enviar", 10, r -> {
+            long autoId = autoIds.get(r.nextInt(autoIds.size()));
+            String cuerpo = """
+                    {"nombre":"Carga %d","email":"carga%d@correo.test","telefono":"900000000",
+                     "asunto":"Consulta por auto","mensaje":"Mensaje de prueba de carga","autoId":%d}"""
+                    .formatted(r.nextInt(1_000_000), r.nextInt(1_000_000), autoId);
+            return HttpRequest.newBuilder(URI.create(base + "/api/contact/enviar"))
+                    .timeout(Duration.ofSeconds(30))
+                    .header("Content-Type", "application/json")
+                    .POST(HttpRequest.BodyPublishers.ofString(cuerpo))
+                    .build();
+        });
+
+        // Panel admin consultando estadísticas
+        agregar("GET /api/admin/dashboard/stats", 5, r -> get(base + "/api/admin/dashboard/stats").build());
+    }
+
+    private void agregar(String nombre, int peso, Function<SplittableRandom, HttpRequest> peticion) {
+        operaciones.add(new Operacion(nombre, peso, peticion));
+        resultados.put(nombre, new Resultado());
+        pesoTotal += peso;
+    }
+
+    private static HttpRequest.Builder get(String url) {
+        return HttpRequest.newBuilder(URI.create(url)).timeout(Duration.ofSeconds(30)).GET();
+    }
+
+    private Operacion elegir(SplittableRandom random) {
+        int valor = random.nextInt(pesoTotal);
+        for (Operacion operacion : operaciones) {
+            valor -= operacion.peso();
+            if (valor < 0) {
+                return operacion;
+            }
+        }
+        return operaciones.get(operaciones.size() - 1);
+    }
+
+    // =============================================
+    // EJECUCIÓN EN LAZO ABIERTO
+    // =============================================
+
+    private void ejecutar(ExecutorService hilos) throws Exception {
+        System.out.printf("Calentamiento de %d s a %d pet/s...%n", calentamiento.toSeconds(), tasa);
+        generar(hilos, calentamiento, new SplittableRandom(semilla - 1));
+        resultados.values().forEach(r -> {
+            r.latencias.reset();
+            r.errores.reset();
+        });
+
+        System.out.printf("Midiendo durante %d s a %d pet/s...%n", duracion.toSeconds(), tasa);
+        long inicio = System.nanoTime();
+        generar(hilos, duracion, new SplittableRandom(semilla));
+        double segundos = (System.nanoTime() - inicio) / 1e9;
+
+        escribirReporte(segundos);
+    }
+
+    // Programa las llegadas sobre el reloj; si el generador se atrasa, las peticiones
+    // pendientes salen enseguida pero conservan su hora prevista para medir la latencia.
+    // Al terminar espera las que siguen en vuelo, para que no caigan en la fase siguiente.
+    private void generar(ExecutorService hilos, Duration duracion, SplittableRandom random)
+            throws InterruptedException {
+        long inicio = System.nanoTime();
+        long fin = inicio + duracion.toNanos();
+        double mediaEntreLlegadas = 1e9 / tasa;
+        double siguiente = inicio;
+        List<Future<?>> enCurso = new ArrayList<>();
+
+        while (siguiente < fin) {
+            long prevista = (long) siguiente;
+            long espera = prevista - System.nanoTime();
+            if (espera > 0) {
+                TimeUnit.NANOSECONDS.sleep(espera);
+            }
+            Operacion operacion = elegir(random);
+            HttpRequest peticion = operacion.peticion().apply(random);
+            Resultado resultado = resultados.get(operacion.nombre());
+            enCurso.add(hilos.submit(() -> enviar(peticion, prevista, resultado)));
+            siguiente += -Math.log(1.0 - random.nextDouble()) * mediaEntreLlegadas;
+        }
+
+        for (Future<?> futuro : enCurso) {
+            try {
+                futuro.get();
+            } catch (ExecutionException ignorada) {
+                // enviar() ya contabiliza sus errores
+            }
+        }
+    }
+
+    private void enviar(HttpRequest peticion, long prevista, Resultado resultado) {
+        try {
+            HttpResponse<Void> respuesta = cliente.send(peticion, HttpResponse.BodyHandlers.discarding());
+            if (respuesta.statusCode() >= 400) {
+                resultado.errores.increment();
+            }
+        } catch (Exception e) {
+            resultado.errores.increment();
+        }
+        long micros = TimeUnit.NANOSECONDS.toMicros(System.nanoTime() - prevista);
+        resultado.latencias.recordValue(Math.min(micros, LATENCIA_MAXIMA_MICROS));
+    }
+
+    // =============================================
+    // REPORTE
+    // =============================================
+
+    private void escribirReporte(double segundos) throws Exception {
+        Histogram total = new Histogram(LATENCIA_MAXIMA_MICROS, 3);
+        long erroresTotales = 0;
+        Map<String, Object> porEndpoint = new LinkedHashMap<>();
+        for (Map.Entry<String, Resultado> entrada : resultados.entrySet()) {
+            Resultado resultado = entrada.getValue();
+            total.add(resultado.latencias);
+            erroresTotales += resultado.errores.sum();
+            porEndpoint.put(entrada.getKey(), resumen(resultado.latencias, resultado.errores.sum(), segundos));
+        }
+
+        Map<String, Object> configuracion = new LinkedHashMap<>();
+        configuracion.put("tasaObjetivo", tasa);
+        configuracion.put("duracionSegundos", duracion.toSeconds());
+        configuracion.put("calentamientoSegundos", calentamiento.toSeconds());
+        configuracion.put("semilla", semilla);
+        configuracion.put("perfil", System.getProperty("spring.profiles.active", ""));
+        configuracion.put("procesadores", Runtime.getRuntime().availableProcessors());
+        configuracion.put("java", System.getProperty("java.version"));
+
+        Map<String, Object> json = new LinkedHashMap<>();
+        json.put("fecha", LocalDateTime.now().toString());
+        json.put("configuracion", configuracion);
+        json.put("total", resumen(total, erroresTotales, segundos));
+        json.put("endpoints", porEndpoint);
+
+        if (reporte.getParent() != null) {
+            Files.createDirectories(reporte.getParent());
+        }
+        objectMapper.writeValue(reporte.toFile(), json);
+
+        System.out.printf("%n%-32s %9s %8s %9s %9s %9s %9s%n", "endpoint", "pet", "errores", "p50 ms", "p99 ms",
+                "p999 ms", "max ms");
+        resultados.forEach((nombre, resultado) -> imprimir(nombre, resultado.latencias, resultado.errores.sum()));
+        imprimir("TOTAL", total, erroresTotales);
+        System.out.printf("%nReporte: %s%n", reporte.toAbsolutePath());
+    }
+
+    private static Map<String, Object> resumen(Histogram latencias, long errores, double segundos) {
+        Map<String, Object> resumen = new LinkedHashMap<>();
+        resumen.put("peticiones", latencias.getTotalCount());
+        resumen.put("errores", errores);
+        resumen.put("porSegundo", Math.round(latencias.getTotalCount() / segundos * 10) / 10.0);
+        resumen.put("mediaMs", milisegundos(latencias.getMean()));
+        resumen.put("p50Ms", milisegundos(latencias.getValueAtPercentile(50)));
+        resumen.put("p90Ms", milisegundos(latencias.getValueAtPercentile(90)));
+        resumen.put("p99Ms", milisegundos(latencias.getValueAtPercentile(99)));
+        resumen.put("p999Ms", milisegundos(latencias.getValueAtPercentile(99.9)));
+        resumen.put("maxMs", milisegundos(latencias.getMaxValue()));
+        return resumen;
+    }
+
+    private static void imprimir(String nombre, Histogram latencias, long errores) {
+        System.out.printf("%-32s %9d %8d %9.2f %9.2f %9.2f %9.2f%n", nombre, latencias.getTotalCount(), errores,
+                milisegundos(latencias.getValueAtPercentile(50)), milisegundos(latencias.getValueAtPercentile(99)),
+                milisegundos(latencias.getValueAtPercentile(99.9)), milisegundos(latencias.getMaxValue()));
+    }
+
+    private static double milisegundos(double micros) {
+        return Math.round(micros / 10.0) / 100.0;
+    }
+}
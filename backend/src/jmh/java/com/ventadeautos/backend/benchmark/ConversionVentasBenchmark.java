@@ -0,0 +1,50 @@
+package com.ventadeautos.backend.benchmark;
+
+import com.ventadeautos.backend.dto.VentaResponse;
+import com.ventadeautos.backend.model.Venta;
+import com.ventadeautos.backend.service.VentaService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Conversión de entidades Venta a VentaResponse (la que usa el streaming del panel
+ * admin). Las dependencias del servicio no intervienen en la conversión.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ConversionVentasBenchmark {
+
+    @Param({"100", "1000"})
+    int cantidad;
+
+    private VentaService ventaService;
+    private List<Venta> ventas;
+
+    @Setup
+    public void preparar() {
+        ventaService = new VentaService(null, null, null, null, null, null, null);
+        DatosBenchmark datos = new DatosBenchmark();
+        ventas = datos.ventas(datos.autos(200), cantidad);
+    }
+
+    @Benchmark
+    public List<VentaResponse> convertirLista() {
+        return ventaService.convertirListaAVentaResponse(ventas);
+    }
+}
@@ -0,0 +1,129 @@
+package com.ventadeautos.backend.benchmark;
+
+import com.ventadeautos.backend.cache.ReferenciasCache;
+import com.ventadeautos.backend.cache.VersionCatalogo;
+import com.ventadeautos.backend.dto.AutoRequest;
+import com.ventadeautos.backend.model.Auto;
+import com.ventadeautos.backend.repository.AutoRepository;
+import com.ventadeautos.backend.repository.CategoriaAutoRepository;
+import com.ventadeautos.backend.repository.CombustibleRepository;
+import com.ventadeautos.backend.repository.CondicionAutoRepository;
+import com.ventadeautos.backend.repository.EstadoVentaRepository;
+import com.ventadeautos.backend.repository.MarcaRepository;
+import com.ventadeautos.backend.repository.RolRepository;
+import com.ventadeautos.backend.repository.TransmisionRepository;
+import com.ventadeautos.backend.service.AutoService;
+import com.ventadeautos.backend.service.CategoriaAutoService;
+import com.ventadeautos.backend.service.CombustibleService;
+import com.ventadeautos.backend.service.CondicionAutoService;
+import com.ventadeautos.backend.service.MarcaService;
+import com.ventadeautos.backend.service.TransmisionService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ApplicationEventPublisher;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Camino de creación de un auto en AutoService: búsqueda de las referencias en los
+ * registros en memoria, validación de kilometraje contra condición, armado de la
+ * entidad y copia para el evento del catálogo. El repositorio es un mock que
+ * devuelve el mismo auto, así que no se mide la base de datos (sí el costo fijo
+ * de la invocación del mock, igual en todas las corridas).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class CreacionAutoBenchmark {
+
+    private AutoService autoService;
+    private AutoRequest nuevo;
+    private AutoRequest usado;
+
+    @Setup
+    public void preparar() {
+        DatosBenchmark.silenciarLogs();
+        DatosBenchmark datos = new DatosBenchmark();
+
+        MarcaRepository marcaRepository = mock(MarcaRepository.class);
+        CategoriaAutoRepository categoriaRepository = mock(CategoriaAutoRepository.class);
+        CondicionAutoRepository condicionRepository = mock(CondicionAutoRepository.class);
+        CombustibleRepository combustibleRepository = mock(CombustibleRepository.class);
+        TransmisionRepository transmisionRepository = mock(TransmisionRepository.class);
+        EstadoVentaRepository estadoVentaRepository = mock(EstadoVentaRepository.class);
+        when(marcaRepository.findAll()).thenReturn(datos.marcas);
+        when(categoriaRepository.findAll()).thenReturn(datos.categorias);
+        when(condicionRepository.findAll()).thenReturn(datos.condiciones);
+        when(combustibleRepository.findAll()).thenReturn(datos.combustibles);
+        when(transmisionRepository.findAll()).thenReturn(datos.transmisiones);
+        when(estadoVentaRepository.findAll()).thenReturn(datos.estadosVenta);
+
+        ReferenciasCache referencias = new ReferenciasCache(marcaRepository, categoriaRepository,
+                condicionRepository, combustibleRepository, transmisionRepository, estadoVentaRepository,
+                mock(RolRepository.class), new VersionCatalogo());
+        ApplicationEventPublisher sinEventos = evento -> { };
+
+        AutoRepository autoRepository = mock(AutoRepository.class);
+        when(autoRepository.save(any(Auto.class))).thenAnswer(invocacion -> {
+            Auto auto = invocacion.getArgument(0);
+            auto.setId(1L);
+            return auto;
+        });
+
+        autoService = new AutoService(autoRepository,
+                new MarcaService(marcaRepository, referencias, sinEventos),
+                new CategoriaAutoService(categoriaRepository, referencias),
+                new CondicionAutoService(condicionRepository, referencias),
+                new CombustibleService(combustibleRepository, referencias),
+                new TransmisionService(transmisionRepository, referencias),
+                null, null, null, null, sinEventos);
+
+        nuevo = request(1L, 0);
+        usado = request(2L, 45_000);
+    }
+
+    private static AutoRequest request(Long condicionId, int kilometraje) {
+        AutoRequest request = new AutoRequest();
+        request.setMarcaId(1L);
+        request.setModelo("Corolla");
+        request.setAnio(2024);
+        request.setPrecio(BigDecimal.valueOf(25_500));
+        request.setColor("Blanco");
+        request.setKilometraje(kilometraje);
+        request.setStock(3);
+        request.setCombustibleId(1L);
+        request.setTransmisionId(2L);
+        request.setCategoriaId(1L);
+        request.setCondicionId(condicionId);
+        request.setDescripcion("Auto de prueba");
+        request.setImagenes(List.of("https://img.autovibes.test/1.jpg", "https://img.autovibes.test/2.jpg"));
+        return request;
+    }
+
+    @Benchmark
+    public Auto crearNuevo() {
+        return autoService.crearAuto(nuevo);
+    }
+
+    @Benchmark
+    public Auto crearUsado() {
+        return autoService.crearAuto(usado);
+    }
+}
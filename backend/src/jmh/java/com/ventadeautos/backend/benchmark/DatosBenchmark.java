@@ -0,0 +1,150 @@
+package com.ventadeautos.backend.benchmark;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import com.ventadeautos.backend.model.Auto;
+import com.ventadeautos.backend.model.CategoriaAuto;
+import com.ventadeautos.backend.model.Combustible;
+import com.ventadeautos.backend.model.CondicionAuto;
+import com.ventadeautos.backend.model.Contact;
+import com.ventadeautos.backend.model.EstadoVenta;
+import com.ventadeautos.backend.model.Marca;
+import com.ventadeautos.backend.model.Transmision;
+import com.ventadeautos.backend.model.Venta;
+
+import org.slf4j.LoggerFactory;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+
+/**
+ * Datos en memoria para los benchmarks, con la misma forma que data.sql
+ * (12 marcas, 6 categorías, 2 condiciones, 4 combustibles, 2 transmisiones).
+ * Siempre se generan con la misma semilla para que las corridas sean comparables.
+ */
+final class DatosBenchmark {
+
+    static final String[] MARCAS = {"Toyota", "Honda", "Ford", "Volkswagen", "BMW", "Mercedes-Benz",
+            "Audi", "Nissan", "Hyundai", "Kia", "Mazda", "Subaru"};
+    static final String[] CATEGORIAS = {"SEDAN", "CAMIONETA", "HATCHBACK", "PICKUP", "VAN", "DEPORTIVO"};
+    static final String[] CONDICIONES = {"NUEVO", "USADO"};
+    static final String[] COMBUSTIBLES = {"GASOLINA", "DIESEL", "HIBRIDO", "ELECTRICO"};
+    static final String[] TRANSMISIONES = {"MANUAL", "AUTOMATICA"};
+    static final String[] ESTADOS_VENTA = {"PENDIENTE", "FINALIZADO", "CANCELADO"};
+
+    final List<Marca> marcas = new ArrayList<>();
+    final List<CategoriaAuto> categorias = new ArrayList<>();
+    final List<CondicionAuto> condiciones = new ArrayList<>();
+    final List<Combustible> combustibles = new ArrayList<>();
+    final List<Transmision> transmisiones = new ArrayList<>();
+    final List<EstadoVenta> estadosVenta = new ArrayList<>();
+
+    private final SplittableRandom random = new SplittableRandom(42);
+
+    DatosBenchmark() {
+        for (int i = 0; i < MARCAS.length; i++) {
+            Marca marca = new Marca();
+            marca.setId(i + 1L);
+            marca.setNombre(MARCAS[i]);
+            marca.setActiva(true);
+            marcas.add(marca);
+        }
+        for (int i = 0; i < CATEGORIAS.length; i++) {
+            CategoriaAuto categoria = new CategoriaAuto();
+            categoria.setId(i + 1L);
+            categoria.setNombre(CATEGORIAS[i]);
+            categoria.setActiva(true);
+            categorias.add(categoria);
+        }
+        for (int i = 0; i < CONDICIONES.length; i++) {
+            CondicionAuto condicion = new CondicionAuto();
+            condicion.setId(i + 1L);
+            condicion.setNombre(CONDICIONES[i]);
+            condicion.setActiva(true);
+            condiciones.add(condicion);
+        }
+        for (int i = 0; i < COMBUSTIBLES.length; i++) {
+            Combustible combustible = new Combustible();
+            combustible.setId(i + 1L);
+            combustible.setNombre(COMBUSTIBLES[i]);
+            combustible.setActiva(true);
+            combustibles.add(combustible);
+        }
+        for (int i = 0; i < TRANSMISIONES.length; i++) {
+            Transmision transmision = new Transmision();
+            transmision.setId(i + 1L);
+            transmision.setNombre(TRANSMISIONES[i]);
+            transmision.setActiva(true);
+            transmisiones.add(transmision);
+        }
+        for (int i = 0; i < ESTADOS_VENTA.length; i++) {
+            EstadoVenta estado = new EstadoVenta();
+            estado.setId(i + 1L);
+            estado.setNombre(ESTADOS_VENTA[i]);
+            estado.setActiva(true);
+            estadosVenta.add(estado);
+        }
+    }
+
+    // Fuera de Spring logback registra en DEBUG por consola; eso taparía lo que se mide
+    static void silenciarLogs() {
+        ((Logger) LoggerFactory.getLogger(org.slf4j.Logger.ROOT_LOGGER_NAME)).setLevel(Level.WARN);
+    }
+
+    List<Auto> autos(int cantidad) {
+        List<Auto> autos = new ArrayList<>(cantidad);
+        for (int i = 1; i <= cantidad; i++) {
+            boolean nuevo = random.nextInt(3) == 0;
+            Auto auto = new Auto();
+            auto.setId((long) i);
+            auto.setMarca(marcas.get(random.nextInt(marcas.size())));
+            auto.setModelo("Modelo " + (i % 40));
+            auto.setAnio(2012 + random.nextInt(14));
+            auto.setPrecio(BigDecimal.valueOf(8_000 + random.nextInt(60_000)).setScale(2));
+            auto.setColor(i % 2 == 0 ? "Blanco" : "Gris");
+            auto.setKilometraje(nuevo ? 0 : 1_000 + random.nextInt(150_000));
+            auto.setCombustible(combustibles.get(random.nextInt(combustibles.size())));
+            auto.setTransmision(transmisiones.get(random.nextInt(transmisiones.size())));
+            auto.setCategoria(categorias.get(random.nextInt(categorias.size())));
+            auto.setCondicion(condiciones.get(nuevo ? 0 : 1));
+            auto.setDescripcion("Auto de prueba número " + i + " en excelente estado");
+            auto.setStock(random.nextInt(6));
+            auto.setDisponible(auto.getStock() > 0);
+            List<String> imagenes = new ArrayList<>();
+            for (int k = 1; k <= 5; k++) {
+                imagenes.add("https://img.autovibes.test/autos/" + i + "/" + k + ".jpg");
+            }
+            auto.setImagenes(imagenes);
+            autos.add(auto);
+        }
+        return autos;
+    }
+
+    List<Venta> ventas(List<Auto> autos, int cantidad) {
+        List<Venta> ventas = new ArrayList<>(cantidad);
+        LocalDateTime fecha = LocalDateTime.of(2025, 1, 1, 10, 0);
+        for (int i = 1; i <= cantidad; i++) {
+            Contact contacto = new Contact();
+            contacto.setId((long) i);
+            contacto.setNombre("Cliente " + i);
+            contacto.setDni(String.valueOf(40_000_000 + i));
+            contacto.setEmail("cliente" + i + "@correo.test");
+            contacto.setTelefono("9" + (10_000_000 + i));
+            contacto.setAsunto("Consulta por auto");
+            contacto.setMensaje("Mensaje " + i);
+
+            Venta venta = new Venta();
+            venta.setId((long) i);
+            venta.setContact(contacto);
+            venta.setAuto(autos.get(random.nextInt(autos.size())));
+            venta.setEstado(estadosVenta.get(random.nextInt(estadosVenta.size())));
+            venta.setFechaSolicitud(fecha.minusHours(i));
+            venta.setFechaActualizacion(fecha.minusHours(i).plusMinutes(30));
+            ventas.add(venta);
+        }
+        return ventas;
+    }
+}
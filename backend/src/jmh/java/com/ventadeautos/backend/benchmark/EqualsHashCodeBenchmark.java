@@ -0,0 +1,75 @@
+package com.ventadeautos.backend.benchmark;
+
+import com.ventadeautos.backend.model.Auto;
+import com.ventadeautos.backend.model.Venta;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * equals/hashCode generados por Lombok (@Data) en las entidades: recorren todos los
+ * campos, incluidas las relaciones y la lista de imágenes, así que su costo crece con
+ * el grafo de cada entidad. También se mide meter 1000 autos en un HashSet.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class EqualsHashCodeBenchmark {
+
+    private Auto auto;
+    private Auto copia;
+    private Venta venta;
+    private Venta ventaCopia;
+    private List<Auto> autos;
+
+    @Setup
+    public void preparar() {
+        DatosBenchmark datos = new DatosBenchmark();
+        autos = datos.autos(1000);
+        auto = autos.get(0);
+        copia = new DatosBenchmark().autos(1).get(0);
+        List<Venta> ventas = datos.ventas(autos, 1);
+        venta = ventas.get(0);
+        ventaCopia = new DatosBenchmark().ventas(new DatosBenchmark().autos(1000), 1).get(0);
+    }
+
+    @Benchmark
+    public int hashCodeAuto() {
+        return auto.hashCode();
+    }
+
+    @Benchmark
+    public boolean equalsAuto() {
+        return auto.equals(copia);
+    }
+
+    @Benchmark
+    public int hashCodeVenta() {
+        return venta.hashCode();
+    }
+
+    @Benchmark
+    public boolean equalsVenta() {
+        return venta.equals(ventaCopia);
+    }
+
+    @Benchmark
+    public Set<Auto> hashSetDeAutos() {
+        return new HashSet<>(autos);
+    }
+}
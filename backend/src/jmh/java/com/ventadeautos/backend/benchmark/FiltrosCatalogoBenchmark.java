@@ -0,0 +1,93 @@
+package com.ventadeautos.backend.benchmark;
+
+import com.ventadeautos.backend.cache.VersionCatalogo;
+import com.ventadeautos.backend.catalog.CatalogoAutos;
+import com.ventadeautos.backend.catalog.FiltroCatalogo;
+import com.ventadeautos.backend.catalog.OrdenCatalogo;
+import com.ventadeautos.backend.model.Auto;
+import com.ventadeautos.backend.repository.AutoRepository;
+import com.ventadeautos.backend.repository.ReservaStockRepository;
+import com.ventadeautos.backend.reserva.ReservasStock;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.scheduling.TaskScheduler;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Evaluación de filtros sobre el catálogo en memoria: una dimensión, varias
+ * dimensiones con rangos, y los K primeros por precio.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class FiltrosCatalogoBenchmark {
+
+    @Param({"1000", "50000"})
+    int cantidad;
+
+    private CatalogoAutos catalogo;
+    private FiltroCatalogo porMarca;
+    private FiltroCatalogo combinado;
+    private FiltroCatalogo masBaratos;
+
+    @Setup
+    public void preparar() {
+        DatosBenchmark.silenciarLogs();
+        AutoRepository autoRepository = mock(AutoRepository.class);
+        when(autoRepository.findAllParaCatalogo()).thenReturn(new DatosBenchmark().autos(cantidad));
+        when(autoRepository.contarVentasPendientesPorAuto()).thenReturn(List.of());
+        ReservasStock reservasStock = new ReservasStock(mock(ReservaStockRepository.class), evento -> { }, mock(TaskScheduler.class));
+        catalogo = new CatalogoAutos(autoRepository, new VersionCatalogo(), reservasStock);
+        catalogo.inicializar();
+
+        porMarca = FiltroCatalogo.de(1L, null, null, null, null);
+
+        combinado = new FiltroCatalogo();
+        combinado.setMarcaIds(Set.of(1L, 2L, 9L));
+        combinado.setCategoriaIds(Set.of(1L, 2L));
+        combinado.setPrecioMin(BigDecimal.valueOf(15_000));
+        combinado.setPrecioMax(BigDecimal.valueOf(40_000));
+        combinado.setAnioMin(2018);
+        combinado.setConStock(true);
+        combinado.setSinVentasPendientes(true);
+
+        masBaratos = new FiltroCatalogo();
+        masBaratos.setConStock(true);
+        masBaratos.setOrden(OrdenCatalogo.PRECIO_ASC);
+        masBaratos.setLimite(20);
+    }
+
+    @Benchmark
+    public List<Auto> unaDimension() {
+        return catalogo.filtrar(porMarca);
+    }
+
+    @Benchmark
+    public List<Auto> variasDimensionesYRangos() {
+        return catalogo.filtrar(combinado);
+    }
+
+    @Benchmark
+    public List<Auto> primerosPorPrecio() {
+        return catalogo.filtrar(masBaratos);
+    }
+}
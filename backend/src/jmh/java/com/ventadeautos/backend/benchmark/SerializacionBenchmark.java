@@ -0,0 +1,60 @@
+package com.ventadeautos.backend.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.ventadeautos.backend.dto.VentaResponse;
+import com.ventadeautos.backend.model.Auto;
+import com.ventadeautos.backend.service.VentaService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Serialización JSON de los listados más pedidos (autos del catálogo y ventas del
+ * panel admin) con un ObjectMapper configurado como el de Spring Boot.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class SerializacionBenchmark {
+
+    @Param({"100", "1000"})
+    int cantidad;
+
+    private ObjectMapper objectMapper;
+    private List<Auto> autos;
+    private List<VentaResponse> ventas;
+
+    @Setup
+    public void preparar() {
+        objectMapper = Jackson2ObjectMapperBuilder.json().build();
+        DatosBenchmark datos = new DatosBenchmark();
+        autos = datos.autos(cantidad);
+        VentaService ventaService = new VentaService(null, null, null, null, null, null, null);
+        ventas = ventaService.convertirListaAVentaResponse(datos.ventas(autos, cantidad));
+    }
+
+    @Benchmark
+    public byte[] autos() throws Exception {
+        return objectMapper.writeValueAsBytes(autos);
+    }
+
+    @Benchmark
+    public byte[] ventas() throws Exception {
+        return objectMapper.writeValueAsBytes(ventas);
+    }
+}
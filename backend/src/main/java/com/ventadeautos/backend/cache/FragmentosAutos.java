@@ -0,0 +1,90 @@
+package com.ventadeautos.backend.cache;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.ventadeautos.backend.model.Auto;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.ByteArrayOutputStream;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Caché del JSON de cada auto del catálogo, para armar listados concatenando fragmentos.
+ *
+ * Solo sirve para las copias que entrega {@link com.ventadeautos.backend.catalog.CatalogoAutos}:
+ * el catálogo nunca modifica una copia guardada, cada cambio la reemplaza por otra.
+ * Por eso la referencia a la copia hace de versión: si la entrada del id apunta a la
+ * misma copia, sus bytes siguen vigentes. Editar un auto solo vuelve a serializar ese auto.
+ *
+ * La memoria está acotada a catalogo.fragmentos.max-bytes de JSON (por defecto
+ * {@link #MAX_BYTES}); al superarla se descartan los fragmentos usados hace más tiempo (LRU).
+ */
+@Component
+@RequiredArgsConstructor
+public class FragmentosAutos {
+
+    private static final long MAX_BYTES = 32L * 1024 * 1024;
+
+    private final ObjectMapper objectMapper;
+
+    @Value("${catalogo.fragmentos.max-bytes:" + MAX_BYTES + "}")
+    private long maxBytes = MAX_BYTES;
+
+    // En orden de acceso: el primero es el menos usado recientemente
+    private final LinkedHashMap<Long, Fragmento> fragmentos = new LinkedHashMap<>(256, 0.75f, true);
+    private long bytesUsados = 0;
+
+    /**
+     * JSON de la lista, igual al que produciría Jackson al serializarla completa.
+     */
+    public byte[] ensamblar(List<Auto> autos) {
+        ByteArrayOutputStream salida = new ByteArrayOutputStream(Math.max(64, autos.size() * 1024));
+        salida.write('[');
+        for (int i = 0; i < autos.size(); i++) {
+            if (i > 0) {
+                salida.write(',');
+            }
+            salida.writeBytes(fragmento(autos.get(i)));
+        }
+        salida.write(']');
+        return salida.toByteArray();
+    }
+
+    private byte[] fragmento(Auto auto) {
+        synchronized (this) {
+            Fragmento existente = fragmentos.get(auto.getId());
+            if (existente != null && existente.auto() == auto) {
+                return existente.json();
+            }
+        }
+
+        byte[] json;
+        try {
+            json = objectMapper.writeValueAsBytes(auto);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("No se pudo serializar el auto " + auto.getId(), e);
+        }
+
+        synchronized (this) {
+            Fragmento anterior = fragmentos.put(auto.getId(), new Fragmento(auto, json));
+            if (anterior != null) {
+                bytesUsados -= anterior.json().length;
+            }
+            bytesUsados += json.length;
+            Iterator<Map.Entry<Long, Fragmento>> menosUsados = fragmentos.entrySet().iterator();
+            while (bytesUsados > maxBytes && menosUsados.hasNext()) {
+                bytesUsados -= menosUsados.next().getValue().json().length;
+                menosUsados.remove();
+            }
+        }
+        return json;
+    }
+
+    private record Fragmento(Auto auto, byte[] json) {
+    }
+}
@@ -0,0 +1,61 @@
+package com.ventadeautos.backend.cache;
+
+import com.ventadeautos.backend.model.CategoriaAuto;
+import com.ventadeautos.backend.model.Combustible;
+import com.ventadeautos.backend.model.CondicionAuto;
+import com.ventadeautos.backend.model.EstadoVenta;
+import com.ventadeautos.backend.model.Marca;
+import com.ventadeautos.backend.model.Rol;
+import com.ventadeautos.backend.model.Transmision;
+import com.ventadeautos.backend.repository.CategoriaAutoRepository;
+import com.ventadeautos.backend.repository.CombustibleRepository;
+import com.ventadeautos.backend.repository.CondicionAutoRepository;
+import com.ventadeautos.backend.repository.EstadoVentaRepository;
+import com.ventadeautos.backend.repository.MarcaRepository;
+import com.ventadeautos.backend.repository.RolRepository;
+import com.ventadeautos.backend.repository.TransmisionRepository;
+import lombok.Getter;
+import org.springframework.stereotype.Component;
+
+/**
+ * Registros en memoria de las tablas de referencia. Los servicios de cada tabla
+ * leen de aquí y lo actualizan en sus métodos de escritura; cada cambio incrementa
+ * la {@link VersionCatalogo}.
+ */
+@Getter
+@Component
+public class ReferenciasCache {
+
+    private final RegistroReferencia<Marca> marcas;
+    private final RegistroReferencia<CategoriaAuto> categorias;
+    private final RegistroReferencia<CondicionAuto> condiciones;
+    private final RegistroReferencia<Combustible> combustibles;
+    private final RegistroReferencia<Transmision> transmisiones;
+    private final RegistroReferencia<EstadoVenta> estadosVenta;
+    private final RegistroReferencia<Rol> roles;
+
+    public ReferenciasCache(MarcaRepository marcaRepository,
+                            CategoriaAutoRepository categoriaAutoRepository,
+                            CondicionAutoRepository condicionAutoRepository,
+                            CombustibleRepository combustibleRepository,
+                            TransmisionRepository transmisionRepository,
+                            EstadoVentaRepository estadoVentaRepository,
+                            RolRepository rolRepository,
+                            VersionCatalogo versionCatalogo) {
+        Runnable alCambiar = versionCatalogo::incrementar;
+        marcas = new RegistroReferencia<>("marcas", marcaRepository::findAll,
+                Marca::getId, Marca::getNombre, m -> Boolean.TRUE.equals(m.getActiva()), alCambiar);
+        categorias = new RegistroReferencia<>("categorias_auto", categoriaAutoRepository::findAll,
+                CategoriaAuto::getId, CategoriaAuto::getNombre, c -> Boolean.TRUE.equals(c.getActiva()), alCambiar);
+        condiciones = new RegistroReferencia<>("condiciones_auto", condicionAutoRepository::findAll,
+                CondicionAuto::getId, CondicionAuto::getNombre, c -> Boolean.TRUE.equals(c.getActiva()), alCambiar);
+        combustibles = new RegistroReferencia<>("combustibles", combustibleRepository::findAll,
+                Combustible::getId, Combustible::getNombre, c -> Boolean.TRUE.equals(c.getActiva()), alCambiar);
+        transmisiones = new RegistroReferencia<>("transmisiones", transmisionRepository::findAll,
+                Transmision::getId, Transmision::getNombre, t -> Boolean.TRUE.equals(t.getActiva()), alCambiar);
+        estadosVenta = new RegistroReferencia<>("estados_venta", estadoVentaRepository::findAll,
+                EstadoVenta::getId, EstadoVenta::getNombre, e -> Boolean.TRUE.equals(e.getActiva()), alCambiar);
+        roles = new RegistroReferencia<>("roles", rolRepository::findAll,
+                Rol::getId, Rol::getNombre, r -> Boolean.TRUE.equals(r.getActiva()), alCambiar);
+    }
+}
@@ -0,0 +1,146 @@
+package com.ventadeautos.backend.cache;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+
+/**
+ * Copia en memoria de una tabla de referencia (marcas, categorías, estados, roles...).
+ *
+ * Las lecturas usan una instantánea inmutable (por id, por nombre, todas y activas)
+ * sin locks. Cada escritura arma una instantánea nueva y la reemplaza de forma
+ * atómica (copy-on-write); si hay una transacción en curso, el reemplazo se hace
+ * recién después del commit. La tabla se lee de la base la primera vez que se usa.
+ *
+ * El nombre se compara sin distinguir mayúsculas, igual que la collation de MySQL.
+ */
+@Slf4j
+public class RegistroReferencia<T> {
+
+    private final String tabla;
+    private final Supplier<List<T>> cargador;
+    private final Function<T, Long> id;
+    private final Function<T, String> nombre;
+    private final Predicate<T> activo;
+    private final Runnable alCambiar;
+    private final AtomicReference<Instantanea<T>> instantanea = new AtomicReference<>();
+
+    public RegistroReferencia(String tabla, Supplier<List<T>> cargador, Function<T, Long> id,
+                              Function<T, String> nombre, Predicate<T> activo, Runnable alCambiar) {
+        this.tabla = tabla;
+        this.cargador = cargador;
+        this.id = id;
+        this.nombre = nombre;
+        this.activo = activo;
+        this.alCambiar = alCambiar;
+    }
+
+    public List<T> todos() {
+        return actual().todos();
+    }
+
+    public List<T> activos() {
+        return actual().activos();
+    }
+
+    public Optional<T> porId(Long clave) {
+        return clave != null ? Optional.ofNullable(actual().porId().get(clave)) : Optional.empty();
+    }
+
+    public Optional<T> porNombre(String clave) {
+        return clave != null ? Optional.ofNullable(actual().porNombre().get(normalizar(clave))) : Optional.empty();
+    }
+
+    /**
+     * Agrega o reemplaza una entidad ya guardada. Después del reemplazo se avisa
+     * con {@code alCambiar} (por ejemplo, para invalidar respuestas cacheadas).
+     */
+    public void guardar(T entidad) {
+        alConfirmar(() -> instantanea.updateAndGet(actual -> {
+            if (actual == null) {
+                return null;
+            }
+            List<T> entidades = new ArrayList<>(actual.todos().size() + 1);
+            Long clave = id.apply(entidad);
+            for (T existente : actual.todos()) {
+                if (!id.apply(existente).equals(clave)) {
+                    entidades.add(existente);
+                }
+            }
+            entidades.add(entidad);
+            return construir(entidades);
+        }), alCambiar);
+    }
+
+    public void quitar(Long clave) {
+        alConfirmar(() -> instantanea.updateAndGet(actual -> actual == null ? null : construir(
+                actual.todos().stream().filter(e -> !id.apply(e).equals(clave)).toList())), alCambiar);
+    }
+
+    private Instantanea<T> actual() {
+        Instantanea<T> resultado = instantanea.get();
+        if (resultado != null) {
+            return resultado;
+        }
+        synchronized (this) {
+            resultado = instantanea.get();
+            if (resultado == null) {
+                resultado = construir(cargador.get());
+                instantanea.set(resultado);
+                log.debug("Tabla de referencia '{}' en memoria: {} filas", tabla, resultado.todos().size());
+            }
+            return resultado;
+        }
+    }
+
+    private Instantanea<T> construir(List<T> entidades) {
+        List<T> ordenadas = new ArrayList<>(entidades);
+        ordenadas.sort(Comparator.comparing(id));
+        Map<Long, T> porId = new HashMap<>();
+        Map<String, T> porNombre = new HashMap<>();
+        for (T entidad : ordenadas) {
+            porId.put(id.apply(entidad), entidad);
+            if (nombre.apply(entidad) != null) {
+                porNombre.put(normalizar(nombre.apply(entidad)), entidad);
+            }
+        }
+        return new Instantanea<>(Map.copyOf(porId), Map.copyOf(porNombre), List.copyOf(ordenadas),
+                ordenadas.stream().filter(activo).toList());
+    }
+
+    private static void alConfirmar(Runnable accion, Runnable despues) {
+        Runnable completa = () -> {
+            accion.run();
+            despues.run();
+        };
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    completa.run();
+                }
+            });
+        } else {
+            completa.run();
+        }
+    }
+
+    private static String normalizar(String nombre) {
+        return nombre.trim().toLowerCase(Locale.ROOT);
+    }
+
+    private record Instantanea<T>(Map<Long, T> porId, Map<String, T> porNombre, List<T> todos, List<T> activos) {
+    }
+}
@@ -0,0 +1,164 @@
+package com.ventadeautos.backend.cache;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.servlet.http.HttpServletRequest;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+import java.util.zip.CRC32;
+import java.util.zip.Deflater;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Caché de respuestas ya serializadas para los endpoints públicos más consultados.
+ *
+ * Por cada endpoint guarda el JSON en bytes junto con sus variantes gzip y deflate,
+ * asociado a la {@link VersionCatalogo} con que se armó. Mientras la versión no
+ * cambie, cada pedido recibe esos bytes tal cual, sin pasar por Jackson ni comprimir.
+ * También responde 304 cuando el cliente envía un If-None-Match vigente.
+ *
+ * Brotli no está en el JDK; deflate cubre a los clientes que no aceptan gzip.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class RespuestasCache {
+
+    private static final String GZIP = "gzip";
+    private static final String DEFLATE = "deflate";
+
+    private final VersionCatalogo versionCatalogo;
+    private final ObjectMapper objectMapper;
+
+    private final Map<String, Entrada> entradas = new ConcurrentHashMap<>();
+
+    public ResponseEntity<byte[]> responder(String clave, HttpServletRequest request, Supplier<?> datos) {
+        return responderJson(clave, request, () -> serializar(datos.get()));
+    }
+
+    /**
+     * Igual que {@link #responder}, pero con el JSON ya armado (por ejemplo, desde
+     * {@link FragmentosAutos}).
+     */
+    public ResponseEntity<byte[]> responderJson(String clave, HttpServletRequest request, Supplier<byte[]> json) {
+        Entrada entrada = obtener(clave, json);
+
+        HttpHeaders headers = new HttpHeaders();
+        headers.setETag(entrada.etag());
+        headers.setVary(List.of(HttpHeaders.ACCEPT_ENCODING));
+
+        if (coincideEtag(request.getHeader(HttpHeaders.IF_NONE_MATCH), entrada.etag())) {
+            return new ResponseEntity<>(headers, HttpStatus.NOT_MODIFIED);
+        }
+
+        headers.setContentType(MediaType.APPLICATION_JSON);
+        byte[] cuerpo = entrada.json();
+        String aceptadas = request.getHeader(HttpHeaders.ACCEPT_ENCODING);
+        if (acepta(aceptadas, GZIP)) {
+            cuerpo = entrada.gzip();
+            headers.set(HttpHeaders.CONTENT_ENCODING, GZIP);
+        } else if (acepta(aceptadas, DEFLATE)) {
+            cuerpo = entrada.deflate();
+            headers.set(HttpHeaders.CONTENT_ENCODING, DEFLATE);
+        }
+        headers.setContentLength(cuerpo.length);
+        return new ResponseEntity<>(cuerpo, headers, HttpStatus.OK);
+    }
+
+    private Entrada obtener(String clave, Supplier<byte[]> json) {
+        // La versión se lee antes que los datos: si cambia en el medio, la entrada
+        // queda con la versión vieja y el próximo pedido la vuelve a armar
+        long version = versionCatalogo.actual();
+        Entrada entrada = entradas.get(clave);
+        if (entrada != null && entrada.version() == version) {
+            return entrada;
+        }
+        Entrada nueva = construir(version, json.get());
+        entradas.merge(clave, nueva, (actual, candidata) -> candidata.version() >= actual.version() ? candidata : actual);
+        log.debug("Respuesta '{}' serializada para la versión {} ({} bytes)", clave, version, nueva.json().length);
+        return nueva;
+    }
+
+    private byte[] serializar(Object datos) {
+        try {
+            return objectMapper.writeValueAsBytes(datos);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("No se pudo serializar la respuesta", e);
+        }
+    }
+
+    private Entrada construir(long version, byte[] json) {
+        CRC32 crc = new CRC32();
+        crc.update(json);
+        // Débil: el mismo contenido viaja con distintas codificaciones
+        String etag = "W/\"" + Long.toHexString(version) + "-" + Long.toHexString(crc.getValue()) + "\"";
+
+        ByteArrayOutputStream gzip = new ByteArrayOutputStream(json.length / 4 + 64);
+        try (OutputStream salida = new GZIPOutputStream(gzip)) {
+            salida.write(json);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        ByteArrayOutputStream deflate = new ByteArrayOutputStream(json.length / 4 + 64);
+        try (OutputStream salida = new DeflaterOutputStream(deflate, new Deflater(Deflater.BEST_COMPRESSION))) {
+            salida.write(json);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return new Entrada(version, etag, json, gzip.toByteArray(), deflate.toByteArray());
+    }
+
+    private static boolean coincideEtag(String ifNoneMatch, String etag) {
+        if (ifNoneMatch == null || ifNoneMatch.isBlank()) {
+            return false;
+        }
+        String sinPrefijo = etag.substring(2);
+        for (String candidato : ifNoneMatch.split(",")) {
+            String valor = candidato.trim();
+            if (valor.equals("*") || valor.equals(etag) || valor.equals(sinPrefijo)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    // Acepta la codificación si aparece en Accept-Encoding sin q=0
+    private static boolean acepta(String acceptEncoding, String codificacion) {
+        if (acceptEncoding == null) {
+            return false;
+        }
+        for (String parte : acceptEncoding.toLowerCase(Locale.ROOT).split(",")) {
+            String[] tokens = parte.trim().split(";");
+            if (!tokens[0].trim().equals(codificacion)) {
+                continue;
+            }
+            for (int i = 1; i < tokens.length; i++) {
+                String parametro = tokens[i].trim().replace(" ", "");
+                if (parametro.equals("q=0") || parametro.matches("q=0\\.0*")) {
+                    return false;
+                }
+            }
+            return true;
+        }
+        return false;
+    }
+
+    private record Entrada(long version, String etag, byte[] json, byte[] gzip, byte[] deflate) {
+    }
+}
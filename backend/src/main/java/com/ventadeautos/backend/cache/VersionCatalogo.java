@@ -0,0 +1,26 @@
+package com.ventadeautos.backend.cache;
+
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Número de versión de los datos públicos del catálogo (autos, marcas y opciones).
+ *
+ * Lo incrementan el catálogo en memoria y los registros de referencia después de
+ * aplicar un cambio, nunca antes: así una respuesta armada con la versión nueva
+ * siempre refleja ese cambio.
+ */
+@Component
+public class VersionCatalogo {
+
+    private final AtomicLong version = new AtomicLong();
+
+    public long actual() {
+        return version.get();
+    }
+
+    public void incrementar() {
+        version.incrementAndGet();
+    }
+}
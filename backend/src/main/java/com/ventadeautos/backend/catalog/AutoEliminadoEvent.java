@@ -0,0 +1,10 @@
+package com.ventadeautos.backend.catalog;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+@Data
+@AllArgsConstructor
+public class AutoEliminadoEvent {
+    private Long autoId;
+}
@@ -0,0 +1,46 @@
+package com.ventadeautos.backend.catalog;
+
+import com.ventadeautos.backend.model.Auto;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.util.ArrayList;
+
+/**
+ * Se publica cuando un auto se crea o cambia (datos, stock o disponibilidad).
+ * Lleva una copia desconectada del auto, tomada mientras la sesión sigue abierta.
+ */
+@Data
+@AllArgsConstructor
+public class AutoModificadoEvent {
+    private Auto auto;
+
+    public static AutoModificadoEvent de(Auto auto) {
+        return new AutoModificadoEvent(copiar(auto));
+    }
+
+    static Auto copiar(Auto origen) {
+        Auto copia = new Auto();
+        copia.setId(origen.getId());
+        copia.setMarca(origen.getMarca());
+        copia.setModelo(origen.getModelo());
+        copia.setAnio(origen.getAnio());
+        copia.setPrecio(origen.getPrecio());
+        copia.setColor(origen.getColor());
+        copia.setKilometraje(origen.getKilometraje());
+        copia.setCombustible(origen.getCombustible());
+        copia.setTransmision(origen.getTransmision());
+        copia.setCategoria(origen.getCategoria());
+        copia.setCondicion(origen.getCondicion());
+        copia.setDescripcion(origen.getDescripcion());
+        copia.setDisponible(origen.getDisponible());
+        copia.setStock(origen.getStock());
+        copia.setVersion(origen.getVersion());
+        copia.setVentasPendientes(origen.getVentasPendientes());
+        copia.setVentasFinalizadas(origen.getVentasFinalizadas());
+        copia.setImagenes(origen.getImagenes() != null ? new ArrayList<>(origen.getImagenes()) : new ArrayList<>());
+        // Aplica las mismas reglas que @PreUpdate, que aún no corrió si el flush está pendiente
+        copia.calcularCondicion();
+        return copia;
+    }
+}
@@ -0,0 +1,429 @@
+package com.ventadeautos.backend.catalog;
+
+import com.ventadeautos.backend.cache.ReferenciasCache;
+import com.ventadeautos.backend.dto.SugerenciaAutocompletado;
+import com.ventadeautos.backend.model.Auto;
+import com.ventadeautos.backend.model.Marca;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Autocompletado por prefijo de marcas y modelos.
+ *
+ * Es un trie sobre los nombres normalizados (minúsculas, sin tildes) de las marcas
+ * activas y de los modelos del catálogo. Cada modelo se indexa como "marca modelo" y
+ * como "modelo", así "cor" y "toyota co" sugieren "Toyota Corolla". El peso de cada
+ * término es el stock de sus autos disponibles, y cada nodo guarda precalculados sus
+ * {@link #MAX_SUGERENCIAS} mejores términos: una consulta solo recorre el prefijo.
+ *
+ * Al cambiar un peso o un término se recalculan únicamente los nodos de su camino.
+ * Se mantiene con los eventos de autos y de marcas.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class Autocompletado {
+
+    public static final int MAX_SUGERENCIAS = 10;
+
+    private static final Termino[] SIN_TERMINOS = new Termino[0];
+
+    // Más stock primero; a igual stock, marcas antes que modelos y luego alfabético
+    private static final Comparator<Termino> POR_RELEVANCIA = Comparator
+            .comparingInt((Termino t) -> -t.peso)
+            .thenComparing(t -> t.tipo)
+            .thenComparing(t -> t.texto);
+
+    private final CatalogoAutos catalogoAutos;
+    private final ReferenciasCache referenciasCache;
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Nodo raiz = new Nodo();
+    private final Map<Long, String> nombresMarca = new HashMap<>();
+    private final Map<Long, Termino> terminosMarca = new HashMap<>();
+    private final Map<String, Termino> terminosModelo = new HashMap<>();
+    private final Map<Long, Aporte> aportes = new HashMap<>();
+    private volatile boolean cargado = false;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void inicializar() {
+        asegurarCargado();
+    }
+
+    public List<SugerenciaAutocompletado> sugerir(String prefijo, int limite) {
+        asegurarCargado();
+        String clave = clave(prefijo);
+        if (clave.isEmpty() || limite <= 0) {
+            return List.of();
+        }
+        lock.readLock().lock();
+        try {
+            Nodo nodo = raiz;
+            for (int i = 0; i < clave.length() && nodo != null; i++) {
+                nodo = nodo.hijo(clave.charAt(i));
+            }
+            if (nodo == null) {
+                return List.of();
+            }
+            int cantidad = Math.min(limite, nodo.mejores.length);
+            List<SugerenciaAutocompletado> sugerencias = new ArrayList<>(cantidad);
+            for (int i = 0; i < cantidad; i++) {
+                Termino termino = nodo.mejores[i];
+                sugerencias.add(new SugerenciaAutocompletado(termino.texto, termino.tipo, termino.marcaId,
+                        termino.peso));
+            }
+            return sugerencias;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // =============================================
+    // MANTENIMIENTO INCREMENTAL
+    // =============================================
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onAutoModificado(AutoModificadoEvent event) {
+        if (event.getAuto() == null || event.getAuto().getId() == null) {
+            return;
+        }
+        lock.writeLock().lock();
+        try {
+            if (cargado) {
+                aplicar(event.getAuto());
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onAutoEliminado(AutoEliminadoEvent event) {
+        lock.writeLock().lock();
+        try {
+            if (cargado) {
+                Aporte anterior = aportes.remove(event.getAutoId());
+                if (anterior != null) {
+                    restar(anterior);
+                }
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onMarcaModificada(MarcaModificadaEvent event) {
+        lock.writeLock().lock();
+        try {
+            if (cargado) {
+                registrarMarca(event.getMarca());
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onMarcaEliminada(MarcaEliminadaEvent event) {
+        lock.writeLock().lock();
+        try {
+            if (cargado) {
+                Termino termino = terminosMarca.remove(event.getMarcaId());
+                if (termino != null) {
+                    desindexar(termino);
+                }
+                nombresMarca.remove(event.getMarcaId());
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void asegurarCargado() {
+        if (cargado) {
+            return;
+        }
+        lock.writeLock().lock();
+        try {
+            if (cargado) {
+                return;
+            }
+            referenciasCache.getMarcas().todos().forEach(this::registrarMarca);
+            catalogoAutos.todos().forEach(this::aplicar);
+            cargado = true;
+            log.info("Autocompletado construido: {} marcas, {} modelos", terminosMarca.size(), terminosModelo.size());
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    // Debe llamarse con el lock de escritura tomado
+    private void registrarMarca(Marca marca) {
+        Long marcaId = marca.getId();
+        String nombreAnterior = nombresMarca.put(marcaId, marca.getNombre());
+
+        Termino anterior = terminosMarca.remove(marcaId);
+        if (anterior != null) {
+            desindexar(anterior);
+        }
+        if (Boolean.TRUE.equals(marca.getActiva()) && !clave(marca.getNombre()).isEmpty()) {
+            Termino termino = new Termino(TipoSugerencia.MARCA, marcaId, marca.getNombre());
+            termino.claves = List.of(clave(marca.getNombre()));
+            for (Aporte aporte : aportes.values()) {
+                if (aporte.marcaId() == marcaId) {
+                    termino.peso += aporte.peso();
+                }
+            }
+            terminosMarca.put(marcaId, termino);
+            indexar(termino);
+        }
+
+        // Los modelos se muestran y se indexan con el nombre de su marca
+        if (nombreAnterior != null && !nombreAnterior.equals(marca.getNombre())) {
+            for (Termino modelo : terminosModelo.values()) {
+                if (modelo.marcaId == marcaId) {
+                    desindexar(modelo);
+                    definirModelo(modelo, modelo.modelo);
+                    indexar(modelo);
+                }
+            }
+        }
+    }
+
+    // Debe llamarse con el lock de escritura tomado
+    private void aplicar(Auto auto) {
+        Aporte anterior = aportes.remove(auto.getId());
+        if (anterior != null) {
+            restar(anterior);
+        }
+        if (auto.getMarca() == null || auto.getMarca().getId() == null || clave(auto.getModelo()).isEmpty()) {
+            return;
+        }
+        nombresMarca.putIfAbsent(auto.getMarca().getId(), auto.getMarca().getNombre());
+        int stock = auto.getStock() != null ? auto.getStock() : 0;
+        int peso = Boolean.TRUE.equals(auto.getDisponible()) && stock > 0 ? stock : 0;
+        Aporte nuevo = new Aporte(auto.getMarca().getId(), clave(auto.getModelo()), auto.getModelo().trim(), peso);
+        aportes.put(auto.getId(), nuevo);
+        sumar(nuevo);
+    }
+
+    // Debe llamarse con el lock de escritura tomado
+    private void sumar(Aporte aporte) {
+        Termino marca = terminosMarca.get(aporte.marcaId());
+        if (marca != null && aporte.peso() != 0) {
+            marca.peso += aporte.peso();
+            reordenar(marca);
+        }
+
+        String idModelo = aporte.marcaId() + ":" + aporte.claveModelo();
+        Termino modelo = terminosModelo.get(idModelo);
+        if (modelo == null) {
+            modelo = new Termino(TipoSugerencia.MODELO, aporte.marcaId(), null);
+            definirModelo(modelo, aporte.modelo());
+            modelo.peso = aporte.peso();
+            modelo.autos = 1;
+            terminosModelo.put(idModelo, modelo);
+            indexar(modelo);
+        } else {
+            modelo.autos++;
+            if (aporte.peso() != 0) {
+                modelo.peso += aporte.peso();
+                reordenar(modelo);
+            }
+        }
+    }
+
+    // Debe llamarse con el lock de escritura tomado
+    private void restar(Aporte aporte) {
+        Termino marca = terminosMarca.get(aporte.marcaId());
+        if (marca != null && aporte.peso() != 0) {
+            marca.peso -= aporte.peso();
+            reordenar(marca);
+        }
+
+        String idModelo = aporte.marcaId() + ":" + aporte.claveModelo();
+        Termino modelo = terminosModelo.get(idModelo);
+        if (modelo == null) {
+            return;
+        }
+        modelo.autos--;
+        modelo.peso -= aporte.peso();
+        if (modelo.autos <= 0) {
+            terminosModelo.remove(idModelo);
+            desindexar(modelo);
+        } else if (aporte.peso() != 0) {
+            reordenar(modelo);
+        }
+    }
+
+    private void definirModelo(Termino termino, String modelo) {
+        String marca = nombresMarca.getOrDefault(termino.marcaId, "");
+        termino.modelo = modelo;
+        termino.texto = marca.isBlank() ? modelo : marca + " " + modelo;
+        String claveCompleta = clave(termino.texto);
+        String claveModelo = clave(modelo);
+        termino.claves = claveCompleta.equals(claveModelo) ? List.of(claveModelo) : List.of(claveCompleta, claveModelo);
+    }
+
+    // =============================================
+    // TRIE
+    // =============================================
+
+    private void indexar(Termino termino) {
+        for (String clave : termino.claves) {
+            Nodo[] ruta = new Nodo[clave.length() + 1];
+            ruta[0] = raiz;
+            for (int i = 0; i < clave.length(); i++) {
+                ruta[i + 1] = ruta[i].hijoOCrear(clave.charAt(i));
+            }
+            ruta[clave.length()].propios.add(termino);
+            recalcular(ruta, clave);
+        }
+    }
+
+    private void desindexar(Termino termino) {
+        for (String clave : termino.claves) {
+            Nodo[] ruta = ruta(clave);
+            if (ruta != null) {
+                ruta[clave.length()].propios.remove(termino);
+                recalcular(ruta, clave);
+            }
+        }
+    }
+
+    private void reordenar(Termino termino) {
+        for (String clave : termino.claves) {
+            Nodo[] ruta = ruta(clave);
+            if (ruta != null) {
+                recalcular(ruta, clave);
+            }
+        }
+    }
+
+    private Nodo[] ruta(String clave) {
+        Nodo[] ruta = new Nodo[clave.length() + 1];
+        ruta[0] = raiz;
+        for (int i = 0; i < clave.length(); i++) {
+            ruta[i + 1] = ruta[i].hijo(clave.charAt(i));
+            if (ruta[i + 1] == null) {
+                return null;
+            }
+        }
+        return ruta;
+    }
+
+    // Recalcula los mejores términos desde la hoja hasta la raíz, podando nodos vacíos
+    private void recalcular(Nodo[] ruta, String clave) {
+        for (int i = clave.length(); i >= 0; i--) {
+            Nodo nodo = ruta[i];
+            if (i > 0 && nodo.propios.isEmpty() && nodo.letras.length == 0) {
+                ruta[i - 1].quitarHijo(clave.charAt(i - 1));
+                continue;
+            }
+            nodo.mejores = seleccionar(nodo);
+        }
+    }
+
+    private static Termino[] seleccionar(Nodo nodo) {
+        Set<Termino> candidatos = Collections.newSetFromMap(new IdentityHashMap<>());
+        candidatos.addAll(nodo.propios);
+        for (Nodo hijo : nodo.hijos) {
+            candidatos.addAll(Arrays.asList(hijo.mejores));
+        }
+        if (candidatos.isEmpty()) {
+            return SIN_TERMINOS;
+        }
+        return candidatos.stream()
+                .sorted(POR_RELEVANCIA)
+                .limit(MAX_SUGERENCIAS)
+                .toArray(Termino[]::new);
+    }
+
+    private static String clave(String texto) {
+        return String.join(" ", MotorBusqueda.tokenizar(texto));
+    }
+
+    // Lo que un auto suma a su marca y a su modelo
+    private record Aporte(long marcaId, String claveModelo, String modelo, int peso) {
+    }
+
+    private static final class Termino {
+        final TipoSugerencia tipo;
+        final long marcaId;
+        String texto;
+        String modelo;
+        List<String> claves = List.of();
+        int peso;
+        int autos;
+
+        Termino(TipoSugerencia tipo, long marcaId, String texto) {
+            this.tipo = tipo;
+            this.marcaId = marcaId;
+            this.texto = texto;
+        }
+    }
+
+    // Hijos en arreglos ordenados por letra (búsqueda binaria), más compactos que un mapa
+    private static final class Nodo {
+        char[] letras = new char[0];
+        Nodo[] hijos = new Nodo[0];
+        final List<Termino> propios = new ArrayList<>(1);
+        Termino[] mejores = SIN_TERMINOS;
+
+        Nodo hijo(char letra) {
+            int posicion = Arrays.binarySearch(letras, letra);
+            return posicion >= 0 ? hijos[posicion] : null;
+        }
+
+        Nodo hijoOCrear(char letra) {
+            int posicion = Arrays.binarySearch(letras, letra);
+            if (posicion >= 0) {
+                return hijos[posicion];
+            }
+            posicion = -posicion - 1;
+            char[] nuevasLetras = new char[letras.length + 1];
+            Nodo[] nuevosHijos = new Nodo[hijos.length + 1];
+            System.arraycopy(letras, 0, nuevasLetras, 0, posicion);
+            System.arraycopy(hijos, 0, nuevosHijos, 0, posicion);
+            System.arraycopy(letras, posicion, nuevasLetras, posicion + 1, letras.length - posicion);
+            System.arraycopy(hijos, posicion, nuevosHijos, posicion + 1, hijos.length - posicion);
+            Nodo nuevo = new Nodo();
+            nuevasLetras[posicion] = letra;
+            nuevosHijos[posicion] = nuevo;
+            letras = nuevasLetras;
+            hijos = nuevosHijos;
+            return nuevo;
+        }
+
+        void quitarHijo(char letra) {
+            int posicion = Arrays.binarySearch(letras, letra);
+            if (posicion < 0) {
+                return;
+            }
+            char[] nuevasLetras = new char[letras.length - 1];
+            Nodo[] nuevosHijos = new Nodo[hijos.length - 1];
+            System.arraycopy(letras, 0, nuevasLetras, 0, posicion);
+            System.arraycopy(hijos, 0, nuevosHijos, 0, posicion);
+            System.arraycopy(letras, posicion + 1, nuevasLetras, posicion, letras.length - posicion - 1);
+            System.arraycopy(hijos, posicion + 1, nuevosHijos, posicion, hijos.length - posicion - 1);
+            letras = nuevasLetras;
+            hijos = nuevosHijos;
+        }
+    }
+}
@@ -0,0 +1,790 @@
+package com.ventadeautos.backend.catalog;
+
+import com.ventadeautos.backend.cache.VersionCatalogo;
+import com.ventadeautos.backend.dto.EstadoAutoResponse;
+import com.ventadeautos.backend.model.Auto;
+import com.ventadeautos.backend.model.CategoriaAuto;
+import com.ventadeautos.backend.model.Combustible;
+import com.ventadeautos.backend.model.CondicionAuto;
+import com.ventadeautos.backend.model.Transmision;
+import com.ventadeautos.backend.repository.AutoRepository;
+import com.ventadeautos.backend.reserva.ReservaStockEvent;
+import com.ventadeautos.backend.reserva.ReservasStock;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.IntToLongFunction;
+
+/**
+ * Modelo de lectura en memoria del catálogo de autos.
+ *
+ * Guarda cada auto en un "slot" y sus atributos filtrables en arreglos primitivos
+ * paralelos (estructura de arreglos), de modo que los filtros no tocan MySQL ni
+ * hidratan entidades. Junto a las columnas se guarda una copia desconectada del
+ * auto, que es lo que se devuelve a los controladores.
+ *
+ * Para filtrar se mantiene además un índice de bitmaps sobre los slots: uno por
+ * cada valor de marca, categoría, condición, combustible y transmisión, y los de
+ * disponible, con stock y con ventas pendientes. Cualquier combinación de filtros
+ * se resuelve con AND/OR de bitmaps. Como los slots son densos (se reutilizan al
+ * eliminar), un {@link BitSet} ocupa ~1 bit por auto y no hace falta compresión.
+ * Precio, año y kilometraje tienen además un {@link IndiceOrdenado} para rangos
+ * por búsqueda binaria y para ordenar o sacar los K primeros sin ordenar todo.
+ *
+ * Se carga una vez al iniciar y luego se mantiene de forma incremental con los
+ * eventos de autos, ventas y reservas, que se aplican después del commit que los publicó.
+ * "Con stock" significa con unidades libres: stock menos reservas vigentes.
+ * En esos mismos cambios se actualizan los contadores que lee el dashboard.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class CatalogoAutos {
+
+    private static final int CAPACIDAD_INICIAL = 256;
+    private static final long SIN_REFERENCIA = 0L;
+    private static final DimensionCatalogo[] DIMENSIONES = DimensionCatalogo.values();
+
+    private final AutoRepository autoRepository;
+    private final VersionCatalogo versionCatalogo;
+    private final ReservasStock reservasStock;
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<Long, Integer> slotPorId = new HashMap<>();
+    private volatile boolean cargado = false;
+
+    // Slots libres (reutilizados tras eliminar) y límite superior de slots usados
+    private int[] slotsLibres = new int[16];
+    private int cantidadLibres = 0;
+    private int limite = 0;
+
+    // Columnas: un elemento por slot. ids[slot] == 0 indica slot libre.
+    private long[] ids = new long[CAPACIDAD_INICIAL];
+    private long[] preciosCentavos = new long[CAPACIDAD_INICIAL];
+    private int[] anios = new int[CAPACIDAD_INICIAL];
+    private int[] kilometrajes = new int[CAPACIDAD_INICIAL];
+    private int[] stocks = new int[CAPACIDAD_INICIAL];
+    private Auto[] autos = new Auto[CAPACIDAD_INICIAL];
+
+    // Ids de referencia por dimensión: referencias[dimension.ordinal()][slot]
+    private final long[][] referencias = new long[DIMENSIONES.length][CAPACIDAD_INICIAL];
+
+    // Índice de bitmaps por valor de cada dimensión y de estado
+    private final Map<DimensionCatalogo, Map<Long, BitSet>> indices = new EnumMap<>(DimensionCatalogo.class);
+    private final BitSet bitsDisponible = new BitSet();
+    private final BitSet bitsConStock = new BitSet();
+    private final BitSet bitsPendiente = new BitSet();
+
+    // Índices ordenados para rangos y orden
+    private final IndiceOrdenado indicePrecio = new IndiceOrdenado(CAPACIDAD_INICIAL);
+    private final IndiceOrdenado indiceAnio = new IndiceOrdenado(CAPACIDAD_INICIAL);
+    private final IndiceOrdenado indiceKilometraje = new IndiceOrdenado(CAPACIDAD_INICIAL);
+
+    // Cantidad de ventas PENDIENTE por auto (también de autos aún sin slot).
+    // bitsPendiente[slot] equivale a ventasPendientes.get(id) > 0
+    private final Map<Long, Integer> ventasPendientes = new HashMap<>();
+
+    // Unidades apartadas por reservas vigentes, por auto (también de autos aún sin slot).
+    // bitsConStock[slot] equivale a stocks[slot] > reservasActivas.get(id)
+    private final Map<Long, Integer> reservasActivas = new HashMap<>();
+
+    // Contadores para el dashboard, mantenidos en cada cambio bajo el lock de escritura
+    private int cantidadVisibles = 0;
+    private long totalVentasPendientes = 0;
+
+    {
+        for (DimensionCatalogo dimension : DIMENSIONES) {
+            indices.put(dimension, new HashMap<>());
+        }
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void inicializar() {
+        asegurarCargado();
+    }
+
+    /**
+     * Autos con disponible = true y stock libre (stock > reservas vigentes) que cumplen
+     * todos los filtros no nulos, ordenados por id.
+     */
+    public List<Auto> filtrar(Long marcaId, Long categoriaId, Long condicionId,
+                              Long combustibleId, Long transmisionId) {
+        FiltroCatalogo filtro = FiltroCatalogo.de(marcaId, categoriaId, condicionId, combustibleId, transmisionId);
+        filtro.setConStock(true);
+        return filtrar(filtro);
+    }
+
+    public List<Auto> filtrar(FiltroCatalogo filtro) {
+        asegurarCargado();
+        int limiteResultado = filtro.getLimite() != null ? Math.max(0, filtro.getLimite()) : Integer.MAX_VALUE;
+        List<Auto> resultado = new ArrayList<>();
+        lock.readLock().lock();
+        try {
+            BitSet coincidencias = evaluar(filtro);
+            if (filtro.getOrden() != null) {
+                return ordenar(coincidencias, filtro.getOrden(), limiteResultado);
+            }
+            for (int slot = coincidencias.nextSetBit(0); slot >= 0; slot = coincidencias.nextSetBit(slot + 1)) {
+                resultado.add(autos[slot]);
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+        resultado.sort(Comparator.comparing(Auto::getId));
+        return resultado.size() > limiteResultado ? resultado.subList(0, limiteResultado) : resultado;
+    }
+
+    // Debe llamarse con el lock de lectura tomado
+    private List<Auto> ordenar(BitSet coincidencias, OrdenCatalogo orden, int limiteResultado) {
+        IndiceOrdenado indice = indicePara(orden);
+        int cantidad = coincidencias.cardinality();
+        int k = Math.min(limiteResultado, cantidad);
+        List<Auto> resultado = new ArrayList<>(k);
+        if (k == 0) {
+            return resultado;
+        }
+
+        // Pocas coincidencias frente al índice: selección top-K con un heap acotado
+        if (cantidad * 8L < indice.tamano()) {
+            IntToLongFunction valor = valorDeSlot(orden);
+            Comparator<Integer> ascendente = Comparator
+                    .<Integer>comparingLong(valor::applyAsLong)
+                    .thenComparingLong(slot -> ids[slot]);
+            Comparator<Integer> comparador = orden.esDescendente() ? ascendente.reversed() : ascendente;
+            // El heap guarda los K mejores; su cabeza es el peor de ellos
+            PriorityQueue<Integer> mejores = new PriorityQueue<>(k, comparador.reversed());
+            for (int slot = coincidencias.nextSetBit(0); slot >= 0; slot = coincidencias.nextSetBit(slot + 1)) {
+                mejores.offer(slot);
+                if (mejores.size() > k) {
+                    mejores.poll();
+                }
+            }
+            List<Integer> slotsOrdenados = new ArrayList<>(mejores);
+            slotsOrdenados.sort(comparador);
+            slotsOrdenados.forEach(slot -> resultado.add(autos[slot]));
+            return resultado;
+        }
+
+        // Muchas coincidencias: recorrer el índice en orden y cortar al llegar a K
+        if (orden.esDescendente()) {
+            for (int i = indice.tamano() - 1; i >= 0 && resultado.size() < k; i--) {
+                int slot = indice.slot(i);
+                if (coincidencias.get(slot)) {
+                    resultado.add(autos[slot]);
+                }
+            }
+        } else {
+            for (int i = 0; i < indice.tamano() && resultado.size() < k; i++) {
+                int slot = indice.slot(i);
+                if (coincidencias.get(slot)) {
+                    resultado.add(autos[slot]);
+                }
+            }
+        }
+        return resultado;
+    }
+
+    private IndiceOrdenado indicePara(OrdenCatalogo orden) {
+        return switch (orden) {
+            case PRECIO_ASC, PRECIO_DESC -> indicePrecio;
+            case ANIO_ASC, ANIO_DESC -> indiceAnio;
+            case KILOMETRAJE_ASC, KILOMETRAJE_DESC -> indiceKilometraje;
+        };
+    }
+
+    private IntToLongFunction valorDeSlot(OrdenCatalogo orden) {
+        return switch (orden) {
+            case PRECIO_ASC, PRECIO_DESC -> slot -> preciosCentavos[slot];
+            case ANIO_ASC, ANIO_DESC -> slot -> anios[slot];
+            case KILOMETRAJE_ASC, KILOMETRAJE_DESC -> slot -> kilometrajes[slot];
+        };
+    }
+
+    /**
+     * Autos visibles para clientes (disponibles, con stock y sin ventas pendientes)
+     * entre los ids indicados, respetando el orden recibido.
+     */
+    public List<Auto> obtenerVisibles(List<Long> idsBuscados) {
+        asegurarCargado();
+        List<Auto> resultado = new ArrayList<>(idsBuscados.size());
+        lock.readLock().lock();
+        try {
+            for (Long id : idsBuscados) {
+                Integer slot = slotPorId.get(id);
+                if (slot != null && visible(slot)) {
+                    resultado.add(autos[slot]);
+                }
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+        return resultado;
+    }
+
+    public List<Auto> todos() {
+        asegurarCargado();
+        lock.readLock().lock();
+        try {
+            return slotPorId.values().stream().map(slot -> autos[slot]).toList();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public List<Auto> porMarca(Long marcaId) {
+        asegurarCargado();
+        List<Auto> resultado = new ArrayList<>();
+        lock.readLock().lock();
+        try {
+            BitSet bits = indices.get(DimensionCatalogo.MARCA).get(marcaId);
+            if (bits != null) {
+                for (int slot = bits.nextSetBit(0); slot >= 0; slot = bits.nextSetBit(slot + 1)) {
+                    resultado.add(autos[slot]);
+                }
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+        return resultado;
+    }
+
+    /**
+     * Si el auto puede mostrarse a clientes: existe, está disponible, le quedan
+     * unidades sin reservar y no tiene ventas pendientes. Se responde desde los
+     * bitmaps, sin consultar la base.
+     */
+    public boolean esVisible(Long autoId) {
+        asegurarCargado();
+        lock.readLock().lock();
+        try {
+            Integer slot = slotPorId.get(autoId);
+            return slot != null && visible(slot);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Disponibilidad, visibilidad y stock de varios autos con una sola toma del lock.
+     * Los ids que no existen vuelven con existe = false.
+     */
+    public List<EstadoAutoResponse> estados(Collection<Long> idsBuscados) {
+        asegurarCargado();
+        List<EstadoAutoResponse> resultado = new ArrayList<>(idsBuscados.size());
+        lock.readLock().lock();
+        try {
+            for (Long id : idsBuscados) {
+                Integer slot = slotPorId.get(id);
+                if (slot == null) {
+                    resultado.add(new EstadoAutoResponse(id, false, false, false, 0, 0));
+                } else {
+                    boolean disponible = bitsDisponible.get(slot);
+                    resultado.add(new EstadoAutoResponse(id, true, disponible, visible(slot), stocks[slot],
+                            Math.max(0, stocks[slot] - reservasActivas.getOrDefault(id, 0))));
+                }
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+        return resultado;
+    }
+
+    // Debe llamarse con el lock de lectura tomado
+    private boolean visible(int slot) {
+        return bitsDisponible.get(slot) && bitsConStock.get(slot) && !bitsPendiente.get(slot);
+    }
+
+    public int contar(FiltroCatalogo filtro) {
+        asegurarCargado();
+        lock.readLock().lock();
+        try {
+            return evaluar(filtro).cardinality();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Conteo de facetas en una sola pasada sobre los autos con stock.
+     *
+     * Para cada dimensión, la cantidad de una opción ignora el filtro de esa misma
+     * dimensión (así las opciones hermanas siguen siendo elegibles) pero respeta el
+     * resto. Un auto que cumple todos los filtros suma en todas las dimensiones; uno
+     * que falla exactamente una dimensión suma solo en esa; el resto no suma.
+     */
+    public Map<DimensionCatalogo, Map<Long, Integer>> contarFacetas(FiltroCatalogo filtro) {
+        asegurarCargado();
+        long[][] seleccion = new long[DIMENSIONES.length][];
+        for (DimensionCatalogo dimension : DIMENSIONES) {
+            Set<Long> valores = filtro.valores(dimension);
+            if (valores != null && !valores.isEmpty()) {
+                long[] ordenados = valores.stream().mapToLong(Long::longValue).toArray();
+                Arrays.sort(ordenados);
+                seleccion[dimension.ordinal()] = ordenados;
+            }
+        }
+
+        Map<DimensionCatalogo, Map<Long, Integer>> conteos = new EnumMap<>(DimensionCatalogo.class);
+        for (DimensionCatalogo dimension : DIMENSIONES) {
+            conteos.put(dimension, new HashMap<>());
+        }
+
+        lock.readLock().lock();
+        try {
+            BitSet base = (BitSet) bitsDisponible.clone();
+            base.and(bitsConStock);
+            if (filtro.isSinVentasPendientes()) {
+                base.andNot(bitsPendiente);
+            }
+            aplicarRangos(base, filtro);
+            for (int slot = base.nextSetBit(0); slot >= 0; slot = base.nextSetBit(slot + 1)) {
+                int fallos = 0;
+                int dimensionFallida = -1;
+                for (int d = 0; d < DIMENSIONES.length && fallos < 2; d++) {
+                    long[] valores = seleccion[d];
+                    if (valores != null && Arrays.binarySearch(valores, referencias[d][slot]) < 0) {
+                        fallos++;
+                        dimensionFallida = d;
+                    }
+                }
+                if (fallos == 0) {
+                    for (int d = 0; d < DIMENSIONES.length; d++) {
+                        sumar(conteos.get(DIMENSIONES[d]), referencias[d][slot]);
+                    }
+                } else if (fallos == 1) {
+                    sumar(conteos.get(DIMENSIONES[dimensionFallida]), referencias[dimensionFallida][slot]);
+                }
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+        return conteos;
+    }
+
+    private static void sumar(Map<Long, Integer> conteo, long valor) {
+        if (valor != SIN_REFERENCIA) {
+            conteo.merge(valor, 1, Integer::sum);
+        }
+    }
+
+    public int tamano() {
+        asegurarCargado();
+        lock.readLock().lock();
+        try {
+            return slotPorId.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Cantidad de autos visibles para clientes (la de obtenerAutosDisponibles),
+     * sin recorrer los bitmaps.
+     */
+    public int contarVisibles() {
+        asegurarCargado();
+        lock.readLock().lock();
+        try {
+            return cantidadVisibles;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // Ventas en estado PENDIENTE de todos los autos
+    public long contarVentasPendientes() {
+        asegurarCargado();
+        lock.readLock().lock();
+        try {
+            return totalVentasPendientes;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // Debe llamarse con el lock de lectura tomado
+    private BitSet evaluar(FiltroCatalogo filtro) {
+        BitSet resultado = (BitSet) bitsDisponible.clone();
+        if (filtro.isConStock()) {
+            resultado.and(bitsConStock);
+        }
+        if (filtro.isSinVentasPendientes()) {
+            resultado.andNot(bitsPendiente);
+        }
+        aplicarRangos(resultado, filtro);
+        for (DimensionCatalogo dimension : DIMENSIONES) {
+            Set<Long> valores = filtro.valores(dimension);
+            if (valores == null || valores.isEmpty()) {
+                continue;
+            }
+            Map<Long, BitSet> indice = indices.get(dimension);
+            BitSet union = new BitSet();
+            for (Long valor : valores) {
+                BitSet bits = indice.get(valor);
+                if (bits != null) {
+                    union.or(bits);
+                }
+            }
+            resultado.and(union);
+            if (resultado.isEmpty()) {
+                break;
+            }
+        }
+        return resultado;
+    }
+
+    // Debe llamarse con el lock de lectura tomado
+    private void aplicarRangos(BitSet resultado, FiltroCatalogo filtro) {
+        if (filtro.getPrecioMin() != null || filtro.getPrecioMax() != null) {
+            resultado.and(indicePrecio.rango(
+                    filtro.getPrecioMin() != null ? aCentavos(filtro.getPrecioMin()) : null,
+                    filtro.getPrecioMax() != null ? aCentavos(filtro.getPrecioMax()) : null));
+        }
+        if (filtro.getAnioMin() != null || filtro.getAnioMax() != null) {
+            resultado.and(indiceAnio.rango(aLong(filtro.getAnioMin()), aLong(filtro.getAnioMax())));
+        }
+        if (filtro.getKilometrajeMin() != null || filtro.getKilometrajeMax() != null) {
+            resultado.and(indiceKilometraje.rango(
+                    aLong(filtro.getKilometrajeMin()), aLong(filtro.getKilometrajeMax())));
+        }
+    }
+
+    // =============================================
+    // MANTENIMIENTO INCREMENTAL
+    // =============================================
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onAutoModificado(AutoModificadoEvent event) {
+        Auto auto = event.getAuto();
+        if (auto == null || auto.getId() == null) {
+            return;
+        }
+        lock.writeLock().lock();
+        try {
+            // Si aún no se cargó, la carga inicial ya leerá el estado confirmado
+            if (cargado) {
+                guardar(auto, true);
+            }
+            versionCatalogo.incrementar();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onAutoEliminado(AutoEliminadoEvent event) {
+        lock.writeLock().lock();
+        try {
+            if (cargado) {
+                quitar(event.getAutoId());
+            }
+            versionCatalogo.incrementar();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    // Las vencidas llegan desde la purga programada, sin transacción
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onReservaStock(ReservaStockEvent event) {
+        Long autoId = event.getAutoId();
+        lock.writeLock().lock();
+        try {
+            if (cargado) {
+                ajustarReservas(autoId, reservasStock.activas(autoId));
+            }
+            versionCatalogo.incrementar();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onEstadoVentaCambiado(EstadoVentaCambiadoEvent event) {
+        int delta = event.deltaPendientes();
+        if (delta == 0) {
+            return;
+        }
+        lock.writeLock().lock();
+        try {
+            if (cargado) {
+                sumarPendientes(event.getAutoId(), delta);
+            }
+            versionCatalogo.incrementar();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    // Las copias guardadas llevan la marca; al renombrarla se reemplazan (copy-on-write)
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onMarcaModificada(MarcaModificadaEvent event) {
+        lock.writeLock().lock();
+        try {
+            if (!cargado) {
+                return;
+            }
+            BitSet bits = indices.get(DimensionCatalogo.MARCA).get(event.getMarca().getId());
+            if (bits == null) {
+                return;
+            }
+            for (int slot = bits.nextSetBit(0); slot >= 0; slot = bits.nextSetBit(slot + 1)) {
+                Auto copia = AutoModificadoEvent.copiar(autos[slot]);
+                copia.setMarca(event.getMarca());
+                autos[slot] = copia;
+            }
+            versionCatalogo.incrementar();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    // Igual que con la marca, pero para las otras tablas de referencia
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onReferenciaModificada(ReferenciaModificadaEvent event) {
+        lock.writeLock().lock();
+        try {
+            if (!cargado) {
+                return;
+            }
+            BitSet bits = indices.get(event.getDimension()).get(event.getId());
+            if (bits == null) {
+                return;
+            }
+            for (int slot = bits.nextSetBit(0); slot >= 0; slot = bits.nextSetBit(slot + 1)) {
+                Auto copia = AutoModificadoEvent.copiar(autos[slot]);
+                switch (event.getDimension()) {
+                    case CATEGORIA -> copia.setCategoria((CategoriaAuto) event.getReferencia());
+                    case CONDICION -> copia.setCondicion((CondicionAuto) event.getReferencia());
+                    case COMBUSTIBLE -> copia.setCombustible((Combustible) event.getReferencia());
+                    case TRANSMISION -> copia.setTransmision((Transmision) event.getReferencia());
+                }
+                autos[slot] = copia;
+            }
+            versionCatalogo.incrementar();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void asegurarCargado() {
+        if (cargado) {
+            return;
+        }
+        lock.writeLock().lock();
+        try {
+            if (cargado) {
+                return;
+            }
+            long inicio = System.currentTimeMillis();
+            reservasActivas.putAll(reservasStock.activasPorAuto());
+            List<Auto> todos = autoRepository.findAllParaCatalogo();
+            for (Auto auto : todos) {
+                guardar(AutoModificadoEvent.de(auto).getAuto(), false);
+            }
+            indicePrecio.reconstruir(slot -> preciosCentavos[slot], ids, limite);
+            indiceAnio.reconstruir(slot -> anios[slot], ids, limite);
+            indiceKilometraje.reconstruir(slot -> kilometrajes[slot], ids, limite);
+            for (Object[] fila : autoRepository.contarVentasPendientesPorAuto()) {
+                sumarPendientes((Long) fila[0], ((Number) fila[1]).intValue());
+            }
+            cargado = true;
+            log.info("Catálogo en memoria cargado: {} autos en {} ms", todos.size(),
+                    System.currentTimeMillis() - inicio);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    // Debe llamarse con el lock de escritura tomado. Durante la carga inicial los
+    // índices ordenados se reconstruyen al final en vez de insertar uno por uno.
+    private void guardar(Auto auto, boolean indexarRangos) {
+        Integer slot = slotPorId.get(auto.getId());
+        boolean eraVisible = false;
+        if (slot == null) {
+            slot = reservarSlot();
+            slotPorId.put(auto.getId(), slot);
+            bitsPendiente.set(slot, ventasPendientes.containsKey(auto.getId()));
+        } else {
+            eraVisible = visible(slot);
+            desindexar(slot);
+        }
+        ids[slot] = auto.getId();
+        preciosCentavos[slot] = aCentavos(auto.getPrecio());
+        anios[slot] = auto.getAnio() != null ? auto.getAnio() : 0;
+        kilometrajes[slot] = auto.getKilometraje() != null ? auto.getKilometraje() : 0;
+        stocks[slot] = auto.getStock() != null ? auto.getStock() : 0;
+        autos[slot] = auto;
+        referencias[DimensionCatalogo.MARCA.ordinal()][slot] =
+                auto.getMarca() != null ? auto.getMarca().getId() : SIN_REFERENCIA;
+        referencias[DimensionCatalogo.CATEGORIA.ordinal()][slot] =
+                auto.getCategoria() != null ? auto.getCategoria().getId() : SIN_REFERENCIA;
+        referencias[DimensionCatalogo.CONDICION.ordinal()][slot] =
+                auto.getCondicion() != null ? auto.getCondicion().getId() : SIN_REFERENCIA;
+        referencias[DimensionCatalogo.COMBUSTIBLE.ordinal()][slot] =
+                auto.getCombustible() != null ? auto.getCombustible().getId() : SIN_REFERENCIA;
+        referencias[DimensionCatalogo.TRANSMISION.ordinal()][slot] =
+                auto.getTransmision() != null ? auto.getTransmision().getId() : SIN_REFERENCIA;
+
+        for (DimensionCatalogo dimension : DIMENSIONES) {
+            long valor = referencias[dimension.ordinal()][slot];
+            if (valor != SIN_REFERENCIA) {
+                indices.get(dimension).computeIfAbsent(valor, v -> new BitSet()).set(slot);
+            }
+        }
+        bitsDisponible.set(slot, Boolean.TRUE.equals(auto.getDisponible()));
+        bitsConStock.set(slot, stocks[slot] > reservasActivas.getOrDefault(auto.getId(), 0));
+        ajustarVisibles(eraVisible, slot);
+        if (indexarRangos) {
+            indicePrecio.insertar(preciosCentavos[slot], ids[slot], slot);
+            indiceAnio.insertar(anios[slot], ids[slot], slot);
+            indiceKilometraje.insertar(kilometrajes[slot], ids[slot], slot);
+        }
+    }
+
+    // Debe llamarse con el lock de escritura tomado
+    private void quitar(Long autoId) {
+        Integer slot = slotPorId.remove(autoId);
+        if (slot == null) {
+            return;
+        }
+        if (visible(slot)) {
+            cantidadVisibles--;
+        }
+        desindexar(slot);
+        bitsDisponible.clear(slot);
+        bitsConStock.clear(slot);
+        bitsPendiente.clear(slot);
+        reservasActivas.remove(autoId);
+        Integer pendientes = ventasPendientes.remove(autoId);
+        if (pendientes != null) {
+            totalVentasPendientes -= pendientes;
+        }
+        ids[slot] = 0;
+        autos[slot] = null;
+        if (cantidadLibres == slotsLibres.length) {
+            slotsLibres = Arrays.copyOf(slotsLibres, slotsLibres.length * 2);
+        }
+        slotsLibres[cantidadLibres++] = slot;
+    }
+
+    // Debe llamarse con el lock de escritura tomado
+    private void sumarPendientes(Long autoId, int delta) {
+        int anterior = ventasPendientes.getOrDefault(autoId, 0);
+        int cantidad = Math.max(0, anterior + delta);
+        if (cantidad > 0) {
+            ventasPendientes.put(autoId, cantidad);
+        } else {
+            ventasPendientes.remove(autoId);
+        }
+        totalVentasPendientes += cantidad - anterior;
+        Integer slot = slotPorId.get(autoId);
+        if (slot != null) {
+            boolean eraVisible = visible(slot);
+            bitsPendiente.set(slot, cantidad > 0);
+            ajustarVisibles(eraVisible, slot);
+        }
+    }
+
+    // Debe llamarse con el lock de escritura tomado
+    private void ajustarReservas(Long autoId, int activas) {
+        if (activas > 0) {
+            reservasActivas.put(autoId, activas);
+        } else {
+            reservasActivas.remove(autoId);
+        }
+        Integer slot = slotPorId.get(autoId);
+        if (slot != null) {
+            boolean eraVisible = visible(slot);
+            bitsConStock.set(slot, stocks[slot] > activas);
+            ajustarVisibles(eraVisible, slot);
+        }
+    }
+
+    // Debe llamarse con el lock de escritura tomado, después de actualizar los bits del slot
+    private void ajustarVisibles(boolean eraVisible, int slot) {
+        boolean esVisible = visible(slot);
+        if (esVisible != eraVisible) {
+            cantidadVisibles += esVisible ? 1 : -1;
+        }
+    }
+
+    // Quita el slot de los índices según sus valores actuales
+    private void desindexar(int slot) {
+        indicePrecio.eliminar(preciosCentavos[slot], ids[slot]);
+        indiceAnio.eliminar(anios[slot], ids[slot]);
+        indiceKilometraje.eliminar(kilometrajes[slot], ids[slot]);
+        for (DimensionCatalogo dimension : DIMENSIONES) {
+            long valor = referencias[dimension.ordinal()][slot];
+            if (valor == SIN_REFERENCIA) {
+                continue;
+            }
+            Map<Long, BitSet> indice = indices.get(dimension);
+            BitSet bits = indice.get(valor);
+            if (bits != null) {
+                bits.clear(slot);
+                if (bits.isEmpty()) {
+                    indice.remove(valor);
+                }
+            }
+        }
+    }
+
+    private int reservarSlot() {
+        if (cantidadLibres > 0) {
+            return slotsLibres[--cantidadLibres];
+        }
+        if (limite == ids.length) {
+            crecer(ids.length * 2);
+        }
+        return limite++;
+    }
+
+    private void crecer(int capacidad) {
+        ids = Arrays.copyOf(ids, capacidad);
+        preciosCentavos = Arrays.copyOf(preciosCentavos, capacidad);
+        anios = Arrays.copyOf(anios, capacidad);
+        kilometrajes = Arrays.copyOf(kilometrajes, capacidad);
+        stocks = Arrays.copyOf(stocks, capacidad);
+        autos = Arrays.copyOf(autos, capacidad);
+        for (int d = 0; d < referencias.length; d++) {
+            referencias[d] = Arrays.copyOf(referencias[d], capacidad);
+        }
+    }
+
+    private static Long aLong(Integer valor) {
+        return valor != null ? valor.longValue() : null;
+    }
+
+    // Un precio fuera del rango de long (ej: precioMax=1e20) se satura en vez de desbordar
+    private static long aCentavos(BigDecimal precio) {
+        if (precio == null) {
+            return 0L;
+        }
+        BigDecimal centavos = precio.movePointRight(2);
+        if (centavos.compareTo(BigDecimal.valueOf(Long.MAX_VALUE)) >= 0) {
+            return Long.MAX_VALUE;
+        }
+        if (centavos.compareTo(BigDecimal.valueOf(Long.MIN_VALUE)) <= 0) {
+            return Long.MIN_VALUE;
+        }
+        return centavos.longValue();
+    }
+}
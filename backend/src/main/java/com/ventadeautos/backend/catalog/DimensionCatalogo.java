@@ -0,0 +1,22 @@
+package com.ventadeautos.backend.catalog;
+
+/**
+ * Dimensiones de filtrado del catálogo (una columna de ids de referencia cada una).
+ */
+public enum DimensionCatalogo {
+    MARCA("marcas"),
+    CATEGORIA("categorias"),
+    CONDICION("condiciones"),
+    COMBUSTIBLE("combustibles"),
+    TRANSMISION("transmisiones");
+
+    private final String clave;
+
+    DimensionCatalogo(String clave) {
+        this.clave = clave;
+    }
+
+    public String getClave() {
+        return clave;
+    }
+}
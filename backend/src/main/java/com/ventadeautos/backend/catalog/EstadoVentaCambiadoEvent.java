@@ -0,0 +1,33 @@
+package com.ventadeautos.backend.catalog;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+/**
+ * Se publica cuando una venta cambia de estado. El catálogo lleva la cuenta de
+ * ventas PENDIENTE por auto a partir de estas transiciones, sin consultar la base.
+ */
+@Data
+@AllArgsConstructor
+public class EstadoVentaCambiadoEvent {
+    public static final String PENDIENTE = "PENDIENTE";
+    public static final String FINALIZADO = "FINALIZADO";
+
+    private Long autoId;
+    private String estadoAnterior;
+    private String estadoNuevo;
+
+    // +1 si la venta entra a PENDIENTE, -1 si sale, 0 si no cambia
+    public int deltaPendientes() {
+        return delta(PENDIENTE);
+    }
+
+    // Igual para FINALIZADO
+    public int deltaFinalizadas() {
+        return delta(FINALIZADO);
+    }
+
+    private int delta(String estado) {
+        return (estado.equals(estadoNuevo) ? 1 : 0) - (estado.equals(estadoAnterior) ? 1 : 0);
+    }
+}
@@ -0,0 +1,66 @@
+package com.ventadeautos.backend.catalog;
+
+import lombok.Data;
+
+import java.math.BigDecimal;
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * Criterios de búsqueda sobre el catálogo en memoria.
+ * Dentro de una dimensión los valores se combinan con OR y entre dimensiones con AND.
+ * Una dimensión vacía no filtra.
+ */
+@Data
+public class FiltroCatalogo {
+    private Set<Long> marcaIds = new HashSet<>();
+    private Set<Long> categoriaIds = new HashSet<>();
+    private Set<Long> condicionIds = new HashSet<>();
+    private Set<Long> combustibleIds = new HashSet<>();
+    private Set<Long> transmisionIds = new HashSet<>();
+
+    // Exigir stock > 0 (además de disponible = true)
+    private boolean conStock = false;
+
+    // Excluir autos con ventas PENDIENTES (lo que ve el cliente en el catálogo)
+    private boolean sinVentasPendientes = false;
+
+    // Rangos (inclusive); null = sin límite
+    private BigDecimal precioMin;
+    private BigDecimal precioMax;
+    private Integer anioMin;
+    private Integer anioMax;
+    private Integer kilometrajeMin;
+    private Integer kilometrajeMax;
+
+    // Orden del resultado (null = por id) y cantidad máxima de autos (null = todos)
+    private OrdenCatalogo orden;
+    private Integer limite;
+
+    public static FiltroCatalogo de(Long marcaId, Long categoriaId, Long condicionId,
+                                    Long combustibleId, Long transmisionId) {
+        FiltroCatalogo filtro = new FiltroCatalogo();
+        agregar(filtro.marcaIds, marcaId);
+        agregar(filtro.categoriaIds, categoriaId);
+        agregar(filtro.condicionIds, condicionId);
+        agregar(filtro.combustibleIds, combustibleId);
+        agregar(filtro.transmisionIds, transmisionId);
+        return filtro;
+    }
+
+    public Set<Long> valores(DimensionCatalogo dimension) {
+        return switch (dimension) {
+            case MARCA -> marcaIds;
+            case CATEGORIA -> categoriaIds;
+            case CONDICION -> condicionIds;
+            case COMBUSTIBLE -> combustibleIds;
+            case TRANSMISION -> transmisionIds;
+        };
+    }
+
+    private static void agregar(Set<Long> valores, Long id) {
+        if (id != null) {
+            valores.add(id);
+        }
+    }
+}
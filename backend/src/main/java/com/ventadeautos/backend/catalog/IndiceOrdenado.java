@@ -0,0 +1,150 @@
+package com.ventadeautos.backend.catalog;
+
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.function.IntToLongFunction;
+
+/**
+ * Índice ordenado de una columna numérica del catálogo.
+ *
+ * Guarda en arreglos paralelos los pares (valor, id) ordenados ascendentemente junto
+ * con el slot de cada auto. Los rangos se resuelven con búsqueda binaria y el orden
+ * del listado se obtiene recorriendo el índice, sin ordenar en cada consulta.
+ * El id desempata valores iguales para que el orden sea estable.
+ *
+ * No es thread-safe: lo protege el lock de {@link CatalogoAutos}.
+ */
+class IndiceOrdenado {
+
+    private long[] valores;
+    private long[] ids;
+    private int[] slots;
+    private int tamano = 0;
+
+    IndiceOrdenado(int capacidad) {
+        valores = new long[capacidad];
+        ids = new long[capacidad];
+        slots = new int[capacidad];
+    }
+
+    int tamano() {
+        return tamano;
+    }
+
+    long valor(int posicion) {
+        return valores[posicion];
+    }
+
+    int slot(int posicion) {
+        return slots[posicion];
+    }
+
+    void insertar(long valor, long id, int slot) {
+        if (tamano == valores.length) {
+            int capacidad = Math.max(16, valores.length * 2);
+            valores = Arrays.copyOf(valores, capacidad);
+            ids = Arrays.copyOf(ids, capacidad);
+            slots = Arrays.copyOf(slots, capacidad);
+        }
+        int posicion = buscar(valor, id);
+        if (posicion < 0) {
+            posicion = -posicion - 1;
+        }
+        int mover = tamano - posicion;
+        System.arraycopy(valores, posicion, valores, posicion + 1, mover);
+        System.arraycopy(ids, posicion, ids, posicion + 1, mover);
+        System.arraycopy(slots, posicion, slots, posicion + 1, mover);
+        valores[posicion] = valor;
+        ids[posicion] = id;
+        slots[posicion] = slot;
+        tamano++;
+    }
+
+    void eliminar(long valor, long id) {
+        int posicion = buscar(valor, id);
+        if (posicion < 0) {
+            return;
+        }
+        int mover = tamano - posicion - 1;
+        System.arraycopy(valores, posicion + 1, valores, posicion, mover);
+        System.arraycopy(ids, posicion + 1, ids, posicion, mover);
+        System.arraycopy(slots, posicion + 1, slots, posicion, mover);
+        tamano--;
+    }
+
+    /**
+     * Reconstruye el índice completo a partir de las columnas (carga inicial).
+     */
+    void reconstruir(IntToLongFunction valorDeSlot, long[] columnaIds, int limite) {
+        Integer[] orden = new Integer[limite];
+        int usados = 0;
+        for (int slot = 0; slot < limite; slot++) {
+            if (columnaIds[slot] != 0) {
+                orden[usados++] = slot;
+            }
+        }
+        Arrays.sort(orden, 0, usados, (a, b) -> {
+            int comparacion = Long.compare(valorDeSlot.applyAsLong(a), valorDeSlot.applyAsLong(b));
+            return comparacion != 0 ? comparacion : Long.compare(columnaIds[a], columnaIds[b]);
+        });
+        valores = new long[Math.max(16, usados)];
+        ids = new long[valores.length];
+        slots = new int[valores.length];
+        for (int i = 0; i < usados; i++) {
+            int slot = orden[i];
+            valores[i] = valorDeSlot.applyAsLong(slot);
+            ids[i] = columnaIds[slot];
+            slots[i] = slot;
+        }
+        tamano = usados;
+    }
+
+    /**
+     * Slots cuyo valor está en [minimo, maximo]. Los extremos nulos no limitan.
+     */
+    BitSet rango(Long minimo, Long maximo) {
+        int desde = minimo != null ? primeraPosicionMayorOIgual(minimo) : 0;
+        // maximo + 1 desbordaría con Long.MAX_VALUE: ese máximo no limita
+        int hasta = maximo != null && maximo < Long.MAX_VALUE ? primeraPosicionMayorOIgual(maximo + 1) : tamano;
+        BitSet bits = new BitSet();
+        for (int i = desde; i < hasta; i++) {
+            bits.set(slots[i]);
+        }
+        return bits;
+    }
+
+    private int primeraPosicionMayorOIgual(long valor) {
+        int bajo = 0;
+        int alto = tamano;
+        while (bajo < alto) {
+            int medio = (bajo + alto) >>> 1;
+            if (valores[medio] < valor) {
+                bajo = medio + 1;
+            } else {
+                alto = medio;
+            }
+        }
+        return bajo;
+    }
+
+    // Búsqueda binaria por (valor, id); devuelve -(punto de inserción) - 1 si no existe
+    private int buscar(long valor, long id) {
+        int bajo = 0;
+        int alto = tamano - 1;
+        while (bajo <= alto) {
+            int medio = (bajo + alto) >>> 1;
+            int comparacion = Long.compare(valores[medio], valor);
+            if (comparacion == 0) {
+                comparacion = Long.compare(ids[medio], id);
+            }
+            if (comparacion < 0) {
+                bajo = medio + 1;
+            } else if (comparacion > 0) {
+                alto = medio - 1;
+            } else {
+                return medio;
+            }
+        }
+        return -(bajo + 1);
+    }
+}
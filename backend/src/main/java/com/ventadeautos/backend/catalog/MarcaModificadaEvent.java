@@ -0,0 +1,25 @@
+package com.ventadeautos.backend.catalog;
+
+import com.ventadeautos.backend.model.Marca;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+/**
+ * Se publica cuando una marca se crea o cambia (nombre o estado activa).
+ * Lleva una copia desconectada de la marca, sin la lista de autos.
+ */
+@Data
+@AllArgsConstructor
+public class MarcaModificadaEvent {
+    private Marca marca;
+
+    public static MarcaModificadaEvent de(Marca marca) {
+        Marca copia = new Marca();
+        copia.setId(marca.getId());
+        copia.setNombre(marca.getNombre());
+        copia.setDescripcion(marca.getDescripcion());
+        copia.setActiva(marca.getActiva());
+        copia.setFechaCreacion(marca.getFechaCreacion());
+        return new MarcaModificadaEvent(copia);
+    }
+}
@@ -0,0 +1,349 @@
+package com.ventadeautos.backend.catalog;
+
+import com.ventadeautos.backend.model.Auto;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.regex.Pattern;
+
+/**
+ * Motor de búsqueda de texto libre sobre el catálogo (marca, modelo, color y descripción).
+ *
+ * Mantiene un índice invertido término → (auto → frecuencia ponderada) y ordena con
+ * BM25. Los textos se normalizan a minúsculas y sin tildes ("García" = "garcia").
+ * Para tolerar errores de tipeo, los términos de la consulta que no existen en el
+ * vocabulario se expanden a términos parecidos usando un índice de trigramas y una
+ * distancia de edición acotada.
+ *
+ * Se indexa desde {@link CatalogoAutos} al iniciar y se actualiza con los mismos
+ * eventos de autos que el catálogo.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class MotorBusqueda {
+
+    private static final Pattern MARCAS_DIACRITICAS = Pattern.compile("\\p{M}+");
+    private static final Pattern SEPARADORES = Pattern.compile("[^a-z0-9]+");
+
+    // Parámetros de BM25
+    private static final double K1 = 1.2;
+    private static final double B = 0.75;
+
+    // Peso de cada campo en la frecuencia del término
+    private static final float PESO_MARCA = 3.0f;
+    private static final float PESO_MODELO = 3.0f;
+    private static final float PESO_COLOR = 1.0f;
+    private static final float PESO_DESCRIPCION = 1.0f;
+
+    // Tolerancia a errores de tipeo
+    private static final double SIMILITUD_MINIMA = 0.3;
+    private static final int MAX_CORRECCIONES = 3;
+    private static final double PESO_CORRECCION = 0.6;
+
+    private final CatalogoAutos catalogoAutos;
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<String, Map<Long, Float>> postings = new HashMap<>();
+    private final Map<Long, Map<String, Float>> terminosPorAuto = new HashMap<>();
+    private final Map<Long, Float> longitudes = new HashMap<>();
+    private final Map<String, Set<String>> terminosPorTrigrama = new HashMap<>();
+    private double longitudTotal = 0;
+    private volatile boolean indexado = false;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void inicializar() {
+        asegurarIndexado();
+    }
+
+    /**
+     * Ids de autos que coinciden con la consulta, del más al menos relevante.
+     */
+    public List<Long> buscar(String consulta, int limite) {
+        asegurarIndexado();
+        List<String> terminosConsulta = tokenizar(consulta);
+        if (terminosConsulta.isEmpty()) {
+            return List.of();
+        }
+
+        Map<Long, Double> puntajes = new HashMap<>();
+        lock.readLock().lock();
+        try {
+            int totalDocumentos = longitudes.size();
+            if (totalDocumentos == 0) {
+                return List.of();
+            }
+            double longitudPromedio = longitudTotal / totalDocumentos;
+
+            for (String termino : new HashSet<>(terminosConsulta)) {
+                if (postings.containsKey(termino)) {
+                    puntuar(termino, 1.0, totalDocumentos, longitudPromedio, puntajes);
+                } else {
+                    for (String correccion : corregir(termino)) {
+                        puntuar(correccion, PESO_CORRECCION, totalDocumentos, longitudPromedio, puntajes);
+                    }
+                }
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+
+        return puntajes.entrySet().stream()
+                .sorted(Map.Entry.<Long, Double>comparingByValue().reversed()
+                        .thenComparing(Map.Entry.comparingByKey()))
+                .limit(limite)
+                .map(Map.Entry::getKey)
+                .toList();
+    }
+
+    // Debe llamarse con el lock de lectura tomado
+    private void puntuar(String termino, double peso, int totalDocumentos, double longitudPromedio,
+                         Map<Long, Double> puntajes) {
+        Map<Long, Float> documentos = postings.get(termino);
+        if (documentos == null) {
+            return;
+        }
+        double idf = Math.log(1 + (totalDocumentos - documentos.size() + 0.5) / (documentos.size() + 0.5));
+        for (Map.Entry<Long, Float> entrada : documentos.entrySet()) {
+            double tf = entrada.getValue();
+            double longitud = longitudes.getOrDefault(entrada.getKey(), 0f);
+            double normalizacion = K1 * (1 - B + B * longitud / longitudPromedio);
+            double puntaje = peso * idf * (tf * (K1 + 1)) / (tf + normalizacion);
+            puntajes.merge(entrada.getKey(), puntaje, Double::sum);
+        }
+    }
+
+    // Términos del vocabulario parecidos a uno inexistente (debe llamarse con el lock de lectura)
+    private List<String> corregir(String termino) {
+        if (termino.length() < 3) {
+            return List.of();
+        }
+        Set<String> trigramasConsulta = trigramas(termino);
+        Map<String, Integer> compartidos = new HashMap<>();
+        for (String trigrama : trigramasConsulta) {
+            for (String candidato : terminosPorTrigrama.getOrDefault(trigrama, Set.of())) {
+                compartidos.merge(candidato, 1, Integer::sum);
+            }
+        }
+
+        int distanciaMaxima = termino.length() <= 4 ? 1 : 2;
+        List<Map.Entry<String, Double>> similares = new ArrayList<>();
+        for (Map.Entry<String, Integer> entrada : compartidos.entrySet()) {
+            String candidato = entrada.getKey();
+            int union = trigramasConsulta.size() + trigramas(candidato).size() - entrada.getValue();
+            double similitud = (double) entrada.getValue() / union;
+            if (similitud >= SIMILITUD_MINIMA && distanciaEdicion(termino, candidato) <= distanciaMaxima) {
+                similares.add(Map.entry(candidato, similitud));
+            }
+        }
+        return similares.stream()
+                .sorted(Map.Entry.<String, Double>comparingByValue().reversed()
+                        .thenComparing(Map.Entry.comparingByKey()))
+                .limit(MAX_CORRECCIONES)
+                .map(Map.Entry::getKey)
+                .toList();
+    }
+
+    // =============================================
+    // MANTENIMIENTO INCREMENTAL
+    // =============================================
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onAutoModificado(AutoModificadoEvent event) {
+        if (event.getAuto() == null || event.getAuto().getId() == null) {
+            return;
+        }
+        lock.writeLock().lock();
+        try {
+            if (indexado) {
+                indexar(event.getAuto());
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onAutoEliminado(AutoEliminadoEvent event) {
+        lock.writeLock().lock();
+        try {
+            if (indexado) {
+                desindexar(event.getAutoId());
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    // El nombre de la marca forma parte del texto indexado de sus autos
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onMarcaModificada(MarcaModificadaEvent event) {
+        if (!indexado) {
+            return;
+        }
+        List<Auto> afectados = catalogoAutos.porMarca(event.getMarca().getId());
+        lock.writeLock().lock();
+        try {
+            for (Auto auto : afectados) {
+                Auto copia = AutoModificadoEvent.copiar(auto);
+                copia.setMarca(event.getMarca());
+                indexar(copia);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void asegurarIndexado() {
+        if (indexado) {
+            return;
+        }
+        lock.writeLock().lock();
+        try {
+            if (indexado) {
+                return;
+            }
+            List<Auto> autos = catalogoAutos.todos();
+            autos.forEach(this::indexar);
+            indexado = true;
+            log.info("Índice de búsqueda construido: {} autos, {} términos", autos.size(), postings.size());
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    // Debe llamarse con el lock de escritura tomado
+    private void indexar(Auto auto) {
+        desindexar(auto.getId());
+
+        Map<String, Float> frecuencias = new HashMap<>();
+        acumular(frecuencias, auto.getMarca() != null ? auto.getMarca().getNombre() : null, PESO_MARCA);
+        acumular(frecuencias, auto.getModelo(), PESO_MODELO);
+        acumular(frecuencias, auto.getColor(), PESO_COLOR);
+        acumular(frecuencias, auto.getDescripcion(), PESO_DESCRIPCION);
+        if (frecuencias.isEmpty()) {
+            return;
+        }
+
+        float longitud = 0;
+        for (Map.Entry<String, Float> entrada : frecuencias.entrySet()) {
+            String termino = entrada.getKey();
+            Map<Long, Float> documentos = postings.get(termino);
+            if (documentos == null) {
+                documentos = new HashMap<>();
+                postings.put(termino, documentos);
+                for (String trigrama : trigramas(termino)) {
+                    terminosPorTrigrama.computeIfAbsent(trigrama, t -> new HashSet<>()).add(termino);
+                }
+            }
+            documentos.put(auto.getId(), entrada.getValue());
+            longitud += entrada.getValue();
+        }
+        terminosPorAuto.put(auto.getId(), frecuencias);
+        longitudes.put(auto.getId(), longitud);
+        longitudTotal += longitud;
+    }
+
+    // Debe llamarse con el lock de escritura tomado
+    private void desindexar(Long autoId) {
+        Map<String, Float> frecuencias = terminosPorAuto.remove(autoId);
+        if (frecuencias == null) {
+            return;
+        }
+        for (String termino : frecuencias.keySet()) {
+            Map<Long, Float> documentos = postings.get(termino);
+            if (documentos == null) {
+                continue;
+            }
+            documentos.remove(autoId);
+            if (documentos.isEmpty()) {
+                postings.remove(termino);
+                for (String trigrama : trigramas(termino)) {
+                    Set<String> terminos = terminosPorTrigrama.get(trigrama);
+                    if (terminos != null) {
+                        terminos.remove(termino);
+                        if (terminos.isEmpty()) {
+                            terminosPorTrigrama.remove(trigrama);
+                        }
+                    }
+                }
+            }
+        }
+        Float longitud = longitudes.remove(autoId);
+        if (longitud != null) {
+            longitudTotal -= longitud;
+        }
+    }
+
+    private static void acumular(Map<String, Float> frecuencias, String texto, float peso) {
+        for (String termino : tokenizar(texto)) {
+            frecuencias.merge(termino, peso, Float::sum);
+        }
+    }
+
+    // =============================================
+    // NORMALIZACIÓN Y UTILIDADES DE TEXTO
+    // =============================================
+
+    static String normalizar(String texto) {
+        String sinTildes = MARCAS_DIACRITICAS.matcher(Normalizer.normalize(texto, Normalizer.Form.NFD))
+                .replaceAll("");
+        return sinTildes.toLowerCase();
+    }
+
+    static List<String> tokenizar(String texto) {
+        if (texto == null || texto.isBlank()) {
+            return List.of();
+        }
+        List<String> terminos = new ArrayList<>();
+        for (String termino : SEPARADORES.split(normalizar(texto))) {
+            if (!termino.isEmpty()) {
+                terminos.add(termino);
+            }
+        }
+        return terminos;
+    }
+
+    // Trigramas con bordes marcados: "golf" → "$go", "gol", "olf", "lf$"
+    private static Set<String> trigramas(String termino) {
+        String conBordes = "$" + termino + "$";
+        Set<String> resultado = new HashSet<>();
+        for (int i = 0; i + 3 <= conBordes.length(); i++) {
+            resultado.add(conBordes.substring(i, i + 3));
+        }
+        return resultado;
+    }
+
+    // Distancia de Levenshtein con transposiciones adyacentes (Damerau restringida)
+    private static int distanciaEdicion(String a, String b) {
+        int[][] d = new int[a.length() + 1][b.length() + 1];
+        for (int i = 0; i <= a.length(); i++) {
+            d[i][0] = i;
+        }
+        for (int j = 0; j <= b.length(); j++) {
+            d[0][j] = j;
+        }
+        for (int i = 1; i <= a.length(); i++) {
+            for (int j = 1; j <= b.length(); j++) {
+                int costo = a.charAt(i - 1) == b.charAt(j - 1) ? 0 : 1;
+                d[i][j] = Math.min(Math.min(d[i - 1][j] + 1, d[i][j - 1] + 1), d[i - 1][j - 1] + costo);
+                if (i > 1 && j > 1 && a.charAt(i - 1) == b.charAt(j - 2) && a.charAt(i - 2) == b.charAt(j - 1)) {
+                    d[i][j] = Math.min(d[i][j], d[i - 2][j - 2] + costo);
+                }
+            }
+        }
+        return d[a.length()][b.length()];
+    }
+}
@@ -0,0 +1,32 @@
+package com.ventadeautos.backend.catalog;
+
+import com.ventadeautos.backend.exception.BadRequestException;
+
+/**
+ * Órdenes disponibles para los listados filtrados del catálogo.
+ */
+public enum OrdenCatalogo {
+    PRECIO_ASC,
+    PRECIO_DESC,
+    ANIO_ASC,
+    ANIO_DESC,
+    KILOMETRAJE_ASC,
+    KILOMETRAJE_DESC;
+
+    public boolean esDescendente() {
+        return name().endsWith("_DESC");
+    }
+
+    // Acepta "precio_asc", "anio_desc", "kilometraje_asc", etc.
+    public static OrdenCatalogo desde(String valor) {
+        if (valor == null || valor.isBlank()) {
+            return null;
+        }
+        try {
+            return valueOf(valor.trim().toUpperCase());
+        } catch (IllegalArgumentException e) {
+            throw new BadRequestException(
+                    "Orden inválido. Use: precio_asc, precio_desc, anio_asc, anio_desc, kilometraje_asc o kilometraje_desc");
+        }
+    }
+}
@@ -0,0 +1,57 @@
+package com.ventadeautos.backend.catalog;
+
+import com.ventadeautos.backend.model.CategoriaAuto;
+import com.ventadeautos.backend.model.Combustible;
+import com.ventadeautos.backend.model.CondicionAuto;
+import com.ventadeautos.backend.model.Transmision;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+/**
+ * Se publica cuando una categoría, condición, combustible o transmisión se crea o cambia.
+ * Como {@link MarcaModificadaEvent}, lleva una copia desconectada sin la lista de autos;
+ * la dimensión indica de qué tabla es.
+ */
+@Data
+@AllArgsConstructor
+public class ReferenciaModificadaEvent {
+    private DimensionCatalogo dimension;
+    private Long id;
+    private Object referencia;
+
+    public static ReferenciaModificadaEvent de(CategoriaAuto categoria) {
+        CategoriaAuto copia = new CategoriaAuto();
+        copia.setId(categoria.getId());
+        copia.setNombre(categoria.getNombre());
+        copia.setDescripcion(categoria.getDescripcion());
+        copia.setActiva(categoria.getActiva());
+        return new ReferenciaModificadaEvent(DimensionCatalogo.CATEGORIA, copia.getId(), copia);
+    }
+
+    public static ReferenciaModificadaEvent de(CondicionAuto condicion) {
+        CondicionAuto copia = new CondicionAuto();
+        copia.setId(condicion.getId());
+        copia.setNombre(condicion.getNombre());
+        copia.setDescripcion(condicion.getDescripcion());
+        copia.setActiva(condicion.getActiva());
+        return new ReferenciaModificadaEvent(DimensionCatalogo.CONDICION, copia.getId(), copia);
+    }
+
+    public static ReferenciaModificadaEvent de(Combustible combustible) {
+        Combustible copia = new Combustible();
+        copia.setId(combustible.getId());
+        copia.setNombre(combustible.getNombre());
+        copia.setDescripcion(combustible.getDescripcion());
+        copia.setActiva(combustible.getActiva());
+        return new ReferenciaModificadaEvent(DimensionCatalogo.COMBUSTIBLE, copia.getId(), copia);
+    }
+
+    public static ReferenciaModificadaEvent de(Transmision transmision) {
+        Transmision copia = new Transmision();
+        copia.setId(transmision.getId());
+        copia.setNombre(transmision.getNombre());
+        copia.setDescripcion(transmision.getDescripcion());
+        copia.setActiva(transmision.getActiva());
+        return new ReferenciaModificadaEvent(DimensionCatalogo.TRANSMISION, copia.getId(), copia);
+    }
+}
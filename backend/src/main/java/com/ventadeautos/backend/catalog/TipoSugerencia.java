@@ -0,0 +1,6 @@
+package com.ventadeautos.backend.catalog;
+
+public enum TipoSugerencia {
+    MARCA,
+    MODELO
+}
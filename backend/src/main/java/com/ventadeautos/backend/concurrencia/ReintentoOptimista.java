@@ -0,0 +1,65 @@
+package com.ventadeautos.backend.concurrencia;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Supplier;
+
+/**
+ * Ejecuta una operación en su propia transacción y la repite si pierde una carrera
+ * de concurrencia optimista: un {@code @Version} desactualizado al hacer flush o un
+ * UPDATE condicional que no afectó filas.
+ *
+ * El rollback vacía el contexto de persistencia, así que cada intento vuelve a leer
+ * el estado confirmado. Quien llama no debe tener una transacción abierta (si no, el
+ * intento se uniría a ella y no habría nada que repetir). Cada conflicto suma en
+ * {@code concurrencia.conflictos} y cada reintento en {@code concurrencia.reintentos},
+ * ambos con la etiqueta {@code operacion}; la diferencia son los que se agotaron.
+ */
+@Slf4j
+@Component
+public class ReintentoOptimista {
+
+    static final int MAX_INTENTOS = 3;
+    private static final long ESPERA_BASE_MS = 10;
+
+    private final TransactionTemplate transaccion;
+    private final MeterRegistry meterRegistry;
+
+    public ReintentoOptimista(PlatformTransactionManager transactionManager, MeterRegistry meterRegistry) {
+        this.transaccion = new TransactionTemplate(transactionManager);
+        this.meterRegistry = meterRegistry;
+    }
+
+    public <T> T ejecutar(String operacion, Supplier<T> accion) {
+        for (int intento = 1; ; intento++) {
+            try {
+                return transaccion.execute(estado -> accion.get());
+            } catch (OptimisticLockingFailureException e) {
+                meterRegistry.counter("concurrencia.conflictos", "operacion", operacion).increment();
+                if (intento == MAX_INTENTOS) {
+                    log.warn("Conflicto de concurrencia en {}: se agotaron los {} intentos", operacion, MAX_INTENTOS);
+                    throw e;
+                }
+                meterRegistry.counter("concurrencia.reintentos", "operacion", operacion).increment();
+                log.debug("Conflicto de concurrencia en {} (intento {}), reintentando", operacion, intento);
+                esperar(intento, e);
+            }
+        }
+    }
+
+    // Espera creciente con algo de azar para que los que chocaron no vuelvan a chocar
+    private static void esperar(int intento, OptimisticLockingFailureException conflicto) {
+        try {
+            Thread.sleep(ESPERA_BASE_MS * intento + ThreadLocalRandom.current().nextLong(ESPERA_BASE_MS));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw conflicto;
+        }
+    }
+}
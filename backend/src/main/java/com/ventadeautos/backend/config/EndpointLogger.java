@@ -29,7 +29,9 @@ public class EndpointLogger implements CommandLineRunner {
         log.info("ENDPOINTS REGISTRADOS:");
         log.info("=========================================");
         
-        RequestMappingHandlerMapping mapping = applicationContext.getBean(RequestMappingHandlerMapping.class);
+        // Por nombre: el actuator registra otro RequestMappingHandlerMapping (controllerEndpointHandlerMapping)
+        RequestMappingHandlerMapping mapping = applicationContext.getBean(
+                "requestMappingHandlerMapping", RequestMappingHandlerMapping.class);
         Map<RequestMappingInfo, HandlerMethod> handlerMethods = mapping.getHandlerMethods();
         
         handlerMethods.forEach((info, method) -> {
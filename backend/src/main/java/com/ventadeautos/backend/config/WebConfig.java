@@ -13,8 +13,8 @@ public class WebConfig implements WebMvcConfigurer {
         registry.addMapping("/**")
                 .allowedOrigins("http://localhost:4200") // URL de tu Angular
                 .allowedMethods("GET", "POST", "PUT", "DELETE", "OPTIONS", "PATCH")
-                .allowedHeaders("Content-Type", "Authorization", "X-Requested-With", "Accept", "Origin")
-                .exposedHeaders("Content-Type", "Authorization")
+                .allowedHeaders("Content-Type", "Authorization", "X-Requested-With", "Accept", "Origin", "If-None-Match")
+                .exposedHeaders("Content-Type", "Authorization", "ETag")
                 .allowCredentials(true)
                 .maxAge(3600); // Cache preflight requests for 1 hour
     }
@@ -1,6 +1,17 @@
 package com.ventadeautos.backend.controller;
 
+import com.ventadeautos.backend.cache.FragmentosAutos;
+import com.ventadeautos.backend.cache.RespuestasCache;
+import com.ventadeautos.backend.catalog.FiltroCatalogo;
+import com.ventadeautos.backend.catalog.OrdenCatalogo;
+import com.ventadeautos.backend.dto.AutoComparacion;
 import com.ventadeautos.backend.dto.AutoRequest;
+import com.ventadeautos.backend.dto.ComparacionAutosResponse;
+import com.ventadeautos.backend.dto.EstadoAutoResponse;
+import com.ventadeautos.backend.dto.FacetasResponse;
+import com.ventadeautos.backend.dto.FiltroAutosRequest;
+import com.ventadeautos.backend.dto.PaginaAutos;
+import com.ventadeautos.backend.dto.SugerenciaAutocompletado;
 import com.ventadeautos.backend.model.*;
 import com.ventadeautos.backend.service.AutoService;
 import com.ventadeautos.backend.service.CategoriaAutoService;
@@ -9,11 +20,15 @@ import com.ventadeautos.backend.service.CondicionAutoService;
 import com.ventadeautos.backend.service.MarcaService;
 import com.ventadeautos.backend.service.TransmisionService;
 
+import jakarta.servlet.http.HttpServletRequest;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
@@ -24,6 +39,8 @@ import java.util.Optional;
 public class AutoController {
     
     private final AutoService autoService;
+    private final RespuestasCache respuestasCache;
+    private final FragmentosAutos fragmentosAutos;
     private final MarcaService marcaService;
     private final CategoriaAutoService categoriaAutoService;
     private final CondicionAutoService condicionAutoService;
@@ -34,21 +51,39 @@ public class AutoController {
     // ENDPOINTS PRINCIPALES Y CRUD
 
     
+    // ✅ Modo streaming (admin): las filas se escriben a medida que se leen. Método aparte
+    // por el tipo de retorno (ver VentaController.transmitirTodasLasVentas); con cursor,
+    // tamaño u orden sigue respondiendo la página
+    @GetMapping(params = {"admin=true", "stream=true", "!cursor", "!tamano", "!orden"})
+    public ResponseEntity<StreamingResponseBody> transmitirAutos() {
+        return ResponseEntity.ok().contentType(MediaType.APPLICATION_JSON).body(autoService.transmitirTodos());
+    }
+    
     @GetMapping
-    public List<Auto> obtenerAutos(@RequestParam(required = false) Boolean disponibles,
-                                   @RequestParam(required = false) Boolean admin) {
+    public ResponseEntity<?> obtenerAutos(@RequestParam(required = false) Boolean disponibles,
+                                          @RequestParam(required = false) Boolean admin,
+                                          @RequestParam(required = false) String cursor,
+                                          @RequestParam(required = false) Integer tamano,
+                                          @RequestParam(required = false) String orden) {
+        
+        // ✅ Modo paginado: si se envía cursor, tamaño u orden se responde una página de resúmenes
+        if (cursor != null || tamano != null || orden != null) {
+            boolean soloDisponibles = (admin == null || !admin) && disponibles != null && disponibles;
+            PaginaAutos pagina = autoService.obtenerPagina(cursor, tamano, orden, soloDisponibles);
+            return ResponseEntity.ok(pagina);
+        }
         
         if (admin != null && admin) {
-            return autoService.obtenerTodos();
+            return ResponseEntity.ok(autoService.obtenerTodos());
         }
         
         // Si se piden disponibles, mostrar solo autos visibles para clientes
         if (disponibles != null && disponibles) {
-            return autoService.obtenerAutosDisponibles();
+            return ResponseEntity.ok(autoService.obtenerAutosDisponibles());
         }
         
         // Por defecto, mostrar todos los autos
-        return autoService.obtenerTodos();
+        return ResponseEntity.ok(autoService.obtenerTodos());
     }
     
     @GetMapping("/{id}")
@@ -80,10 +115,29 @@ public class AutoController {
     // ENDPOINTS DE DISPONIBILIDAD
     // =============================================
     
+    // ✅ Se responde desde la caché de bytes (JSON ya serializado y comprimido, con ETag)
     @GetMapping("/disponibles")
-    public ResponseEntity<List<Auto>> obtenerAutosDisponibles() {
-        List<Auto> autosDisponibles = autoService.obtenerAutosDisponibles();
-        return ResponseEntity.ok(autosDisponibles);
+    public ResponseEntity<byte[]> obtenerAutosDisponibles(HttpServletRequest request) {
+        return respuestasCache.responderJson("autos.disponibles", request,
+                () -> fragmentosAutos.ensamblar(autoService.obtenerAutosDisponibles()));
+    }
+    
+    // ✅ NUEVO: Varios autos en una sola llamada (favoritos). Ej: ?ids=4,9,12
+    @GetMapping("/lote")
+    public ResponseEntity<List<AutoComparacion>> obtenerAutosPorIds(@RequestParam List<Long> ids) {
+        return ResponseEntity.ok(autoService.obtenerPorIds(ids));
+    }
+    
+    // ✅ NUEVO: Comparación lado a lado. Ej: ?ids=4,9
+    @GetMapping("/comparar")
+    public ResponseEntity<ComparacionAutosResponse> compararAutos(@RequestParam List<Long> ids) {
+        return ResponseEntity.ok(autoService.compararAutos(ids));
+    }
+    
+    // ✅ NUEVO: Disponibilidad, visibilidad y stock de varios autos. Ej: ?ids=1,2,3
+    @GetMapping("/estado")
+    public ResponseEntity<List<EstadoAutoResponse>> obtenerEstados(@RequestParam List<Long> ids) {
+        return ResponseEntity.ok(autoService.obtenerEstados(ids));
     }
     
     @GetMapping("/{id}/disponibilidad")
@@ -106,50 +160,50 @@ public class AutoController {
     // =============================================
     
     @GetMapping("/categoria/{categoriaId}")
-    public ResponseEntity<List<Auto>> obtenerAutosPorCategoria(@PathVariable Long categoriaId) {
+    public ResponseEntity<byte[]> obtenerAutosPorCategoria(@PathVariable Long categoriaId) {
         try {
             List<Auto> autos = autoService.obtenerAutosPorCategoria(categoriaId);
-            return ResponseEntity.ok(autos);
+            return json(autos);
         } catch (Exception e) {
             return ResponseEntity.badRequest().build();
         }
     }
     
     @GetMapping("/condicion/{condicionId}")
-    public ResponseEntity<List<Auto>> obtenerAutosPorCondicion(@PathVariable Long condicionId) {
+    public ResponseEntity<byte[]> obtenerAutosPorCondicion(@PathVariable Long condicionId) {
         try {
             List<Auto> autos = autoService.obtenerAutosPorCondicion(condicionId);
-            return ResponseEntity.ok(autos);
+            return json(autos);
         } catch (Exception e) {
             return ResponseEntity.badRequest().build();
         }
     }
     
     @GetMapping("/marca/{marcaId}")
-    public ResponseEntity<List<Auto>> obtenerAutosPorMarca(@PathVariable Long marcaId) {
+    public ResponseEntity<byte[]> obtenerAutosPorMarca(@PathVariable Long marcaId) {
         try {
             List<Auto> autos = autoService.obtenerAutosPorMarca(marcaId);
-            return ResponseEntity.ok(autos);
+            return json(autos);
         } catch (Exception e) {
             return ResponseEntity.badRequest().build();
         }
     }
     
     @GetMapping("/combustible/{combustibleId}")
-    public ResponseEntity<List<Auto>> obtenerAutosPorCombustible(@PathVariable Long combustibleId) {
+    public ResponseEntity<byte[]> obtenerAutosPorCombustible(@PathVariable Long combustibleId) {
         try {
             List<Auto> autos = autoService.obtenerAutosPorCombustible(combustibleId);
-            return ResponseEntity.ok(autos);
+            return json(autos);
         } catch (Exception e) {
             return ResponseEntity.badRequest().build();
         }
     }
     
     @GetMapping("/transmision/{transmisionId}")
-    public ResponseEntity<List<Auto>> obtenerAutosPorTransmision(@PathVariable Long transmisionId) {
+    public ResponseEntity<byte[]> obtenerAutosPorTransmision(@PathVariable Long transmisionId) {
         try {
             List<Auto> autos = autoService.obtenerAutosPorTransmision(transmisionId);
-            return ResponseEntity.ok(autos);
+            return json(autos);
         } catch (Exception e) {
             return ResponseEntity.badRequest().build();
         }
@@ -160,53 +214,107 @@ public class AutoController {
     // =============================================
     
     @GetMapping("/categoria/{categoriaId}/condicion/{condicionId}")
-    public ResponseEntity<List<Auto>> obtenerAutosPorCategoriaYCondicion(
+    public ResponseEntity<byte[]> obtenerAutosPorCategoriaYCondicion(
             @PathVariable Long categoriaId, 
             @PathVariable Long condicionId) {
         try {
             List<Auto> autos = autoService.obtenerAutosPorCategoriaYCondicion(categoriaId, condicionId);
-            return ResponseEntity.ok(autos);
+            return json(autos);
         } catch (Exception e) {
             return ResponseEntity.badRequest().build();
         }
     }
     
     @GetMapping("/marca/{marcaId}/categoria/{categoriaId}")
-    public ResponseEntity<List<Auto>> obtenerAutosPorMarcaYCategoria(
+    public ResponseEntity<byte[]> obtenerAutosPorMarcaYCategoria(
             @PathVariable Long marcaId, 
             @PathVariable Long categoriaId) {
         try {
             List<Auto> autos = autoService.obtenerAutosPorMarcaYCategoria(marcaId, categoriaId);
-            return ResponseEntity.ok(autos);
+            return json(autos);
         } catch (Exception e) {
             return ResponseEntity.badRequest().build();
         }
     }
     
     @GetMapping("/marca/{marcaId}/condicion/{condicionId}")
-    public ResponseEntity<List<Auto>> obtenerAutosPorMarcaYCondicion(
+    public ResponseEntity<byte[]> obtenerAutosPorMarcaYCondicion(
             @PathVariable Long marcaId, 
             @PathVariable Long condicionId) {
         try {
             List<Auto> autos = autoService.obtenerAutosPorMarcaYCondicion(marcaId, condicionId);
-            return ResponseEntity.ok(autos);
+            return json(autos);
         } catch (Exception e) {
             return ResponseEntity.badRequest().build();
         }
     }
     
     @GetMapping("/categoria/{categoriaId}/combustible/{combustibleId}")
-    public ResponseEntity<List<Auto>> obtenerAutosPorCategoriaYCombustible(
+    public ResponseEntity<byte[]> obtenerAutosPorCategoriaYCombustible(
             @PathVariable Long categoriaId, 
             @PathVariable Long combustibleId) {
         try {
             List<Auto> autos = autoService.obtenerAutosPorCategoriaYCombustible(categoriaId, combustibleId);
-            return ResponseEntity.ok(autos);
+            return json(autos);
         } catch (Exception e) {
             return ResponseEntity.badRequest().build();
         }
     }
     
+    // ✅ NUEVO: Filtro combinado con varios valores por dimensión, rangos y orden
+    // Ej: ?marcaId=1,2&categoriaId=3&precioMax=25000&orden=precio_asc&limite=10
+    @GetMapping("/filtros")
+    public ResponseEntity<byte[]> buscarAutosConFiltros(FiltroAutosRequest request) {
+        List<Auto> autos = autoService.buscarAutosConFiltros(construirFiltro(request));
+        return json(autos);
+    }
+    
+    // ✅ NUEVO: Búsqueda de texto libre con tolerancia a tildes y errores de tipeo
+    @GetMapping("/buscar")
+    public ResponseEntity<byte[]> buscarAutos(@RequestParam String q,
+                                              @RequestParam(required = false) Integer limite) {
+        List<Auto> autos = autoService.buscarPorTexto(q, limite);
+        return json(autos);
+    }
+    
+    // ✅ NUEVO: Autocompletado de marca y modelo para el cuadro de búsqueda
+    @GetMapping("/autocompletar")
+    public ResponseEntity<List<SugerenciaAutocompletado>> autocompletar(@RequestParam String q,
+                                                                        @RequestParam(required = false) Integer limite) {
+        return ResponseEntity.ok(autoService.autocompletar(q, limite));
+    }
+    
+    // ✅ NUEVO: Conteo por opción de cada filtro para la selección actual (en una sola pasada)
+    @GetMapping("/facetas")
+    public ResponseEntity<FacetasResponse> obtenerFacetas(FiltroAutosRequest request) {
+        return ResponseEntity.ok(autoService.obtenerFacetas(construirFiltro(request)));
+    }
+    
+    // Listados del catálogo: el JSON se arma con los fragmentos cacheados de cada auto
+    private ResponseEntity<byte[]> json(List<Auto> autos) {
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(fragmentosAutos.ensamblar(autos));
+    }
+    
+    private FiltroCatalogo construirFiltro(FiltroAutosRequest request) {
+        FiltroCatalogo filtro = new FiltroCatalogo();
+        if (request.getMarcaId() != null) filtro.setMarcaIds(new HashSet<>(request.getMarcaId()));
+        if (request.getCategoriaId() != null) filtro.setCategoriaIds(new HashSet<>(request.getCategoriaId()));
+        if (request.getCondicionId() != null) filtro.setCondicionIds(new HashSet<>(request.getCondicionId()));
+        if (request.getCombustibleId() != null) filtro.setCombustibleIds(new HashSet<>(request.getCombustibleId()));
+        if (request.getTransmisionId() != null) filtro.setTransmisionIds(new HashSet<>(request.getTransmisionId()));
+        filtro.setPrecioMin(request.getPrecioMin());
+        filtro.setPrecioMax(request.getPrecioMax());
+        filtro.setAnioMin(request.getAnioMin());
+        filtro.setAnioMax(request.getAnioMax());
+        filtro.setKilometrajeMin(request.getKilometrajeMin());
+        filtro.setKilometrajeMax(request.getKilometrajeMax());
+        filtro.setOrden(OrdenCatalogo.desde(request.getOrden()));
+        filtro.setLimite(request.getLimite());
+        return filtro;
+    }
+    
     // =============================================
     // ENDPOINTS DE METADATOS Y OPCIONES
     // =============================================
@@ -262,16 +370,17 @@ public class AutoController {
     }
     
     @GetMapping("/opciones")
-    public ResponseEntity<Map<String, Object>> obtenerTodasLasOpciones() {
+    public ResponseEntity<byte[]> obtenerTodasLasOpciones(HttpServletRequest request) {
         try {
-            Map<String, Object> opciones = new HashMap<>();
-            opciones.put("marcas", marcaService.obtenerMarcasActivas());
-            opciones.put("categorias", categoriaAutoService.obtenerActivas());
-            opciones.put("condiciones", condicionAutoService.obtenerActivas());
-            opciones.put("combustibles", combustibleService.obtenerActivos());
-            opciones.put("transmisiones", transmisionService.obtenerActivas());
-            
-            return ResponseEntity.ok(opciones);
+            return respuestasCache.responder("autos.opciones", request, () -> {
+                Map<String, Object> opciones = new HashMap<>();
+                opciones.put("marcas", marcaService.obtenerMarcasActivas());
+                opciones.put("categorias", categoriaAutoService.obtenerActivas());
+                opciones.put("condiciones", condicionAutoService.obtenerActivas());
+                opciones.put("combustibles", combustibleService.obtenerActivos());
+                opciones.put("transmisiones", transmisionService.obtenerActivas());
+                return opciones;
+            });
         } catch (Exception e) {
             return ResponseEntity.badRequest().build();
         }
@@ -1,11 +1,14 @@
 package com.ventadeautos.backend.controller;
 
 import com.ventadeautos.backend.dto.ContactRequest;
+import com.ventadeautos.backend.dto.ContactosLoteRequest;
 import com.ventadeautos.backend.model.Contact;
 import com.ventadeautos.backend.service.ContactService;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.util.List;
 import java.util.Map;
@@ -27,6 +30,15 @@ public class ContactController {
     // ENDPOINTS PARA ADMIN
     // =============================================
     
+    // ✅ Modo streaming: las filas se escriben a medida que se leen (método aparte por el
+    // tipo de retorno, ver VentaController.transmitirTodasLasVentas)
+    @GetMapping(value = "/admin/todos", params = "stream=true")
+    public ResponseEntity<StreamingResponseBody> transmitirTodosLosContactos() {
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(contactService.transmitirTodosLosContactos());
+    }
+    
     @GetMapping("/admin/todos")
     public ResponseEntity<List<Contact>> obtenerTodosLosContactos() {
         List<Contact> contactos = contactService.obtenerTodosLosContactos();
@@ -97,6 +109,27 @@ public class ContactController {
         return ResponseEntity.ok(resultado);
     }
     
+    // ✅ NUEVO: Operaciones por lote para vaciar la bandeja sin una petición por contacto
+    @PutMapping("/admin/lote/marcar-leido")
+    public ResponseEntity<Map<String, Object>> marcarComoLeidos(@RequestBody ContactosLoteRequest request) {
+        return ResponseEntity.ok(contactService.marcarComoLeidos(request.getIds()));
+    }
+    
+    @PutMapping("/admin/lote/marcar-respondido")
+    public ResponseEntity<Map<String, Object>> marcarComoRespondidos(@RequestBody ContactosLoteRequest request) {
+        return ResponseEntity.ok(contactService.marcarComoRespondidos(request.getIds()));
+    }
+    
+    @PutMapping("/admin/lote/actualizar-estado")
+    public ResponseEntity<Map<String, Object>> actualizarEstados(@RequestBody ContactosLoteRequest request) {
+        return ResponseEntity.ok(contactService.actualizarEstados(request.getIds(), request.getEstado()));
+    }
+    
+    @PostMapping("/admin/lote/eliminar")
+    public ResponseEntity<Map<String, Object>> eliminarContactos(@RequestBody ContactosLoteRequest request) {
+        return ResponseEntity.ok(contactService.eliminarContactos(request.getIds()));
+    }
+    
     @GetMapping("/admin/estadisticas")
     public ResponseEntity<Map<String, Object>> obtenerEstadisticas() {
         Map<String, Object> stats = contactService.obtenerEstadisticas();
@@ -1,16 +1,13 @@
 package com.ventadeautos.backend.controller;
 
-import com.ventadeautos.backend.model.Auto;
+import com.ventadeautos.backend.dashboard.EstadisticasDashboard;
+import com.ventadeautos.backend.dto.PaginaAutos;
 import com.ventadeautos.backend.service.AutoService;
-import com.ventadeautos.backend.service.ContactService;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
-import java.time.LocalDate;
-import java.time.LocalDateTime;
 import java.util.HashMap;
-import java.util.List;
 import java.util.Map;
 
 @RestController
@@ -19,38 +16,13 @@ import java.util.Map;
 public class DashboardController {
     
     private final AutoService autoService;
-    private final ContactService contactService;
+    private final EstadisticasDashboard estadisticasDashboard;
     
+    // ✅ Solo contadores mantenidos en memoria: no lee filas ni arma listas
     @GetMapping("/stats")
     public ResponseEntity<Map<String, Object>> obtenerEstadisticas() {
         try {
-            Map<String, Object> stats = new HashMap<>();
-            
-            List<Auto> autosDisponibles = autoService.obtenerAutosDisponibles();
-            List<Auto> todosLosAutos = autoService.obtenerTodos();
-            
-            long contactosNoLeidos = contactService.contarNoLeidos();
-            long totalContactos = contactService.obtenerTodosLosContactos().size();
-            
-            long contactosHoy = 0;
-            try {
-                contactosHoy = contactService.obtenerContactosHoy();
-            } catch (Exception e) {
-               
-                contactosHoy = 0;
-            }
-            
-            stats.put("totalAutosEnCatalogo", autosDisponibles.size());
-            stats.put("totalAutos", todosLosAutos.size());
-            stats.put("autosDisponibles", autosDisponibles.size());
-            stats.put("contactosNuevos", contactosNoLeidos);
-            stats.put("totalContactos", totalContactos);
-            stats.put("contactosHoy", contactosHoy);
-            
-            stats.put("autos", autosDisponibles);
-            stats.put("todosLosAutos", todosLosAutos);
-            
-            return ResponseEntity.ok(stats);
+            return ResponseEntity.ok(estadisticasDashboard.obtener());
         } catch (Exception e) {
             Map<String, Object> error = new HashMap<>();
             error.put("error", "Error al obtener estadísticas");
@@ -58,5 +30,13 @@ public class DashboardController {
             return ResponseEntity.internalServerError().body(error);
         }
     }
+    
+    // ✅ NUEVO: Listado de autos del dashboard, por páginas en vez de embebido en /stats
+    @GetMapping("/autos")
+    public ResponseEntity<PaginaAutos> obtenerAutos(@RequestParam(required = false) String cursor,
+                                                    @RequestParam(required = false) Integer tamano,
+                                                    @RequestParam(required = false) Boolean disponibles) {
+        boolean soloDisponibles = disponibles != null && disponibles;
+        return ResponseEntity.ok(autoService.obtenerPagina(cursor, tamano, "id", soloDisponibles));
+    }
 }
-
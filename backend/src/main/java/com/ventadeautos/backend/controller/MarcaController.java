@@ -1,7 +1,9 @@
 package com.ventadeautos.backend.controller;
 
+import com.ventadeautos.backend.cache.RespuestasCache;
 import com.ventadeautos.backend.model.Marca;
 import com.ventadeautos.backend.service.MarcaService;
+import jakarta.servlet.http.HttpServletRequest;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
@@ -15,11 +17,12 @@ import java.util.Map;
 public class MarcaController {
     
     private final MarcaService marcaService;
+    private final RespuestasCache respuestasCache;
     
+    // ✅ Se responde desde la caché de bytes (JSON ya serializado y comprimido, con ETag)
     @GetMapping
-    public ResponseEntity<List<Marca>> obtenerTodasLasMarcas() {
-        List<Marca> marcas = marcaService.obtenerMarcasActivas();
-        return ResponseEntity.ok(marcas);
+    public ResponseEntity<byte[]> obtenerTodasLasMarcas(HttpServletRequest request) {
+        return respuestasCache.responder("marcas.activas", request, marcaService::obtenerMarcasActivas);
     }
     
     @GetMapping("/todas")
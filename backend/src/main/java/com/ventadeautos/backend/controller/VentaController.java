@@ -2,6 +2,8 @@ package com.ventadeautos.backend.controller;
 
 import com.ventadeautos.backend.dto.ContactRequest;
 import com.ventadeautos.backend.dto.EstadoVentaUpdate;
+import com.ventadeautos.backend.dto.TransicionVentaRequest;
+import com.ventadeautos.backend.dto.TransicionVentaResultado;
 import com.ventadeautos.backend.dto.VentaResponse;
 import com.ventadeautos.backend.model.EstadoVenta;
 import com.ventadeautos.backend.model.Usuario;
@@ -12,11 +14,16 @@ import com.ventadeautos.backend.service.VentaService;
 import jakarta.servlet.http.HttpServletRequest;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
 @Slf4j
 @RestController
@@ -58,10 +65,8 @@ public class VentaController {
         log.debug("Obteniendo todas las solicitudes de venta");
         
         try {
-            List<Venta> ventas = ventaService.obtenerTodasLasVentas();
-            log.debug("Total de ventas encontradas: {}", ventas.size());
-            
-            List<VentaResponse> response = ventaService.convertirListaAVentaResponse(ventas);
+            List<VentaResponse> response = ventaService.obtenerTodasLasVentasResponse();
+            log.debug("Total de ventas encontradas: {}", response.size());
             
             return ResponseEntity.ok(response);
             
@@ -72,11 +77,20 @@ public class VentaController {
         }
     }
     
+    // ✅ Modo streaming: cada venta se convierte y se escribe a medida que se lee.
+    // Va en su propio método: Spring solo escribe el StreamingResponseBody si el tipo
+    // declarado es ResponseEntity<StreamingResponseBody> (con <?> lo serializa como "{}")
+    @GetMapping(value = "/admin/todas", params = "stream=true")
+    public ResponseEntity<StreamingResponseBody> transmitirTodasLasVentas() {
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(ventaService.transmitirTodasLasVentas());
+    }
+    
     @GetMapping("/admin/todas")
     public ResponseEntity<?> obtenerTodasLasVentas() {
         try {
-            List<Venta> ventas = ventaService.obtenerTodasLasVentas();
-            List<VentaResponse> response = ventaService.convertirListaAVentaResponse(ventas);
+            List<VentaResponse> response = ventaService.obtenerTodasLasVentasResponse();
             
             return ResponseEntity.ok(response);
             
@@ -93,8 +107,7 @@ public class VentaController {
             EstadoVenta estadoVenta = estadoVentaService.obtenerPorNombre(estadoNombre)
                     .orElseThrow(() -> new RuntimeException("Estado no encontrado: " + estadoNombre));
             
-            List<Venta> ventas = ventaService.obtenerVentasPorEstado(estadoVenta);
-            List<VentaResponse> response = ventaService.convertirListaAVentaResponse(ventas);
+            List<VentaResponse> response = ventaService.obtenerVentasResponsePorEstado(estadoVenta.getNombre());
             
             return ResponseEntity.ok(response);
             
@@ -131,6 +144,10 @@ public class VentaController {
             log.info("Venta actualizada correctamente - Venta ID: {}", id);
             return ResponseEntity.ok(response);
             
+        } catch (OptimisticLockingFailureException e) {
+            log.warn("Conflicto de concurrencia al actualizar venta ID: {}", id);
+            return ResponseEntity.status(HttpStatus.CONFLICT)
+                .body("La venta fue modificada por otra operación. Intente nuevamente.");
         } catch (RuntimeException e) {
             log.error("Error al actualizar estado de venta - Venta ID: {}, Error: {}", id, e.getMessage());
             return ResponseEntity.badRequest().body(e.getMessage());
@@ -140,4 +157,20 @@ public class VentaController {
                 .body("Error al actualizar el estado: " + e.getMessage());
         }
     }
+    
+    // ✅ NUEVO: Varios cambios de estado en una sola petición y una sola transacción
+    @PutMapping("/admin/lote/estado")
+    public ResponseEntity<?> actualizarEstadosVentas(@RequestBody List<TransicionVentaRequest> transiciones) {
+        log.info("Actualizando estado de {} ventas por lote", transiciones != null ? transiciones.size() : 0);
+        
+        List<TransicionVentaResultado> resultados = ventaService.actualizarEstadosVentas(transiciones);
+        long aplicadas = resultados.stream().filter(TransicionVentaResultado::isAplicada).count();
+        
+        Map<String, Object> response = new HashMap<>();
+        response.put("total", resultados.size());
+        response.put("aplicadas", aplicadas);
+        response.put("fallidas", resultados.size() - aplicadas);
+        response.put("resultados", resultados);
+        return ResponseEntity.ok(response);
+    }
 }
@@ -0,0 +1,42 @@
+package com.ventadeautos.backend.dashboard;
+
+import com.ventadeautos.backend.model.Contact;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.time.LocalDateTime;
+
+/**
+ * Se publica cuando un contacto se crea, cambia su marca de leído o se elimina.
+ * leidoAnterior es null si el contacto es nuevo y leidoNuevo es null si se eliminó.
+ */
+@Data
+@AllArgsConstructor
+public class ContactoCambiadoEvent {
+    private Boolean leidoAnterior;
+    private Boolean leidoNuevo;
+    private LocalDateTime fechaCreacion;
+
+    public static ContactoCambiadoEvent creado(Contact contact) {
+        return new ContactoCambiadoEvent(null, Boolean.TRUE.equals(contact.getLeido()), contact.getFechaCreacion());
+    }
+
+    public static ContactoCambiadoEvent modificado(boolean leidoAnterior, Contact contact) {
+        return new ContactoCambiadoEvent(leidoAnterior, Boolean.TRUE.equals(contact.getLeido()),
+                contact.getFechaCreacion());
+    }
+
+    public static ContactoCambiadoEvent eliminado(Contact contact) {
+        return new ContactoCambiadoEvent(Boolean.TRUE.equals(contact.getLeido()), null, contact.getFechaCreacion());
+    }
+
+    // +1 si se creó, -1 si se eliminó, 0 si solo cambió
+    public int deltaTotal() {
+        return (leidoNuevo != null ? 1 : 0) - (leidoAnterior != null ? 1 : 0);
+    }
+
+    // +1 si pasa a no leído (o se crea sin leer), -1 si deja de estarlo
+    public int deltaNoLeidos() {
+        return (Boolean.FALSE.equals(leidoNuevo) ? 1 : 0) - (Boolean.FALSE.equals(leidoAnterior) ? 1 : 0);
+    }
+}
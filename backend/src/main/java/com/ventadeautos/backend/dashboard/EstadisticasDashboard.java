@@ -0,0 +1,94 @@
+package com.ventadeautos.backend.dashboard;
+
+import com.ventadeautos.backend.catalog.CatalogoAutos;
+import com.ventadeautos.backend.repository.ContactRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.LocalDate;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Agregados del dashboard de administración, servidos en O(1).
+ *
+ * Los contadores de autos y ventas pendientes los mantiene {@link CatalogoAutos};
+ * los de contactos se cuentan una vez al iniciar y luego se ajustan con cada
+ * {@link ContactoCambiadoEvent}, después del commit que lo publicó. Los contactos
+ * de hoy se reinician al cambiar el día.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class EstadisticasDashboard {
+
+    private final CatalogoAutos catalogoAutos;
+    private final ContactRepository contactRepository;
+
+    private boolean cargado = false;
+    private long totalContactos;
+    private long contactosNoLeidos;
+    private long contactosHoy;
+    private LocalDate dia;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void inicializar() {
+        asegurarCargado();
+    }
+
+    public Map<String, Object> obtener() {
+        int autosVisibles = catalogoAutos.contarVisibles();
+        Map<String, Object> stats = new HashMap<>();
+        stats.put("totalAutosEnCatalogo", autosVisibles);
+        stats.put("totalAutos", catalogoAutos.tamano());
+        stats.put("autosDisponibles", autosVisibles);
+        stats.put("ventasPendientes", catalogoAutos.contarVentasPendientes());
+        synchronized (this) {
+            asegurarCargado();
+            renovarDia();
+            stats.put("contactosNuevos", contactosNoLeidos);
+            stats.put("totalContactos", totalContactos);
+            stats.put("contactosHoy", contactosHoy);
+        }
+        return stats;
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public synchronized void onContactoCambiado(ContactoCambiadoEvent event) {
+        // Si aún no se cargó, la carga inicial ya contará el estado confirmado
+        if (!cargado) {
+            return;
+        }
+        renovarDia();
+        totalContactos += event.deltaTotal();
+        contactosNoLeidos += event.deltaNoLeidos();
+        if (event.getFechaCreacion() != null && event.getFechaCreacion().toLocalDate().equals(dia)) {
+            contactosHoy += event.deltaTotal();
+        }
+    }
+
+    private synchronized void asegurarCargado() {
+        if (cargado) {
+            return;
+        }
+        dia = LocalDate.now();
+        totalContactos = contactRepository.count();
+        contactosNoLeidos = contactRepository.countByLeidoFalse();
+        contactosHoy = contactRepository.countByFechaCreacionBetween(dia.atStartOfDay(), dia.plusDays(1).atStartOfDay());
+        cargado = true;
+        log.info("Estadísticas del dashboard cargadas: {} contactos, {} no leídos", totalContactos, contactosNoLeidos);
+    }
+
+    // Debe llamarse dentro de un bloque sincronizado
+    private void renovarDia() {
+        LocalDate hoy = LocalDate.now();
+        if (!hoy.equals(dia)) {
+            dia = hoy;
+            contactosHoy = 0;
+        }
+    }
+}
@@ -0,0 +1,53 @@
+package com.ventadeautos.backend.dto;
+
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Vista compacta de un auto para favoritos y comparaciones.
+ * Se construye directamente desde JPQL; las imágenes se completan por lote.
+ */
+@Data
+@NoArgsConstructor
+public class AutoComparacion {
+    private Long id;
+    private Long marcaId;
+    private String marca;
+    private String modelo;
+    private Integer anio;
+    private BigDecimal precio;
+    private String color;
+    private Integer kilometraje;
+    private Integer stock;
+    private Boolean disponible;
+    private String categoria;
+    private String condicion;
+    private String combustible;
+    private String transmision;
+    private String descripcion;
+    private List<String> imagenes = new ArrayList<>();
+
+    public AutoComparacion(Long id, Long marcaId, String marca, String modelo, Integer anio, BigDecimal precio,
+            String color, Integer kilometraje, Integer stock, Boolean disponible, String categoria,
+            String condicion, String combustible, String transmision, String descripcion) {
+        this.id = id;
+        this.marcaId = marcaId;
+        this.marca = marca;
+        this.modelo = modelo;
+        this.anio = anio;
+        this.precio = precio;
+        this.color = color;
+        this.kilometraje = kilometraje;
+        this.stock = stock;
+        this.disponible = disponible;
+        this.categoria = categoria;
+        this.condicion = condicion;
+        this.combustible = combustible;
+        this.transmision = transmision;
+        this.descripcion = descripcion;
+    }
+}
@@ -0,0 +1,51 @@
+package com.ventadeautos.backend.dto;
+
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+
+/**
+ * Proyección plana de un auto para los listados paginados.
+ * Se construye directamente desde JPQL, sin hidratar la entidad Auto.
+ */
+@Data
+@NoArgsConstructor
+public class AutoResumen {
+    private Long id;
+    private Long marcaId;
+    private String marca;
+    private String modelo;
+    private Integer anio;
+    private BigDecimal precio;
+    private String color;
+    private Integer kilometraje;
+    private Integer stock;
+    private Boolean disponible;
+    private String categoria;
+    private String condicion;
+    private String combustible;
+    private String transmision;
+
+    // Primera imagen del auto (se completa con una consulta aparte por lote)
+    private String imagenPrincipal;
+
+    public AutoResumen(Long id, Long marcaId, String marca, String modelo, Integer anio, BigDecimal precio,
+            String color, Integer kilometraje, Integer stock, Boolean disponible, String categoria,
+            String condicion, String combustible, String transmision) {
+        this.id = id;
+        this.marcaId = marcaId;
+        this.marca = marca;
+        this.modelo = modelo;
+        this.anio = anio;
+        this.precio = precio;
+        this.color = color;
+        this.kilometraje = kilometraje;
+        this.stock = stock;
+        this.disponible = disponible;
+        this.categoria = categoria;
+        this.condicion = condicion;
+        this.combustible = combustible;
+        this.transmision = transmision;
+    }
+}
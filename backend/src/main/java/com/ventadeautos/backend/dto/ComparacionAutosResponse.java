@@ -0,0 +1,21 @@
+package com.ventadeautos.backend.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+import java.util.Map;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ComparacionAutosResponse {
+    private List<AutoComparacion> autos;
+
+    // Id del auto que gana en cada criterio (menorPrecio, mayorAnio, menorKilometraje)
+    private Map<String, Long> mejores;
+
+    // Atributos cuyo valor no es igual en todos los autos comparados
+    private List<String> diferencias;
+}
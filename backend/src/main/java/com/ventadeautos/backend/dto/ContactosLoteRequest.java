@@ -0,0 +1,16 @@
+package com.ventadeautos.backend.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+// Operación por lote sobre la bandeja de contactos; estado solo se usa al cambiar el estado
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ContactosLoteRequest {
+    private List<Long> ids;
+    private String estado;
+}
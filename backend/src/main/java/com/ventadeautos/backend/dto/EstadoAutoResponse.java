@@ -0,0 +1,24 @@
+package com.ventadeautos.backend.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class EstadoAutoResponse {
+    private Long autoId;
+    private boolean existe;
+
+    // Mismo valor que /api/autos/{id}/disponibilidad
+    private boolean disponible;
+
+    // Mismo valor que /api/autos/{id}/visible
+    private boolean visible;
+
+    private int stock;
+
+    // stock menos las unidades apartadas por reservas vigentes
+    private int disponibleParaVender;
+}
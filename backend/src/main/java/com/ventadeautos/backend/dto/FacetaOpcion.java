@@ -0,0 +1,16 @@
+package com.ventadeautos.backend.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class FacetaOpcion {
+    private Long id;
+    private String nombre;
+
+    // Cantidad de autos que devolvería el listado si se eligiera esta opción
+    private int cantidad;
+}
@@ -0,0 +1,19 @@
+package com.ventadeautos.backend.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+import java.util.Map;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class FacetasResponse {
+    // Autos que cumplen la selección actual completa
+    private int total;
+
+    // Opciones por dimensión: "marcas", "categorias", "condiciones", "combustibles", "transmisiones"
+    private Map<String, List<FacetaOpcion>> facetas;
+}
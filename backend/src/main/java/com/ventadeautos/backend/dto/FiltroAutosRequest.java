@@ -0,0 +1,30 @@
+package com.ventadeautos.backend.dto;
+
+import lombok.Data;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+/**
+ * Parámetros de consulta de /api/autos/filtros y /api/autos/facetas.
+ * Ej: ?marcaId=1,2&categoriaId=3&precioMax=25000&orden=precio_asc&limite=10
+ */
+@Data
+public class FiltroAutosRequest {
+    private List<Long> marcaId;
+    private List<Long> categoriaId;
+    private List<Long> condicionId;
+    private List<Long> combustibleId;
+    private List<Long> transmisionId;
+
+    private BigDecimal precioMin;
+    private BigDecimal precioMax;
+    private Integer anioMin;
+    private Integer anioMax;
+    private Integer kilometrajeMin;
+    private Integer kilometrajeMax;
+
+    // precio_asc, precio_desc, anio_asc, anio_desc, kilometraje_asc, kilometraje_desc
+    private String orden;
+    private Integer limite;
+}
@@ -0,0 +1,19 @@
+package com.ventadeautos.backend.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class PaginaAutos {
+    private List<AutoResumen> autos;
+    private String orden;
+    private int tamano;
+
+    // Cursor para pedir la siguiente página; null si no hay más resultados
+    private String siguienteCursor;
+}
@@ -0,0 +1,18 @@
+package com.ventadeautos.backend.dto;
+
+import com.ventadeautos.backend.catalog.TipoSugerencia;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class SugerenciaAutocompletado {
+    private String texto;
+    private TipoSugerencia tipo;
+    private Long marcaId;
+
+    // Unidades en stock de autos disponibles que respaldan la sugerencia
+    private int stock;
+}
@@ -0,0 +1,14 @@
+package com.ventadeautos.backend.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+// Un ítem del cambio de estado por lote: la venta y el nombre del estado nuevo
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class TransicionVentaRequest {
+    private Long ventaId;
+    private String estado;
+}
@@ -0,0 +1,26 @@
+package com.ventadeautos.backend.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class TransicionVentaResultado {
+    private Long ventaId;
+    private boolean aplicada;
+    private String estadoAnterior;
+    private String estadoNuevo;
+
+    // Motivo por el que no se aplicó; null si se aplicó
+    private String error;
+
+    public static TransicionVentaResultado aplicada(Long ventaId, String estadoAnterior, String estadoNuevo) {
+        return new TransicionVentaResultado(ventaId, true, estadoAnterior, estadoNuevo, null);
+    }
+
+    public static TransicionVentaResultado fallida(Long ventaId, String error) {
+        return new TransicionVentaResultado(ventaId, false, null, null, error);
+    }
+}
@@ -1,11 +1,13 @@
 package com.ventadeautos.backend.dto;
 
 import lombok.Data;
+import lombok.NoArgsConstructor;
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
 import java.util.List;
 
 @Data
+@NoArgsConstructor
 public class VentaResponse {
     private Long id;
     
@@ -42,4 +44,32 @@ public class VentaResponse {
     private String estado;
     private LocalDateTime fechaSolicitud;
     private LocalDateTime fechaActualizacion;
+    
+    // ✅ Usado por las proyecciones JPQL de VentaRepository (las imágenes se asignan aparte)
+    public VentaResponse(Long id, String clienteNombre, String clienteDni, String clienteEmail,
+            String clienteTelefono, Long autoId, String autoMarca, Long marcaId, String autoModelo,
+            Integer autoAnio, BigDecimal autoPrecio, String autoColor, Integer autoKilometraje,
+            String autoCombustible, String autoTransmision, String autoCategoria, String autoCondicion,
+            String estado, LocalDateTime fechaSolicitud, LocalDateTime fechaActualizacion) {
+        this.id = id;
+        this.clienteNombre = clienteNombre;
+        this.clienteDni = clienteDni;
+        this.clienteEmail = clienteEmail;
+        this.clienteTelefono = clienteTelefono;
+        this.autoId = autoId;
+        this.autoMarca = autoMarca;
+        this.marcaId = marcaId;
+        this.autoModelo = autoModelo;
+        this.autoAnio = autoAnio;
+        this.autoPrecio = autoPrecio;
+        this.autoColor = autoColor;
+        this.autoKilometraje = autoKilometraje;
+        this.autoCombustible = autoCombustible;
+        this.autoTransmision = autoTransmision;
+        this.autoCategoria = autoCategoria;
+        this.autoCondicion = autoCondicion;
+        this.estado = estado;
+        this.fechaSolicitud = fechaSolicitud;
+        this.fechaActualizacion = fechaActualizacion;
+    }
 }
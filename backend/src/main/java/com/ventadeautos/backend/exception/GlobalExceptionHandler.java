@@ -4,6 +4,7 @@ import com.ventadeautos.backend.dto.ErrorResponse;
 import com.fasterxml.jackson.core.JsonProcessingException;
 import org.hibernate.LazyInitializationException;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.http.converter.HttpMessageNotWritableException;
@@ -53,6 +54,18 @@ public class GlobalExceptionHandler {
         return new ResponseEntity<>(error, HttpStatus.CONFLICT);
     }
 
+    // Conflicto de concurrencia optimista que siguió después de los reintentos
+    @ExceptionHandler(OptimisticLockingFailureException.class)
+    public ResponseEntity<ErrorResponse> handleOptimisticLockingFailure(OptimisticLockingFailureException ex) {
+        log.warn("Conflicto de concurrencia: {}", ex.getMessage());
+        ErrorResponse error = new ErrorResponse(
+            "El registro fue modificado por otra operación. Intente nuevamente.",
+            "CONFLICT",
+            HttpStatus.CONFLICT.value()
+        );
+        return new ResponseEntity<>(error, HttpStatus.CONFLICT);
+    }
+
     @ExceptionHandler(MethodArgumentNotValidException.class)
     public ResponseEntity<Map<String, Object>> handleValidationExceptions(MethodArgumentNotValidException ex) {
         log.error("Error de validación: {}", ex.getMessage());
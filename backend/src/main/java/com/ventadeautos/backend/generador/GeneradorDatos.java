@@ -0,0 +1,378 @@
+package com.ventadeautos.backend.generador;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.CommandLineRunner;
+import org.springframework.context.annotation.Profile;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+
+/**
+ * Generador de datos sintéticos de gran volumen para pruebas de rendimiento.
+ *
+ * Solo se activa con el perfil "generador" (ver application-generador.properties).
+ * Se ejecuta después de data.sql, así que reutiliza las marcas, categorías y demás
+ * tablas de referencia, y antes de que se carguen el catálogo y los índices en
+ * memoria (que leen lo generado al quedar lista la aplicación).
+ *
+ * Cada tabla usa su propio generador aleatorio derivado de la semilla: con la misma
+ * semilla y los mismos volúmenes se obtienen exactamente las mismas filas, y cambiar
+ * el volumen de una tabla no altera las otras. Las filas se insertan con
+ * batchUpdate; con rewriteBatchedStatements el driver de MySQL envía cada lote como
+ * un único INSERT de varias filas.
+ */
+@Slf4j
+@Component
+@Profile("generador")
+@RequiredArgsConstructor
+public class GeneradorDatos implements CommandLineRunner {
+
+    // Fecha fija (no now()) para que las fechas generadas no dependan del día de ejecución
+    private static final LocalDateTime FECHA_BASE = LocalDateTime.of(2025, 1, 1, 0, 0);
+    private static final int ANIO_ACTUAL = FECHA_BASE.getYear();
+    private static final int DIAS_HISTORIA = 730;
+
+    private static final Map<String, String[]> MODELOS = Map.ofEntries(
+            Map.entry("Toyota", new String[]{"Corolla", "Yaris", "RAV4", "Hilux", "Camry", "Land Cruiser Prado"}),
+            Map.entry("Honda", new String[]{"Civic", "City", "CR-V", "HR-V", "Accord"}),
+            Map.entry("Ford", new String[]{"Ranger", "Explorer", "Territory", "Mustang", "F-150"}),
+            Map.entry("Volkswagen", new String[]{"Golf", "Jetta", "Tiguan", "T-Cross", "Amarok"}),
+            Map.entry("BMW", new String[]{"Serie 3", "Serie 5", "X1", "X3", "X5"}),
+            Map.entry("Mercedes-Benz", new String[]{"Clase A", "Clase C", "Clase E", "GLA", "GLC"}),
+            Map.entry("Audi", new String[]{"A3", "A4", "Q3", "Q5", "Q7"}),
+            Map.entry("Nissan", new String[]{"Sentra", "Versa", "Kicks", "X-Trail", "Frontier"}),
+            Map.entry("Hyundai", new String[]{"Accent", "Elantra", "Creta", "Tucson", "Santa Fe"}),
+            Map.entry("Kia", new String[]{"Rio", "Picanto", "Seltos", "Sportage", "Sorento"}),
+            Map.entry("Mazda", new String[]{"Mazda 2", "Mazda 3", "CX-3", "CX-5", "CX-30"}),
+            Map.entry("Subaru", new String[]{"Impreza", "XV", "Forester", "Outback"}));
+
+    private static final Map<String, Double> PESO_MARCA = Map.of(
+            "Toyota", 9.0, "Hyundai", 7.0, "Kia", 6.5, "Nissan", 5.0,
+            "Volkswagen", 3.5, "Mazda", 3.0, "Honda", 2.5, "Ford", 2.5, "Subaru", 1.0);
+    private static final Map<String, Double> FACTOR_PRECIO_MARCA = Map.of(
+            "BMW", 1.9, "Mercedes-Benz", 2.0, "Audi", 1.8, "Subaru", 1.2, "Volkswagen", 1.1);
+
+    private static final Map<String, Double> PESO_CATEGORIA = Map.of(
+            "SEDAN", 30.0, "CAMIONETA", 35.0, "HATCHBACK", 18.0, "PICKUP", 10.0, "VAN", 4.0, "DEPORTIVO", 3.0);
+    private static final Map<String, Integer> PRECIO_BASE_CATEGORIA = Map.of(
+            "SEDAN", 22000, "CAMIONETA", 32000, "HATCHBACK", 17000, "PICKUP", 30000, "VAN", 28000, "DEPORTIVO", 55000);
+
+    private static final Map<String, Double> PESO_COMBUSTIBLE = Map.of(
+            "GASOLINA", 60.0, "DIESEL", 22.0, "HIBRIDO", 13.0, "ELECTRICO", 5.0);
+    private static final Map<String, Double> PESO_TRANSMISION = Map.of("AUTOMATICA", 65.0, "MANUAL", 35.0);
+    private static final Map<String, Double> PESO_ESTADO_VENTA = Map.of(
+            "PENDIENTE", 20.0, "FINALIZADO", 55.0, "CANCELADO", 25.0);
+
+    private static final String[] ESTADOS_CONTACTO = {"PENDIENTE", "EN_PROCESO", "VENTA_FINALIZADA", "CANCELADO"};
+    private static final double[] PESO_ESTADOS_CONTACTO = {45, 20, 20, 15};
+    private static final String[] TIPOS_TRANSACCION = {"PENDIENTE", "COMPRA", "VENTA"};
+    private static final String[] COLORES = {"Blanco", "Negro", "Gris", "Plateado", "Rojo", "Azul", "Verde", "Beige"};
+    private static final double[] PESO_COLORES = {26, 20, 18, 14, 8, 8, 3, 3};
+    private static final String[] NOMBRES = {"Ana", "Luis", "Rosa", "Jorge", "Lucía", "Miguel", "Carmen", "Diego",
+            "Elena", "Raúl", "Sofía", "Carlos", "Valeria", "José", "Daniela", "Andrés"};
+    private static final String[] APELLIDOS = {"Torres", "Vargas", "Rojas", "Flores", "Castro", "Ramos", "Chávez",
+            "Mendoza", "Quispe", "Huamán", "Sánchez", "García", "Díaz", "Romero"};
+    private static final String[] ASUNTOS = {"Consulta por auto", "Solicitud de cotización", "Prueba de manejo",
+            "Financiamiento", "Consulta general"};
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Value("${generador.semilla:42}")
+    private long semilla;
+
+    @Value("${generador.autos:200000}")
+    private int totalAutos;
+
+    @Value("${generador.contactos:5000000}")
+    private int totalContactos;
+
+    @Value("${generador.ventas:1000000}")
+    private int totalVentas;
+
+    @Value("${generador.lote:1000}")
+    private int tamanoLote;
+
+    @Override
+    public void run(String... args) {
+        long inicio = System.currentTimeMillis();
+        log.info("Generando datos sintéticos (semilla {}): {} autos, {} contactos, {} ventas",
+                semilla, totalAutos, totalContactos, totalVentas);
+
+        long[] autos = generarAutos(new SplittableRandom(semilla));
+        long[] autoDeContacto = generarContactos(new SplittableRandom(semilla + 1), autos);
+        generarVentas(new SplittableRandom(semilla + 2), autoDeContacto);
+        recalcularContadoresVenta();
+
+        log.info("Datos sintéticos generados en {} ms", System.currentTimeMillis() - inicio);
+    }
+
+    // =============================================
+    // AUTOS E IMÁGENES
+    // =============================================
+
+    private long[] generarAutos(SplittableRandom random) {
+        Referencias marcas = referencias("marcas", PESO_MARCA, 1.5);
+        Referencias categorias = referencias("categorias_auto", PESO_CATEGORIA, 5.0);
+        Referencias combustibles = referencias("combustibles", PESO_COMBUSTIBLE, 5.0);
+        Referencias transmisiones = referencias("transmisiones", PESO_TRANSMISION, 50.0);
+        Map<String, Long> condiciones = idsPorNombre("condiciones_auto");
+        Long nuevo = condiciones.get("NUEVO");
+        Long usado = condiciones.get("USADO");
+
+        long primerId = siguienteId("autos");
+        long[] ids = new long[totalAutos];
+        List<Object[]> filas = new ArrayList<>(tamanoLote);
+        List<Object[]> imagenes = new ArrayList<>(tamanoLote * 5);
+
+        for (int i = 0; i < totalAutos; i++) {
+            long id = primerId + i;
+            ids[i] = id;
+
+            int m = marcas.elegir(random);
+            String marca = marcas.nombres()[m];
+            int c = categorias.elegir(random);
+            String categoria = categorias.nombres()[c];
+
+            // ~35% nuevos (0 km, año actual o siguiente); los usados con antigüedad de 1 a 15 años
+            boolean esNuevo = random.nextDouble() < 0.35;
+            int antiguedad = esNuevo ? 0 : 1 + (int) (random.nextDouble() * random.nextDouble() * 15);
+            int anio = esNuevo ? ANIO_ACTUAL + random.nextInt(2) : ANIO_ACTUAL - antiguedad;
+            // Kilometraje log-normal alrededor de ~14.000 km por año de uso
+            int kilometraje = esNuevo ? 0
+                    : (int) Math.min(350_000, Math.round(14_000 * antiguedad * Math.exp(random.nextGaussian() * 0.35)));
+
+            double precio = PRECIO_BASE_CATEGORIA.getOrDefault(categoria, 25000)
+                    * FACTOR_PRECIO_MARCA.getOrDefault(marca, 1.0)
+                    * Math.pow(0.88, antiguedad)
+                    * Math.exp(random.nextGaussian() * 0.18);
+            BigDecimal precioRedondeado = BigDecimal.valueOf(Math.max(3000, Math.round(precio / 100) * 100L))
+                    .setScale(2);
+
+            // Stock 0..6 con un ~10% agotado (quedan no disponibles, como hace Auto.calcularCondicion)
+            int stock = random.nextDouble() < 0.10 ? 0 : 1 + Math.min(5, (int) Math.abs(random.nextGaussian() * 2));
+            String[] modelos = MODELOS.get(marca);
+            String modelo = modelos != null ? modelos[random.nextInt(modelos.length)] : "Modelo " + (1 + random.nextInt(8));
+
+            filas.add(new Object[]{
+                    id, marcas.ids()[m], modelo, anio, precioRedondeado,
+                    COLORES[elegir(random, PESO_COLORES)], kilometraje, stock,
+                    combustibles.ids()[combustibles.elegir(random)], transmisiones.ids()[transmisiones.elegir(random)],
+                    categorias.ids()[c], esNuevo ? nuevo : usado,
+                    modelo + " " + anio + (esNuevo ? ", 0 km" : ", " + kilometraje + " km"), stock > 0
+            });
+
+            // Entre 0 y 10 imágenes, la mayoría entre 3 y 6
+            int cantidadImagenes = Math.max(0, Math.min(10, (int) Math.round(4.5 + random.nextGaussian() * 1.8)));
+            for (int k = 1; k <= cantidadImagenes; k++) {
+                imagenes.add(new Object[]{id, k - 1, "https://img.autovibes.test/autos/" + id + "/" + k + ".jpg"});
+            }
+
+            if (filas.size() == tamanoLote) {
+                insertarAutos(filas, imagenes);
+                log.debug("Autos generados: {}/{}", i + 1, totalAutos);
+            }
+        }
+        insertarAutos(filas, imagenes);
+        return ids;
+    }
+
+    private void insertarAutos(List<Object[]> filas, List<Object[]> imagenes) {
+        if (!filas.isEmpty()) {
+            jdbcTemplate.batchUpdate("INSERT INTO autos (id, marca_id, modelo, anio, precio, color, kilometraje, stock, " +
+                    "combustible_id, transmision_id, categoria_id, condicion_id, descripcion, disponible) " +
+                    "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)", filas);
+            filas.clear();
+        }
+        if (!imagenes.isEmpty()) {
+            jdbcTemplate.batchUpdate("INSERT INTO auto_imagenes (auto_id, orden, url_imagen) VALUES (?, ?, ?)", imagenes);
+            imagenes.clear();
+        }
+    }
+
+    // =============================================
+    // CONTACTOS
+    // =============================================
+
+    // Devuelve el auto de cada contacto generado (0 si no consulta por un auto)
+    private long[] generarContactos(SplittableRandom random, long[] autos) {
+        long primerId = siguienteId("contactos");
+        long[] autoDeContacto = new long[totalContactos];
+        List<Object[]> filas = new ArrayList<>(tamanoLote);
+
+        for (int i = 0; i < totalContactos; i++) {
+            long id = primerId + i;
+            // ~85% pregunta por un auto; los autos más antiguos (ids bajos) acumulan más consultas
+            long autoId = autos.length > 0 && random.nextDouble() < 0.85
+                    ? autos[(int) (autos.length * Math.pow(random.nextDouble(), 1.4))] : 0L;
+            autoDeContacto[i] = autoId;
+
+            String nombre = NOMBRES[random.nextInt(NOMBRES.length)] + " " + APELLIDOS[random.nextInt(APELLIDOS.length)];
+            int estado = elegir(random, PESO_ESTADOS_CONTACTO);
+            boolean respondido = estado != 0 || random.nextDouble() < 0.2;
+            boolean leido = respondido || random.nextDouble() < 0.6;
+            LocalDateTime fechaCreacion = fechaAleatoria(random);
+
+            filas.add(new Object[]{
+                    id, nombre, String.valueOf(10_000_000 + random.nextInt(89_999_999)),
+                    "cliente" + id + "@correo.test", "9" + (10_000_000 + random.nextInt(89_999_999)),
+                    ASUNTOS[random.nextInt(ASUNTOS.length)], "Mensaje generado " + id,
+                    autoId != 0 ? autoId : null, leido, respondido, ESTADOS_CONTACTO[estado],
+                    TIPOS_TRANSACCION[estado == 2 ? 1 + random.nextInt(2) : 0],
+                    Timestamp.valueOf(fechaCreacion),
+                    respondido ? Timestamp.valueOf(fechaCreacion.plusHours(1 + random.nextInt(72))) : null
+            });
+
+            if (filas.size() == tamanoLote) {
+                insertarContactos(filas);
+                if ((i + 1) % 100_000 == 0) {
+                    log.debug("Contactos generados: {}/{}", i + 1, totalContactos);
+                }
+            }
+        }
+        insertarContactos(filas);
+        return autoDeContacto;
+    }
+
+    private void insertarContactos(List<Object[]> filas) {
+        if (filas.isEmpty()) {
+            return;
+        }
+        jdbcTemplate.batchUpdate("INSERT INTO contactos (id, nombre, dni, email, telefono, asunto, mensaje, auto_id, " +
+                "leido, respondido, estado, tipo_transaccion, fecha_creacion, fecha_respuesta) " +
+                "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)", filas);
+        filas.clear();
+    }
+
+    // =============================================
+    // VENTAS
+    // =============================================
+
+    private void generarVentas(SplittableRandom random, long[] autoDeContacto) {
+        Referencias estados = referencias("estados_venta", PESO_ESTADO_VENTA, 1.0);
+        long primerContacto = siguienteId("contactos") - autoDeContacto.length;
+        long primerId = siguienteId("ventas");
+        List<Object[]> filas = new ArrayList<>(tamanoLote);
+
+        int generadas = 0;
+        int intentos = 0;
+        // Cada venta sale de un contacto que preguntó por un auto (se descartan los que no)
+        while (generadas < totalVentas && autoDeContacto.length > 0 && intentos < totalVentas * 4) {
+            intentos++;
+            int indice = random.nextInt(autoDeContacto.length);
+            long autoId = autoDeContacto[indice];
+            if (autoId == 0) {
+                continue;
+            }
+            LocalDateTime solicitud = fechaAleatoria(random);
+            filas.add(new Object[]{
+                    primerId + generadas, primerContacto + indice, autoId, estados.ids()[estados.elegir(random)],
+                    Timestamp.valueOf(solicitud), Timestamp.valueOf(solicitud.plusDays(random.nextInt(15)))
+            });
+            generadas++;
+
+            if (filas.size() == tamanoLote) {
+                insertarVentas(filas);
+            }
+        }
+        insertarVentas(filas);
+    }
+
+    // Contadores por auto que la aplicación mantiene en cada transición de venta;
+    // aquí se calculan una sola vez al final en vez de venta por venta
+    private void recalcularContadoresVenta() {
+        jdbcTemplate.update("UPDATE autos a SET " +
+                "ventas_pendientes = (SELECT COUNT(*) FROM ventas v JOIN estados_venta e ON e.id = v.estado_id " +
+                "WHERE v.auto_id = a.id AND e.nombre = 'PENDIENTE'), " +
+                "ventas_finalizadas = (SELECT COUNT(*) FROM ventas v JOIN estados_venta e ON e.id = v.estado_id " +
+                "WHERE v.auto_id = a.id AND e.nombre = 'FINALIZADO')");
+    }
+
+    private void insertarVentas(List<Object[]> filas) {
+        if (filas.isEmpty()) {
+            return;
+        }
+        jdbcTemplate.batchUpdate("INSERT INTO ventas (id, contact_id, auto_id, estado_id, fecha_solicitud, " +
+                "fecha_actualizacion) VALUES (?, ?, ?, ?, ?, ?)", filas);
+        filas.clear();
+    }
+
+    // =============================================
+    // UTILIDADES
+    // =============================================
+
+    private long siguienteId(String tabla) {
+        Long maximo = jdbcTemplate.queryForObject("SELECT MAX(id) FROM " + tabla, Long.class);
+        return maximo != null ? maximo + 1 : 1;
+    }
+
+    private Map<String, Long> idsPorNombre(String tabla) {
+        Map<String, Long> ids = new HashMap<>();
+        jdbcTemplate.query("SELECT id, nombre FROM " + tabla + " WHERE activa = true ORDER BY id",
+                rs -> { ids.put(rs.getString("nombre"), rs.getLong("id")); });
+        return ids;
+    }
+
+    // Las filas que no figuran en la tabla de pesos reciben el peso por defecto
+    private Referencias referencias(String tabla, Map<String, Double> pesos, double pesoDefecto) {
+        List<Long> ids = new ArrayList<>();
+        List<String> nombres = new ArrayList<>();
+        jdbcTemplate.query("SELECT id, nombre FROM " + tabla + " WHERE activa = true ORDER BY id", rs -> {
+            ids.add(rs.getLong("id"));
+            nombres.add(rs.getString("nombre"));
+        });
+        if (ids.isEmpty()) {
+            throw new IllegalStateException("No hay filas activas en " + tabla + "; se necesita data.sql");
+        }
+        double[] acumulado = new double[ids.size()];
+        double total = 0;
+        for (int i = 0; i < ids.size(); i++) {
+            total += pesos.getOrDefault(nombres.get(i), pesoDefecto);
+            acumulado[i] = total;
+        }
+        return new Referencias(ids.stream().mapToLong(Long::longValue).toArray(),
+                nombres.toArray(String[]::new), acumulado);
+    }
+
+    private record Referencias(long[] ids, String[] nombres, double[] acumulado) {
+        int elegir(SplittableRandom random) {
+            double valor = random.nextDouble() * acumulado[acumulado.length - 1];
+            for (int i = 0; i < acumulado.length; i++) {
+                if (valor < acumulado[i]) {
+                    return i;
+                }
+            }
+            return acumulado.length - 1;
+        }
+    }
+
+    private static int elegir(SplittableRandom random, double[] pesos) {
+        double total = 0;
+        for (double peso : pesos) {
+            total += peso;
+        }
+        double valor = random.nextDouble() * total;
+        for (int i = 0; i < pesos.length; i++) {
+            valor -= pesos[i];
+            if (valor < 0) {
+                return i;
+            }
+        }
+        return pesos.length - 1;
+    }
+
+    // Más actividad reciente: la densidad crece hacia FECHA_BASE
+    private static LocalDateTime fechaAleatoria(SplittableRandom random) {
+        int diasAtras = (int) (DIAS_HISTORIA * Math.pow(random.nextDouble(), 1.6));
+        return FECHA_BASE.minusDays(diasAtras).plusMinutes(random.nextInt(24 * 60));
+    }
+}
@@ -5,13 +5,20 @@ import com.fasterxml.jackson.annotation.JsonIgnore;
 import jakarta.persistence.*;
 import lombok.Data;
 import lombok.ToString;
+import org.hibernate.annotations.BatchSize;
 
 import java.math.BigDecimal;
 import java.util.ArrayList;
 import java.util.List;
 
 @Entity
-@Table(name = "autos")
+@Table(name = "autos", indexes = {
+    // Índices para la paginación por cursor (orden + desempate por id)
+    @Index(name = "idx_autos_precio_id", columnList = "precio, id"),
+    @Index(name = "idx_autos_anio_id", columnList = "anio DESC, id"),
+    // Autos visibles: disponible, con stock y sin ventas pendientes
+    @Index(name = "idx_autos_disponible_pendientes", columnList = "disponible, ventas_pendientes, stock")
+})
 @Data
 @ToString(exclude = {"marca", "combustible", "transmision", "categoria", "condicion", "ventas"})
 public class Auto {
@@ -61,7 +68,25 @@ public class Auto {
     private Boolean disponible = true;
     private Integer stock = 0;  // Stock disponible del vehículo
 
+    // Concurrencia optimista: un save con versión vieja falla en vez de pisar el stock.
+    // Los UPDATE condicionales de AutoRepository también la incrementan.
+    @Version
+    @Column(nullable = false, columnDefinition = "bigint default 0")
+    private Long version;
+
+    // Ventas del auto por estado, mantenidas en la misma transacción que cada cambio
+    // de estado de venta (ver AutoRepository.aplicarTransicionVenta)
+    @Column(name = "ventas_pendientes", nullable = false, columnDefinition = "int default 0")
+    private Integer ventasPendientes = 0;
+
+    @Column(name = "ventas_finalizadas", nullable = false, columnDefinition = "int default 0")
+    private Integer ventasFinalizadas = 0;
+
+    // Al recorrer muchos autos, las imágenes se cargan de a 100 autos por consulta
+    // orden conserva la posición de cada imagen: la primera es la portada en todos los listados
+    @BatchSize(size = 100)
     @ElementCollection
+    @OrderColumn(name = "orden")
     @CollectionTable(name = "auto_imagenes", joinColumns = @JoinColumn(name = "auto_id"))
     @Column(name = "url_imagen")
     private List<String> imagenes = new ArrayList<>();
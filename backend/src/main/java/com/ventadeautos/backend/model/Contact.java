@@ -52,6 +52,7 @@ public class Contact {
     @Column(name = "fecha_creacion")
     private LocalDateTime fechaCreacion;
     
+    // La pone ContactRepository.marcarRespondidos, la única forma de marcar un contacto como respondido
     @Column(name = "fecha_respuesta")
     private LocalDateTime fechaRespuesta;
     
@@ -65,11 +66,4 @@ public class Contact {
             respondido = false;
         }
     }
-    
-    @PreUpdate
-    protected void onUpdate() {
-        if (respondido && fechaRespuesta == null) {
-            fechaRespuesta = LocalDateTime.now();
-        }
-    }
 }
@@ -0,0 +1,33 @@
+package com.ventadeautos.backend.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+
+/**
+ * Reserva temporal de una unidad de stock para un contacto en negociación.
+ * Es solo la copia persistente del registro en memoria (ver ReservasStock):
+ * ids planos, sin relaciones, para recuperarlo tras un reinicio.
+ */
+@Entity
+@Table(name = "reservas_stock", indexes = {
+    @Index(name = "idx_reservas_stock_vence", columnList = "vence")
+})
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ReservaStock {
+    // Un contacto reserva a lo sumo una unidad (la de su auto)
+    @Id
+    @Column(name = "contacto_id")
+    private Long contactoId;
+
+    @Column(name = "auto_id", nullable = false)
+    private Long autoId;
+
+    @Column(nullable = false)
+    private Instant vence;
+}
@@ -1,61 +1,153 @@
 package com.ventadeautos.backend.repository;
 
+import com.ventadeautos.backend.dto.AutoComparacion;
+import com.ventadeautos.backend.dto.AutoResumen;
 import com.ventadeautos.backend.model.Auto;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
+
+import java.math.BigDecimal;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 public interface AutoRepository extends JpaRepository<Auto, Long> {
+
+    // Proyección plana usada por el listado paginado (sin hidratar entidades)
+    String SELECT_RESUMEN = "SELECT new com.ventadeautos.backend.dto.AutoResumen(" +
+            "a.id, m.id, m.nombre, a.modelo, a.anio, a.precio, a.color, a.kilometraje, a.stock, a.disponible, " +
+            "cat.nombre, con.nombre, com.nombre, tra.nombre) " +
+            "FROM Auto a JOIN a.marca m JOIN a.categoria cat JOIN a.condicion con " +
+            "LEFT JOIN a.combustible com LEFT JOIN a.transmision tra ";
+
+    String FILTRO_DISPONIBLES = "(:soloDisponibles = false OR " +
+            "(a.disponible = true AND a.stock > 0 AND a.ventasPendientes = 0)) ";
     
     List<Auto> findByDisponibleTrue();
     List<Auto> findByModeloContainingIgnoreCase(String modelo);
     
     // Consultas con marca
-    List<Auto> findByMarcaIdAndDisponibleTrue(Long marcaId);
     List<Auto> findByMarcaNombreContainingIgnoreCaseAndDisponibleTrue(String marcaNombre);
     
-    List<Auto> findByCategoriaIdAndDisponibleTrue(Long categoriaId);
-    List<Auto> findByCondicionIdAndDisponibleTrue(Long condicionId);
-    List<Auto> findByCombustibleIdAndDisponibleTrue(Long combustibleId);
-    List<Auto> findByTransmisionIdAndDisponibleTrue(Long transmisionId);
-    
-    // ✅ NUEVO: Consultas combinadas
-    List<Auto> findByCategoriaIdAndCondicionIdAndDisponibleTrue(Long categoriaId, Long condicionId);
-    List<Auto> findByMarcaIdAndCategoriaIdAndDisponibleTrue(Long marcaId, Long categoriaId);
-    List<Auto> findByMarcaIdAndCondicionIdAndDisponibleTrue(Long marcaId, Long condicionId);
-
+    @Query("SELECT a FROM Auto a LEFT JOIN FETCH a.marca LEFT JOIN FETCH a.categoria LEFT JOIN FETCH a.condicion " +
+           "LEFT JOIN FETCH a.combustible LEFT JOIN FETCH a.transmision WHERE a.disponible = false")
     List<Auto> findByDisponibleFalse();
     
-    // ✅ NUEVO: Métodos faltantes para el servicio
-    List<Auto> findByCategoriaIdAndCombustibleIdAndDisponibleTrue(Long categoriaId, Long combustibleId);
-    
-    @Query("SELECT a FROM Auto a WHERE " +
-           "(:marcaId IS NULL OR a.marca.id = :marcaId) AND " +
-           "(:categoriaId IS NULL OR a.categoria.id = :categoriaId) AND " +
-           "(:condicionId IS NULL OR a.condicion.id = :condicionId) AND " +
-           "(:combustibleId IS NULL OR a.combustible.id = :combustibleId) AND " +
-           "(:transmisionId IS NULL OR a.transmision.id = :transmisionId) AND " +
-           "a.disponible = true AND a.stock > 0")
-    List<Auto> findByFiltros(@Param("marcaId") Long marcaId,
-                            @Param("categoriaId") Long categoriaId,
-                            @Param("condicionId") Long condicionId,
-                            @Param("combustibleId") Long combustibleId,
-                            @Param("transmisionId") Long transmisionId);
-    
-    @Query("SELECT a FROM Auto a WHERE a.disponible = true AND a.stock > 0 AND " +
-           "NOT EXISTS (SELECT v FROM Venta v WHERE v.auto = a AND v.estado.nombre = 'PENDIENTE')")
+    @Query("SELECT a FROM Auto a WHERE a.disponible = true AND a.stock > 0 AND a.ventasPendientes = 0")
     List<Auto> findAutosDisponiblesSinVentasPendientes();
     
-    @Query("SELECT a FROM Auto a WHERE EXISTS (SELECT v FROM Venta v WHERE v.auto = a AND v.estado.nombre = 'PENDIENTE')")
+    @Query("SELECT a FROM Auto a WHERE a.ventasPendientes > 0")
     List<Auto> findAutosConVentasPendientes();
+
+    // =============================================
+    // UPDATE CONDICIONALES (sin leer ni reescribir la entidad)
+    // =============================================
+
+    // Descuenta una unidad solo si queda stock; 0 filas = no había stock. Al vender la
+    // última unidad el auto deja de estar disponible. disponible va antes que stock
+    // porque MySQL evalúa el SET en orden con los valores ya asignados.
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE Auto a SET a.disponible = CASE WHEN a.stock > 1 THEN a.disponible ELSE false END, " +
+           "a.stock = a.stock - 1, a.version = a.version + 1 WHERE a.id = :id AND a.stock > 0")
+    int descontarStock(@Param("id") Long id);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE Auto a SET a.stock = a.stock + 1, a.version = a.version + 1 WHERE a.id = :id")
+    int reponerStock(@Param("id") Long id);
+
+    // Varias ventas finalizadas o revertidas del mismo auto en una sola sentencia; el
+    // stock nunca queda negativo y, como en descontarStock, en 0 deja de estar disponible.
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE Auto a SET a.disponible = CASE WHEN a.stock + :delta > 0 THEN a.disponible ELSE false END, " +
+           "a.stock = CASE WHEN a.stock + :delta > 0 THEN a.stock + :delta ELSE 0 END, " +
+           "a.version = a.version + 1 WHERE a.id = :id")
+    int ajustarStock(@Param("id") Long id, @Param("delta") int delta);
+
+    // Suma la transición de una venta a los contadores del auto y recalcula disponible
+    // con los valores nuevos: sin stock, con ventas pendientes o ya vendido → no disponible.
+    // Como en descontarStock, disponible va primero y usa los contadores anteriores.
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE Auto a SET " +
+           "a.disponible = CASE WHEN a.stock = 0 OR a.ventasPendientes + :pendientes > 0 " +
+           "OR a.ventasFinalizadas + :finalizadas > 0 THEN false ELSE true END, " +
+           "a.ventasPendientes = a.ventasPendientes + :pendientes, " +
+           "a.ventasFinalizadas = a.ventasFinalizadas + :finalizadas, " +
+           "a.version = a.version + 1 WHERE a.id = :id")
+    int aplicarTransicionVenta(@Param("id") Long id, @Param("pendientes") int pendientes,
+                               @Param("finalizadas") int finalizadas);
+
+    // Filas [autoId, cantidad] de ventas en estado PENDIENTE
+    @Query("SELECT a.id, a.ventasPendientes FROM Auto a WHERE a.ventasPendientes > 0")
+    List<Object[]> contarVentasPendientesPorAuto();
     
     // ✅ NUEVO: Cargar auto con todas las relaciones
     @Query("SELECT a FROM Auto a LEFT JOIN FETCH a.marca LEFT JOIN FETCH a.categoria LEFT JOIN FETCH a.condicion LEFT JOIN FETCH a.combustible LEFT JOIN FETCH a.transmision WHERE a.id = :id")
     Optional<Auto> findByIdWithMarca(@Param("id") Long id);
     
     // ✅ NUEVO: Cargar todos los autos con relaciones
-    @Query("SELECT a FROM Auto a LEFT JOIN FETCH a.marca LEFT JOIN FETCH a.categoria LEFT JOIN FETCH a.condicion")
+    @Query("SELECT a FROM Auto a LEFT JOIN FETCH a.marca LEFT JOIN FETCH a.categoria LEFT JOIN FETCH a.condicion " +
+           "LEFT JOIN FETCH a.combustible LEFT JOIN FETCH a.transmision")
     List<Auto> findAllWithRelations();
+
+    // ✅ NUEVO: Carga completa para el catálogo en memoria (relaciones e imágenes en una consulta)
+    @Query("SELECT DISTINCT a FROM Auto a LEFT JOIN FETCH a.marca LEFT JOIN FETCH a.categoria " +
+           "LEFT JOIN FETCH a.condicion LEFT JOIN FETCH a.combustible LEFT JOIN FETCH a.transmision " +
+           "LEFT JOIN FETCH a.imagenes")
+    List<Auto> findAllParaCatalogo();
+
+    // =============================================
+    // PAGINACIÓN POR CURSOR (KEYSET)
+    // =============================================
+
+    @Query(SELECT_RESUMEN + "WHERE a.id > :id AND " + FILTRO_DISPONIBLES + "ORDER BY a.id ASC")
+    List<AutoResumen> findPaginaPorId(@Param("id") Long ultimoId,
+                                      @Param("soloDisponibles") boolean soloDisponibles,
+                                      Pageable pageable);
+
+    @Query(SELECT_RESUMEN + "WHERE (a.precio > :precio OR (a.precio = :precio AND a.id > :id)) AND " +
+           FILTRO_DISPONIBLES + "ORDER BY a.precio ASC, a.id ASC")
+    List<AutoResumen> findPaginaPorPrecio(@Param("precio") BigDecimal ultimoPrecio,
+                                          @Param("id") Long ultimoId,
+                                          @Param("soloDisponibles") boolean soloDisponibles,
+                                          Pageable pageable);
+
+    @Query(SELECT_RESUMEN + "WHERE (a.anio < :anio OR (a.anio = :anio AND a.id > :id)) AND " +
+           FILTRO_DISPONIBLES + "ORDER BY a.anio DESC, a.id ASC")
+    List<AutoResumen> findPaginaPorAnio(@Param("anio") Integer ultimoAnio,
+                                        @Param("id") Long ultimoId,
+                                        @Param("soloDisponibles") boolean soloDisponibles,
+                                        Pageable pageable);
+
+    // ✅ Listado completo para streaming (cursor de solo avance; ver ListadoStreamingService)
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "100"))
+    @Query("SELECT a FROM Auto a LEFT JOIN FETCH a.marca LEFT JOIN FETCH a.categoria LEFT JOIN FETCH a.condicion " +
+           "LEFT JOIN FETCH a.combustible LEFT JOIN FETCH a.transmision ORDER BY a.id")
+    Stream<Auto> streamAllWithRelations();
+
+    // =============================================
+    // CARGA POR LOTE (FAVORITOS Y COMPARACIÓN)
+    // =============================================
+
+    @Query("SELECT new com.ventadeautos.backend.dto.AutoComparacion(" +
+           "a.id, m.id, m.nombre, a.modelo, a.anio, a.precio, a.color, a.kilometraje, a.stock, a.disponible, " +
+           "cat.nombre, con.nombre, com.nombre, tra.nombre, a.descripcion) " +
+           "FROM Auto a LEFT JOIN a.marca m LEFT JOIN a.categoria cat LEFT JOIN a.condicion con " +
+           "LEFT JOIN a.combustible com LEFT JOIN a.transmision tra WHERE a.id IN :ids")
+    List<AutoComparacion> findComparacionPorIds(@Param("ids") Collection<Long> ids);
+
+    @Query("SELECT a FROM Auto a LEFT JOIN FETCH a.marca LEFT JOIN FETCH a.categoria LEFT JOIN FETCH a.condicion " +
+           "LEFT JOIN FETCH a.combustible LEFT JOIN FETCH a.transmision WHERE a.id IN :ids")
+    List<Auto> findAllWithRelationsByIdIn(@Param("ids") Collection<Long> ids);
+
+    // ✅ Imágenes de varios autos en una sola consulta: cada fila es [autoId, url], en el
+    // orden de Auto.imagenes (la primera de cada auto es su portada)
+    @Query("SELECT a.id, i FROM Auto a JOIN a.imagenes i WHERE a.id IN :ids ORDER BY a.id, INDEX(i)")
+    List<Object[]> findImagenesPorAutoIds(@Param("ids") Collection<Long> ids);
 }
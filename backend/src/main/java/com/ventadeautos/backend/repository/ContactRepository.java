@@ -1,44 +1,96 @@
 package com.ventadeautos.backend.repository;
 
 import com.ventadeautos.backend.model.Contact;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
 public interface ContactRepository extends JpaRepository<Contact, Long> {
     
- 
-    @Query("SELECT c FROM Contact c LEFT JOIN FETCH c.auto WHERE c.leido = false ORDER BY c.fechaCreacion DESC")
+    // Relaciones EAGER del auto traídas en la misma consulta (evita un SELECT por marca, categoría, etc.)
+    String CON_RELACIONES = "LEFT JOIN FETCH a.marca LEFT JOIN FETCH a.categoria LEFT JOIN FETCH a.condicion " +
+            "LEFT JOIN FETCH a.combustible LEFT JOIN FETCH a.transmision ";
+    
+    // Imágenes del auto en la misma consulta: el @BatchSize de Auto.imagenes no agrupa los
+    // autos que llegan por JOIN FETCH desde el contacto y cada uno hacía su propio SELECT
+    String CON_IMAGENES = CON_RELACIONES + "LEFT JOIN FETCH a.imagenes ";
+    
+    @Query("SELECT c FROM Contact c LEFT JOIN FETCH c.auto a " + CON_IMAGENES + "WHERE c.leido = false ORDER BY c.fechaCreacion DESC")
     List<Contact> findByLeidoFalse();
     
     // Obtener contactos por auto
-    @Query("SELECT c FROM Contact c LEFT JOIN FETCH c.auto WHERE c.auto.id = :autoId ORDER BY c.fechaCreacion DESC")
+    @Query("SELECT c FROM Contact c LEFT JOIN FETCH c.auto a " + CON_IMAGENES + "WHERE c.auto.id = :autoId ORDER BY c.fechaCreacion DESC")
     List<Contact> findByAutoId(Long autoId);
     
     // Obtener contactos no respondidos con auto cargado
-    @Query("SELECT c FROM Contact c LEFT JOIN FETCH c.auto WHERE c.respondido = false ORDER BY c.fechaCreacion DESC")
+    @Query("SELECT c FROM Contact c LEFT JOIN FETCH c.auto a " + CON_IMAGENES + "WHERE c.respondido = false ORDER BY c.fechaCreacion DESC")
     List<Contact> findByRespondidoFalse();
     
     // Obtener todos los contactos ordenados por fecha descendente con auto cargado
-    @Query("SELECT c FROM Contact c LEFT JOIN FETCH c.auto ORDER BY c.fechaCreacion DESC")
+    @Query("SELECT c FROM Contact c LEFT JOIN FETCH c.auto a " + CON_IMAGENES + "ORDER BY c.fechaCreacion DESC")
     List<Contact> findAllOrderByFechaDesc();
     
+    // ✅ Todos los contactos para streaming (cursor de solo avance; ver ListadoStreamingService)
+    // Sin CON_IMAGENES: con un cursor, las filas repetidas de un mismo contacto no se agrupan
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "100"))
+    @Query("SELECT c FROM Contact c LEFT JOIN FETCH c.auto a " + CON_RELACIONES + "ORDER BY c.fechaCreacion DESC")
+    Stream<Contact> streamAllOrderByFechaDesc();
+    
     // Buscar por email con auto cargado
-    @Query("SELECT c FROM Contact c LEFT JOIN FETCH c.auto WHERE c.email = :email ORDER BY c.fechaCreacion DESC")
+    @Query("SELECT c FROM Contact c LEFT JOIN FETCH c.auto a " + CON_IMAGENES + "WHERE c.email = :email ORDER BY c.fechaCreacion DESC")
     List<Contact> findByEmail(String email);
     
     // Obtener contactos por estado con auto cargado
-    @Query("SELECT c FROM Contact c LEFT JOIN FETCH c.auto WHERE c.estado = :estado ORDER BY c.fechaCreacion DESC")
+    @Query("SELECT c FROM Contact c LEFT JOIN FETCH c.auto a " + CON_IMAGENES + "WHERE c.estado = :estado ORDER BY c.fechaCreacion DESC")
     List<Contact> findByEstado(String estado);
     
     // Obtener contacto por ID con auto cargado
-    @Query("SELECT c FROM Contact c LEFT JOIN FETCH c.auto WHERE c.id = :id")
+    @Query("SELECT c FROM Contact c LEFT JOIN FETCH c.auto a " + CON_IMAGENES + "WHERE c.id = :id")
     Optional<Contact> findById(Long id);
     
+    // Transición de estado condicional: 0 filas = otro admin ya lo cambió
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE Contact c SET c.estado = :nuevo WHERE c.id = :id AND c.estado = :anterior")
+    int cambiarEstadoSi(@Param("id") Long id, @Param("anterior") String anterior, @Param("nuevo") String nuevo);
+    
+    // ✅ Operaciones por lote: estado previo de varios contactos, cada fila es
+    // [contactoId, estado, leido, autoId, fechaCreacion]
+    @Query("SELECT c.id, c.estado, c.leido, a.id, c.fechaCreacion FROM Contact c LEFT JOIN c.auto a WHERE c.id IN :ids")
+    List<Object[]> findEstadosPorIds(@Param("ids") Collection<Long> ids);
+    
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE Contact c SET c.leido = true WHERE c.id IN :ids AND c.leido = false")
+    int marcarLeidos(@Param("ids") Collection<Long> ids);
+    
+    // Marca de respondido para uno o varios contactos (también la usa marcarComoRespondido):
+    // la fecha de respuesta se pone una sola vez, la primera
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE Contact c SET c.respondido = true, c.fechaRespuesta = COALESCE(c.fechaRespuesta, :ahora) " +
+           "WHERE c.id IN :ids AND c.respondido = false")
+    int marcarRespondidos(@Param("ids") Collection<Long> ids, @Param("ahora") LocalDateTime ahora);
+    
+    // Como cambiarEstadoSi, para todos los contactos que se leyeron con el mismo estado
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE Contact c SET c.estado = :nuevo WHERE c.id IN :ids AND c.estado = :anterior")
+    int cambiarEstadoSi(@Param("ids") Collection<Long> ids, @Param("anterior") String anterior,
+                        @Param("nuevo") String nuevo);
+    
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("DELETE FROM Contact c WHERE c.id IN :ids")
+    int eliminarPorIds(@Param("ids") Collection<Long> ids);
+    
     // Contar contactos no leídos
     long countByLeidoFalse();
     
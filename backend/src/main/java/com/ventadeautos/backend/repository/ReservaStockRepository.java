@@ -0,0 +1,22 @@
+package com.ventadeautos.backend.repository;
+
+import com.ventadeautos.backend.model.ReservaStock;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+import java.util.List;
+
+public interface ReservaStockRepository extends JpaRepository<ReservaStock, Long> {
+
+    List<ReservaStock> findByVenceAfter(Instant ahora);
+
+    // La purga corre fuera de cualquier transacción (tarea programada)
+    @Transactional
+    @Modifying
+    @Query("DELETE FROM ReservaStock r WHERE r.vence <= :ahora")
+    int eliminarVencidas(@Param("ahora") Instant ahora);
+}
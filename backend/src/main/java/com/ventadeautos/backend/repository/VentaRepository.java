@@ -1,15 +1,32 @@
 package com.ventadeautos.backend.repository;
 
+import com.ventadeautos.backend.dto.VentaResponse;
 import com.ventadeautos.backend.model.EstadoVenta;
 import com.ventadeautos.backend.model.Venta;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 public interface VentaRepository extends JpaRepository<Venta, Long> {
     
+    // Proyección plana de VentaResponse: una sola sentencia, sin hidratar entidades
+    String SELECT_RESPONSE = "SELECT new com.ventadeautos.backend.dto.VentaResponse(" +
+            "v.id, c.nombre, c.dni, c.email, c.telefono, a.id, COALESCE(m.nombre, 'Sin marca'), m.id, " +
+            "a.modelo, a.anio, a.precio, a.color, a.kilometraje, com.nombre, tra.nombre, cat.nombre, con.nombre, " +
+            "COALESCE(e.nombre, 'SIN ESTADO'), v.fechaSolicitud, v.fechaActualizacion) " +
+            "FROM Venta v LEFT JOIN v.contact c LEFT JOIN v.auto a LEFT JOIN a.marca m " +
+            "LEFT JOIN a.combustible com LEFT JOIN a.transmision tra LEFT JOIN a.categoria cat " +
+            "LEFT JOIN a.condicion con LEFT JOIN v.estado e ";
+    
     List<Venta> findByEstado(EstadoVenta estado);
     List<Venta> findByAutoId(Long autoId);
     List<Venta> findAllByOrderByFechaSolicitudDesc();
@@ -21,4 +38,29 @@ public interface VentaRepository extends JpaRepository<Venta, Long> {
     // ✅ Cargar todas las ventas con auto y marca
     @Query("SELECT v FROM Venta v LEFT JOIN FETCH v.auto a LEFT JOIN FETCH a.marca LEFT JOIN FETCH v.contact ORDER BY v.fechaSolicitud DESC")
     List<Venta> findAllWithAutoAndMarca();
-}
\ No newline at end of file
+    
+    @Query(SELECT_RESPONSE + "ORDER BY v.fechaSolicitud DESC")
+    List<VentaResponse> findAllResponses();
+    
+    @Query(SELECT_RESPONSE + "WHERE e.nombre = :estado ORDER BY v.fechaSolicitud DESC")
+    List<VentaResponse> findResponsesByEstadoNombre(@Param("estado") String estadoNombre);
+    
+    // ✅ Todas las ventas para streaming (cursor de solo avance; ver ListadoStreamingService)
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "100"))
+    @Query("SELECT v FROM Venta v JOIN FETCH v.auto a LEFT JOIN FETCH a.marca LEFT JOIN FETCH a.categoria " +
+           "LEFT JOIN FETCH a.condicion LEFT JOIN FETCH a.combustible LEFT JOIN FETCH a.transmision " +
+           "JOIN FETCH v.contact JOIN FETCH v.estado ORDER BY v.fechaSolicitud DESC")
+    Stream<Venta> streamAllWithAutoAndMarca();
+    
+    // Estado actual de varias ventas: cada fila es [ventaId, autoId, estadoId, estadoNombre, autoDisponible]
+    @Query("SELECT v.id, a.id, e.id, e.nombre, a.disponible FROM Venta v JOIN v.auto a JOIN v.estado e " +
+           "WHERE v.id IN :ids")
+    List<Object[]> findEstadosPorIds(@Param("ids") Collection<Long> ids);
+    
+    // Transición de estado condicional: 0 filas = otra operación ya cambió la venta
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE Venta v SET v.estado = :nuevo, v.fechaActualizacion = :ahora " +
+           "WHERE v.id = :id AND v.estado = :anterior")
+    int cambiarEstadoSi(@Param("id") Long id, @Param("anterior") EstadoVenta anterior,
+                        @Param("nuevo") EstadoVenta nuevo, @Param("ahora") LocalDateTime ahora);
+}
@@ -0,0 +1,9 @@
+package com.ventadeautos.backend.reserva;
+
+// Una unidad de stock apartada para un contacto hasta venceMs (epoch en milisegundos)
+public record Reserva(Long contactoId, Long autoId, long venceMs) {
+
+    public boolean vigente(long ahoraMs) {
+        return venceMs > ahoraMs;
+    }
+}
@@ -0,0 +1,19 @@
+package com.ventadeautos.backend.reserva;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+/**
+ * Se publica cuando cambian las reservas de un auto. anterior es null si la reserva
+ * es nueva y nueva es null si se liberó o venció; si ambas existen, se renovó.
+ */
+@Data
+@AllArgsConstructor
+public class ReservaStockEvent {
+    private Reserva anterior;
+    private Reserva nueva;
+
+    public Long getAutoId() {
+        return nueva != null ? nueva.autoId() : anterior.autoId();
+    }
+}
@@ -0,0 +1,247 @@
+package com.ventadeautos.backend.reserva;
+
+import com.ventadeautos.backend.model.ReservaStock;
+import com.ventadeautos.backend.repository.ReservaStockRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.scheduling.TaskScheduler;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ScheduledFuture;
+
+/**
+ * Registro en memoria de las unidades apartadas por auto, con vencimiento.
+ *
+ * Cada auto tiene un mapa inmutable contactoId → {@link Reserva} que se reemplaza
+ * entero (copy-on-write) dentro de un compute del {@link ConcurrentHashMap}: leer
+ * las reservas de un auto no toma locks y las escrituras de un auto no esperan a
+ * las de otro. Una reserva solo se otorga si stock - reservas vigentes > 0.
+ *
+ * Cada cambio se escribe también en reservas_stock, dentro de la transacción de
+ * quien reserva, para recuperar el registro tras un reinicio; si esa transacción
+ * hace rollback, el cambio en memoria se deshace. Una reserva vencida deja de
+ * contar en el acto: una tarea programada para el vencimiento más cercano la quita
+ * de memoria y avisa al catálogo en ese momento, y la purga periódica limpia la tabla.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class ReservasStock {
+
+    private final ReservaStockRepository reservaStockRepository;
+    private final ApplicationEventPublisher eventPublisher;
+    private final TaskScheduler taskScheduler;
+
+    @Value("${reservas.duracion:PT24H}")
+    private Duration duracion = Duration.ofHours(24);
+
+    private final ConcurrentHashMap<Long, Map<Long, Reserva>> porAuto = new ConcurrentHashMap<>();
+    private volatile boolean cargado = false;
+
+    // Vencimiento más cercano con tarea programada (epoch ms); Long.MAX_VALUE = ninguno
+    private long vencimientoProgramado = Long.MAX_VALUE;
+    private ScheduledFuture<?> tareaVencimiento;
+
+    // Unidades del auto apartadas por reservas vigentes
+    public int activas(Long autoId) {
+        asegurarCargado();
+        return contarVigentes(porAuto.get(autoId), System.currentTimeMillis(), null);
+    }
+
+    // Reservas vigentes de cada auto que tiene alguna
+    public Map<Long, Integer> activasPorAuto() {
+        asegurarCargado();
+        long ahora = System.currentTimeMillis();
+        Map<Long, Integer> resultado = new HashMap<>();
+        porAuto.forEach((autoId, reservas) -> {
+            int vigentes = contarVigentes(reservas, ahora, null);
+            if (vigentes > 0) {
+                resultado.put(autoId, vigentes);
+            }
+        });
+        return resultado;
+    }
+
+    /**
+     * Aparta una unidad del auto para el contacto (o renueva la que ya tenía).
+     * Devuelve false si las demás reservas vigentes ya cubren todo el stock.
+     */
+    public boolean reservar(Long contactoId, Long autoId, int stock) {
+        asegurarCargado();
+        long ahora = System.currentTimeMillis();
+        Reserva nueva = new Reserva(contactoId, autoId, ahora + duracion.toMillis());
+        Reserva[] anterior = new Reserva[1];
+        boolean[] otorgada = new boolean[1];
+        porAuto.compute(autoId, (id, reservas) -> {
+            Map<Long, Reserva> actuales = reservas != null ? reservas : Map.of();
+            if (contarVigentes(actuales, ahora, contactoId) >= stock) {
+                return reservas;
+            }
+            anterior[0] = actuales.get(contactoId);
+            otorgada[0] = true;
+            Map<Long, Reserva> copia = vigentes(actuales, ahora);
+            copia.put(contactoId, nueva);
+            return Map.copyOf(copia);
+        });
+        if (!otorgada[0]) {
+            return false;
+        }
+        // El evento va antes del INSERT: si este falla, el rollback igual deshace la memoria
+        eventPublisher.publishEvent(new ReservaStockEvent(anterior[0], nueva));
+        reservaStockRepository.save(new ReservaStock(contactoId, autoId, Instant.ofEpochMilli(nueva.venceMs())));
+        programarVencimiento(nueva.venceMs());
+        return true;
+    }
+
+    public void liberar(Long contactoId, Long autoId) {
+        asegurarCargado();
+        Reserva[] anterior = new Reserva[1];
+        porAuto.computeIfPresent(autoId, (id, reservas) -> {
+            anterior[0] = reservas.get(contactoId);
+            if (anterior[0] == null) {
+                return reservas;
+            }
+            Map<Long, Reserva> copia = new HashMap<>(reservas);
+            copia.remove(contactoId);
+            return copia.isEmpty() ? null : Map.copyOf(copia);
+        });
+        if (anterior[0] == null) {
+            return;
+        }
+        eventPublisher.publishEvent(new ReservaStockEvent(anterior[0], null));
+        reservaStockRepository.deleteById(contactoId);
+    }
+
+    // La transacción que reservó o liberó no se confirmó: se vuelve al estado anterior
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_ROLLBACK)
+    public void onRollback(ReservaStockEvent event) {
+        porAuto.compute(event.getAutoId(), (id, reservas) -> {
+            Map<Long, Reserva> copia = reservas != null ? new HashMap<>(reservas) : new HashMap<>();
+            if (event.getNueva() != null) {
+                copia.remove(event.getNueva().contactoId(), event.getNueva());
+            }
+            if (event.getAnterior() != null) {
+                copia.put(event.getAnterior().contactoId(), event.getAnterior());
+            }
+            return copia.isEmpty() ? null : Map.copyOf(copia);
+        });
+    }
+
+    @Scheduled(initialDelayString = "${reservas.purga-ms:60000}", fixedDelayString = "${reservas.purga-ms:60000}")
+    public void purgar() {
+        asegurarCargado();
+        long ahora = System.currentTimeMillis();
+        List<Reserva> vencidas = quitarVencidas(ahora);
+        int filas = reservaStockRepository.eliminarVencidas(Instant.ofEpochMilli(ahora));
+        if (!vencidas.isEmpty() || filas > 0) {
+            log.info("Reservas de stock vencidas: {} en memoria, {} filas eliminadas", vencidas.size(), filas);
+        }
+    }
+
+    // Tarea del vencimiento más cercano: quita de memoria lo vencido (el catálogo libera
+    // la unidad por el evento) y programa el siguiente. Las filas las borra la purga.
+    void vencer() {
+        synchronized (this) {
+            vencimientoProgramado = Long.MAX_VALUE;
+            tareaVencimiento = null;
+        }
+        quitarVencidas(System.currentTimeMillis());
+        programarVencimiento(proximoVencimiento());
+    }
+
+    // Solo reemplaza la tarea si el vencimiento nuevo es anterior al programado; una
+    // reserva renovada o liberada deja una tarea que al correr no encuentra nada
+    private synchronized void programarVencimiento(long venceMs) {
+        if (venceMs >= vencimientoProgramado) {
+            return;
+        }
+        if (tareaVencimiento != null) {
+            tareaVencimiento.cancel(false);
+        }
+        vencimientoProgramado = venceMs;
+        tareaVencimiento = taskScheduler.schedule(this::vencer, Instant.ofEpochMilli(venceMs));
+    }
+
+    private long proximoVencimiento() {
+        long proximo = Long.MAX_VALUE;
+        for (Map<Long, Reserva> reservas : porAuto.values()) {
+            for (Reserva reserva : reservas.values()) {
+                proximo = Math.min(proximo, reserva.venceMs());
+            }
+        }
+        return proximo;
+    }
+
+    private List<Reserva> quitarVencidas(long ahora) {
+        List<Reserva> vencidas = new ArrayList<>();
+        for (Long autoId : porAuto.keySet()) {
+            porAuto.computeIfPresent(autoId, (id, reservas) -> {
+                Map<Long, Reserva> copia = vigentes(reservas, ahora);
+                if (copia.size() == reservas.size()) {
+                    return reservas;
+                }
+                reservas.values().stream().filter(r -> !r.vigente(ahora)).forEach(vencidas::add);
+                return copia.isEmpty() ? null : Map.copyOf(copia);
+            });
+        }
+        vencidas.forEach(reserva -> eventPublisher.publishEvent(new ReservaStockEvent(reserva, null)));
+        return vencidas;
+    }
+
+    private void asegurarCargado() {
+        if (cargado) {
+            return;
+        }
+        synchronized (this) {
+            if (cargado) {
+                return;
+            }
+            Map<Long, Map<Long, Reserva>> agrupadas = new HashMap<>();
+            List<ReservaStock> filas = reservaStockRepository.findByVenceAfter(Instant.now());
+            for (ReservaStock fila : filas) {
+                agrupadas.computeIfAbsent(fila.getAutoId(), id -> new HashMap<>()).put(fila.getContactoId(),
+                        new Reserva(fila.getContactoId(), fila.getAutoId(), fila.getVence().toEpochMilli()));
+            }
+            agrupadas.forEach((autoId, reservas) -> porAuto.put(autoId, Map.copyOf(reservas)));
+            cargado = true;
+            programarVencimiento(proximoVencimiento());
+            log.info("Reservas de stock recuperadas: {} en {} autos", filas.size(), agrupadas.size());
+        }
+    }
+
+    // Vigentes del mapa, sin contar la del contacto excluido (que se está renovando)
+    private static int contarVigentes(Map<Long, Reserva> reservas, long ahora, Long excluido) {
+        if (reservas == null) {
+            return 0;
+        }
+        int cantidad = 0;
+        for (Reserva reserva : reservas.values()) {
+            if (reserva.vigente(ahora) && !reserva.contactoId().equals(excluido)) {
+                cantidad++;
+            }
+        }
+        return cantidad;
+    }
+
+    private static Map<Long, Reserva> vigentes(Map<Long, Reserva> reservas, long ahora) {
+        Map<Long, Reserva> copia = new HashMap<>();
+        reservas.forEach((contactoId, reserva) -> {
+            if (reserva.vigente(ahora)) {
+                copia.put(contactoId, reserva);
+            }
+        });
+        return copia;
+    }
+}
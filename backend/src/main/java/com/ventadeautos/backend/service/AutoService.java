@@ -1,34 +1,264 @@
 package com.ventadeautos.backend.service;
 
+import com.ventadeautos.backend.catalog.AutoEliminadoEvent;
+import com.ventadeautos.backend.catalog.AutoModificadoEvent;
+import com.ventadeautos.backend.catalog.Autocompletado;
+import com.ventadeautos.backend.catalog.CatalogoAutos;
+import com.ventadeautos.backend.catalog.DimensionCatalogo;
+import com.ventadeautos.backend.catalog.FiltroCatalogo;
+import com.ventadeautos.backend.catalog.MotorBusqueda;
+import com.ventadeautos.backend.dto.AutoComparacion;
 import com.ventadeautos.backend.dto.AutoRequest;
+import com.ventadeautos.backend.dto.AutoResumen;
+import com.ventadeautos.backend.dto.ComparacionAutosResponse;
+import com.ventadeautos.backend.dto.EstadoAutoResponse;
+import com.ventadeautos.backend.dto.FacetaOpcion;
+import com.ventadeautos.backend.dto.FacetasResponse;
+import com.ventadeautos.backend.dto.PaginaAutos;
+import com.ventadeautos.backend.dto.SugerenciaAutocompletado;
+import com.ventadeautos.backend.exception.BadRequestException;
 import com.ventadeautos.backend.exception.ResourceNotFoundException;
 import com.ventadeautos.backend.model.*;
 import com.ventadeautos.backend.repository.AutoRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.Set;
+import java.util.function.Function;
 
 @Slf4j
 @Service
 @RequiredArgsConstructor
 public class AutoService {
 
+    private static final int TAMANO_PAGINA_DEFECTO = 24;
+    private static final int TAMANO_PAGINA_MAXIMO = 100;
+    private static final int LIMITE_BUSQUEDA_DEFECTO = 20;
+    private static final int LIMITE_SUGERENCIAS_DEFECTO = 8;
+    private static final int MAX_AUTOS_COMPARACION = 4;
+
     private final AutoRepository autoRepository;
     private final MarcaService marcaService;
     private final CategoriaAutoService categoriaAutoService;
     private final CondicionAutoService condicionAutoService;
     private final CombustibleService combustibleService;
     private final TransmisionService transmisionService;
+    private final CatalogoAutos catalogoAutos;
+    private final MotorBusqueda motorBusqueda;
+    private final Autocompletado autocompletado;
+    private final ListadoStreamingService listadoStreamingService;
+    private final ApplicationEventPublisher eventPublisher;
 
     // ✅ Mantener métodos simples para listas
     public List<Auto> obtenerTodos() {
         return autoRepository.findAllWithRelations();
     }
 
+    // ✅ NUEVO: Todos los autos escritos fila por fila (para listados admin grandes)
+    public StreamingResponseBody transmitirTodos() {
+        return listadoStreamingService.escribir(autoRepository::streamAllWithRelations, Function.identity());
+    }
+
+    // ✅ NUEVO: Listado paginado por cursor (keyset) sobre id, precio o año.
+    // El costo por página no depende del tamaño del inventario.
+    public PaginaAutos obtenerPagina(String cursor, Integer tamano, String orden, boolean soloDisponibles) {
+        String ordenNormalizado = orden != null ? orden.trim().toLowerCase() : "id";
+        int limite = tamano != null ? Math.max(1, Math.min(tamano, TAMANO_PAGINA_MAXIMO)) : TAMANO_PAGINA_DEFECTO;
+
+        // Se pide un elemento extra para saber si existe una página siguiente
+        Pageable pageable = PageRequest.of(0, limite + 1);
+        String[] partes = decodificarCursor(cursor, ordenNormalizado, ordenNormalizado.equals("id") ? 1 : 2);
+
+        List<AutoResumen> autos;
+        switch (ordenNormalizado) {
+            case "id" -> {
+                Long ultimoId = partes != null ? parsearLong(partes[0]) : 0L;
+                autos = autoRepository.findPaginaPorId(ultimoId, soloDisponibles, pageable);
+            }
+            case "precio" -> {
+                BigDecimal ultimoPrecio = partes != null ? parsearDecimal(partes[0]) : BigDecimal.valueOf(-1);
+                Long ultimoId = partes != null ? parsearLong(partes[1]) : 0L;
+                autos = autoRepository.findPaginaPorPrecio(ultimoPrecio, ultimoId, soloDisponibles, pageable);
+            }
+            case "anio" -> {
+                Integer ultimoAnio = partes != null ? parsearEntero(partes[0]) : Integer.MAX_VALUE;
+                Long ultimoId = partes != null ? parsearLong(partes[1]) : 0L;
+                autos = autoRepository.findPaginaPorAnio(ultimoAnio, ultimoId, soloDisponibles, pageable);
+            }
+            default -> throw new BadRequestException("Orden inválido. Use: id, precio o anio");
+        }
+
+        String siguienteCursor = null;
+        if (autos.size() > limite) {
+            autos = autos.subList(0, limite);
+            AutoResumen ultimo = autos.get(limite - 1);
+            siguienteCursor = switch (ordenNormalizado) {
+                case "precio" -> codificarCursor(ordenNormalizado, ultimo.getPrecio().toPlainString(), ultimo.getId());
+                case "anio" -> codificarCursor(ordenNormalizado, String.valueOf(ultimo.getAnio()), ultimo.getId());
+                default -> codificarCursor(ordenNormalizado, null, ultimo.getId());
+            };
+        }
+
+        asignarImagenPrincipal(autos);
+        return new PaginaAutos(autos, ordenNormalizado, limite, siguienteCursor);
+    }
+
+    private void asignarImagenPrincipal(List<AutoResumen> autos) {
+        if (autos.isEmpty()) {
+            return;
+        }
+        Map<Long, String> portadas = new HashMap<>();
+        List<Long> ids = autos.stream().map(AutoResumen::getId).toList();
+        for (Object[] fila : autoRepository.findImagenesPorAutoIds(ids)) {
+            portadas.putIfAbsent((Long) fila[0], (String) fila[1]);
+        }
+        autos.forEach(a -> a.setImagenPrincipal(portadas.get(a.getId())));
+    }
+
+    // ✅ NUEVO: Varios autos por id en una consulta (más una para todas sus imágenes),
+    // en el orden pedido. Los ids inexistentes se omiten.
+    public List<AutoComparacion> obtenerPorIds(List<Long> ids) {
+        if (ids == null || ids.isEmpty()) {
+            throw new BadRequestException("Debe indicar al menos un id");
+        }
+        Set<Long> unicos = new LinkedHashSet<>(ids);
+        unicos.remove(null);
+        if (unicos.size() > TAMANO_PAGINA_MAXIMO) {
+            throw new BadRequestException("Se pueden consultar como máximo " + TAMANO_PAGINA_MAXIMO + " autos");
+        }
+
+        Map<Long, AutoComparacion> porId = new HashMap<>();
+        for (AutoComparacion auto : autoRepository.findComparacionPorIds(unicos)) {
+            porId.put(auto.getId(), auto);
+        }
+        if (!porId.isEmpty()) {
+            for (Object[] fila : autoRepository.findImagenesPorAutoIds(porId.keySet())) {
+                AutoComparacion auto = porId.get((Long) fila[0]);
+                if (auto != null) {
+                    auto.getImagenes().add((String) fila[1]);
+                }
+            }
+        }
+        return unicos.stream().map(porId::get).filter(Objects::nonNull).toList();
+    }
+
+    // ✅ NUEVO: Comparación lado a lado de 2 a MAX_AUTOS_COMPARACION autos
+    public ComparacionAutosResponse compararAutos(List<Long> ids) {
+        List<AutoComparacion> autos = obtenerPorIds(ids);
+        if (autos.size() < 2) {
+            throw new BadRequestException("Se necesitan al menos 2 autos existentes para comparar");
+        }
+        if (autos.size() > MAX_AUTOS_COMPARACION) {
+            throw new BadRequestException("Se pueden comparar como máximo " + MAX_AUTOS_COMPARACION + " autos");
+        }
+
+        Map<String, Long> mejores = new LinkedHashMap<>();
+        mejor(autos, AutoComparacion::getPrecio, false).ifPresent(a -> mejores.put("menorPrecio", a.getId()));
+        mejor(autos, AutoComparacion::getAnio, true).ifPresent(a -> mejores.put("mayorAnio", a.getId()));
+        mejor(autos, AutoComparacion::getKilometraje, false).ifPresent(a -> mejores.put("menorKilometraje", a.getId()));
+
+        Map<String, Function<AutoComparacion, Object>> atributos = new LinkedHashMap<>();
+        atributos.put("marca", AutoComparacion::getMarca);
+        atributos.put("modelo", AutoComparacion::getModelo);
+        atributos.put("anio", AutoComparacion::getAnio);
+        atributos.put("precio", AutoComparacion::getPrecio);
+        atributos.put("color", AutoComparacion::getColor);
+        atributos.put("kilometraje", AutoComparacion::getKilometraje);
+        atributos.put("categoria", AutoComparacion::getCategoria);
+        atributos.put("condicion", AutoComparacion::getCondicion);
+        atributos.put("combustible", AutoComparacion::getCombustible);
+        atributos.put("transmision", AutoComparacion::getTransmision);
+        List<String> diferencias = atributos.entrySet().stream()
+                .filter(e -> autos.stream().map(e.getValue()).distinct().count() > 1)
+                .map(Map.Entry::getKey)
+                .toList();
+
+        return new ComparacionAutosResponse(autos, mejores, diferencias);
+    }
+
+    private <T extends Comparable<T>> Optional<AutoComparacion> mejor(List<AutoComparacion> autos,
+            Function<AutoComparacion, T> valor, boolean mayor) {
+        Comparator<AutoComparacion> comparador = Comparator.comparing(valor);
+        return autos.stream()
+                .filter(a -> valor.apply(a) != null)
+                .reduce((a, b) -> {
+                    int comparacion = comparador.compare(a, b);
+                    return (mayor ? comparacion >= 0 : comparacion <= 0) ? a : b;
+                });
+    }
+
+    // El cursor lleva el orden con el que se emitió ("precio:valor:id", "anio:valor:id" o
+    // "id:id"): uno de precio no se puede usar para paginar por año y viceversa
+    private String codificarCursor(String orden, String valor, Long id) {
+        String contenido = orden + ":" + (valor != null ? valor + ":" : "") + id;
+        return Base64.getUrlEncoder().withoutPadding()
+                .encodeToString(contenido.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private String[] decodificarCursor(String cursor, String orden, int partesEsperadas) {
+        if (cursor == null || cursor.isBlank()) {
+            return null;
+        }
+        String[] partes;
+        try {
+            String contenido = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            partes = contenido.split(":");
+        } catch (IllegalArgumentException e) {
+            throw new BadRequestException("Cursor inválido");
+        }
+        if (partes.length != partesEsperadas + 1 || !partes[0].equals(orden)) {
+            throw new BadRequestException("El cursor no corresponde al orden solicitado");
+        }
+        return Arrays.copyOfRange(partes, 1, partes.length);
+    }
+
+    private Integer parsearEntero(String valor) {
+        try {
+            return Integer.parseInt(valor);
+        } catch (NumberFormatException e) {
+            throw new BadRequestException("Cursor inválido");
+        }
+    }
+
+    private Long parsearLong(String valor) {
+        try {
+            return Long.parseLong(valor);
+        } catch (NumberFormatException e) {
+            throw new BadRequestException("Cursor inválido");
+        }
+    }
+
+    private BigDecimal parsearDecimal(String valor) {
+        try {
+            return new BigDecimal(valor);
+        } catch (NumberFormatException e) {
+            throw new BadRequestException("Cursor inválido");
+        }
+    }
+
+    // ✅ Autos visibles para clientes: disponibles, con stock y sin ventas pendientes (bitmaps en memoria)
     public List<Auto> obtenerAutosDisponibles() {
-        return autoRepository.findAutosDisponiblesSinVentasPendientes();
+        FiltroCatalogo filtro = new FiltroCatalogo();
+        filtro.setConStock(true);
+        filtro.setSinVentasPendientes(true);
+        return catalogoAutos.filtrar(filtro);
     }
 
     // ✅ Para obtener un auto específico, cargar con marca
@@ -45,65 +275,123 @@ public class AutoService {
         return autoRepository.findAutosConVentasPendientes();
     }
 
-    // ✅ ACTUALIZADO: Ahora reciben IDs en lugar de enums
+    // ✅ Los obtenerAutosPor* se sirven desde el catálogo en memoria (sin consultar MySQL)
     public List<Auto> obtenerAutosPorCategoria(Long categoriaId) {
-        return autoRepository.findByCategoriaIdAndDisponibleTrue(categoriaId);
+        return catalogoAutos.filtrar(null, categoriaId, null, null, null);
     }
 
     // ✅ ACTUALIZADO: Ahora recibe ID en lugar de enum
     public List<Auto> obtenerAutosPorCondicion(Long condicionId) {
-        return autoRepository.findByCondicionIdAndDisponibleTrue(condicionId);
+        return catalogoAutos.filtrar(null, null, condicionId, null, null);
     }
 
     // ✅ ACTUALIZADO: Ahora reciben IDs en lugar de enums
     public List<Auto> obtenerAutosPorCategoriaYCondicion(Long categoriaId, Long condicionId) {
-        return autoRepository.findByCategoriaIdAndCondicionIdAndDisponibleTrue(categoriaId, condicionId);
+        return catalogoAutos.filtrar(null, categoriaId, condicionId, null, null);
     }
 
     public List<Auto> obtenerAutosPorMarca(Long marcaId) {
-        return autoRepository.findByMarcaIdAndDisponibleTrue(marcaId);
+        return catalogoAutos.filtrar(marcaId, null, null, null, null);
     }
 
     // ✅ ACTUALIZADO: Ahora recibe IDs en lugar de enum
     public List<Auto> obtenerAutosPorMarcaYCategoria(Long marcaId, Long categoriaId) {
-        return autoRepository.findByMarcaIdAndCategoriaIdAndDisponibleTrue(marcaId, categoriaId);
+        return catalogoAutos.filtrar(marcaId, categoriaId, null, null, null);
     }
 
     // ✅ NUEVO: Obtener autos por combustible
     public List<Auto> obtenerAutosPorCombustible(Long combustibleId) {
-        return autoRepository.findByCombustibleIdAndDisponibleTrue(combustibleId);
+        return catalogoAutos.filtrar(null, null, null, combustibleId, null);
     }
 
     // ✅ NUEVO: Obtener autos por transmisión
     public List<Auto> obtenerAutosPorTransmision(Long transmisionId) {
-        return autoRepository.findByTransmisionIdAndDisponibleTrue(transmisionId);
+        return catalogoAutos.filtrar(null, null, null, null, transmisionId);
     }
 
     // ✅ NUEVO: Obtener autos por marca y condición
     public List<Auto> obtenerAutosPorMarcaYCondicion(Long marcaId, Long condicionId) {
-        return autoRepository.findByMarcaIdAndCondicionIdAndDisponibleTrue(marcaId, condicionId);
+        return catalogoAutos.filtrar(marcaId, null, condicionId, null, null);
     }
 
     // ✅ NUEVO: Obtener autos por categoría y combustible
     public List<Auto> obtenerAutosPorCategoriaYCombustible(Long categoriaId, Long combustibleId) {
-        return autoRepository.findByCategoriaIdAndCombustibleIdAndDisponibleTrue(categoriaId, combustibleId);
+        return catalogoAutos.filtrar(null, categoriaId, null, combustibleId, null);
     }
 
     // ✅ NUEVO: Búsqueda con múltiples filtros
     public List<Auto> buscarAutosConFiltros(Long marcaId, Long categoriaId, Long condicionId,
             Long combustibleId, Long transmisionId) {
-        return autoRepository.findByFiltros(marcaId, categoriaId, condicionId, combustibleId, transmisionId);
+        return buscarAutosConFiltros(FiltroCatalogo.de(marcaId, categoriaId, condicionId, combustibleId, transmisionId));
     }
 
-    public boolean esAutoVisibleParaClientes(Long autoId) {
-        Optional<Auto> auto = autoRepository.findById(autoId);
-        if (auto.isEmpty() || !auto.get().getDisponible()) {
-            return false;
+    // ✅ Varios valores por dimensión (OR) combinados entre dimensiones (AND) sobre el índice de bitmaps,
+    // más rangos de precio/año/kilometraje y orden con límite (ej: los 10 más baratos)
+    public List<Auto> buscarAutosConFiltros(FiltroCatalogo filtro) {
+        filtro.setConStock(true);
+        return catalogoAutos.filtrar(filtro);
+    }
+
+    // ✅ NUEVO: Cantidad de autos por cada opción de cada filtro, según la selección actual
+    public FacetasResponse obtenerFacetas(FiltroCatalogo filtro) {
+        filtro.setConStock(true);
+        Map<DimensionCatalogo, Map<Long, Integer>> conteos = catalogoAutos.contarFacetas(filtro);
+
+        Map<String, List<FacetaOpcion>> facetas = new LinkedHashMap<>();
+        facetas.put(DimensionCatalogo.MARCA.getClave(), opciones(marcaService.obtenerMarcasActivas(),
+                Marca::getId, Marca::getNombre, conteos.get(DimensionCatalogo.MARCA)));
+        facetas.put(DimensionCatalogo.CATEGORIA.getClave(), opciones(categoriaAutoService.obtenerActivas(),
+                CategoriaAuto::getId, CategoriaAuto::getNombre, conteos.get(DimensionCatalogo.CATEGORIA)));
+        facetas.put(DimensionCatalogo.CONDICION.getClave(), opciones(condicionAutoService.obtenerActivas(),
+                CondicionAuto::getId, CondicionAuto::getNombre, conteos.get(DimensionCatalogo.CONDICION)));
+        facetas.put(DimensionCatalogo.COMBUSTIBLE.getClave(), opciones(combustibleService.obtenerActivos(),
+                Combustible::getId, Combustible::getNombre, conteos.get(DimensionCatalogo.COMBUSTIBLE)));
+        facetas.put(DimensionCatalogo.TRANSMISION.getClave(), opciones(transmisionService.obtenerActivas(),
+                Transmision::getId, Transmision::getNombre, conteos.get(DimensionCatalogo.TRANSMISION)));
+
+        return new FacetasResponse(catalogoAutos.contar(filtro), facetas);
+    }
+
+    private <T> List<FacetaOpcion> opciones(List<T> valores, Function<T, Long> id, Function<T, String> nombre,
+            Map<Long, Integer> conteo) {
+        return valores.stream()
+                .map(v -> new FacetaOpcion(id.apply(v), nombre.apply(v), conteo.getOrDefault(id.apply(v), 0)))
+                .toList();
+    }
+
+    // ✅ NUEVO: Búsqueda de texto libre (marca, modelo, color, descripción) ordenada por relevancia
+    public List<Auto> buscarPorTexto(String consulta, Integer limite) {
+        int cantidad = limite != null ? Math.max(1, Math.min(limite, TAMANO_PAGINA_MAXIMO)) : LIMITE_BUSQUEDA_DEFECTO;
+        // Se piden más ids que el límite porque algunos pueden no estar visibles
+        List<Long> ids = motorBusqueda.buscar(consulta, cantidad * 3);
+        List<Auto> visibles = catalogoAutos.obtenerVisibles(ids);
+        return visibles.size() > cantidad ? visibles.subList(0, cantidad) : visibles;
+    }
+
+    // ✅ NUEVO: Sugerencias por prefijo de marca y modelo, ordenadas por stock disponible
+    public List<SugerenciaAutocompletado> autocompletar(String prefijo, Integer limite) {
+        int cantidad = limite != null
+                ? Math.max(1, Math.min(limite, Autocompletado.MAX_SUGERENCIAS))
+                : LIMITE_SUGERENCIAS_DEFECTO;
+        return autocompletado.sugerir(prefijo, cantidad);
+    }
+
+    // ✅ NUEVO: Estado de varios autos en una sola llamada (para las tarjetas de un listado)
+    public List<EstadoAutoResponse> obtenerEstados(List<Long> ids) {
+        if (ids == null || ids.isEmpty()) {
+            throw new BadRequestException("Debe indicar al menos un id");
         }
+        Set<Long> unicos = new LinkedHashSet<>(ids);
+        unicos.remove(null);
+        if (unicos.size() > TAMANO_PAGINA_MAXIMO) {
+            throw new BadRequestException("Se pueden consultar como máximo " + TAMANO_PAGINA_MAXIMO + " autos");
+        }
+        return catalogoAutos.estados(unicos);
+    }
 
-        List<Auto> autosConVentasPendientes = autoRepository.findAutosConVentasPendientes();
-        return autosConVentasPendientes.stream()
-                .noneMatch(a -> a.getId().equals(autoId));
+    // ✅ O(1) desde el catálogo en memoria, sin consultar la base
+    public boolean esAutoVisibleParaClientes(Long autoId) {
+        return catalogoAutos.esVisible(autoId);
     }
 
     public Auto crearAuto(AutoRequest request) {
@@ -171,7 +459,9 @@ public class AutoService {
         // ✅ Disponibilidad: solo disponible si stock > 0
         auto.setDisponible(auto.getStock() > 0);
 
-        return autoRepository.save(auto);
+        Auto autoGuardado = autoRepository.save(auto);
+        eventPublisher.publishEvent(AutoModificadoEvent.de(autoGuardado));
+        return autoGuardado;
     }
 
     public Optional<Auto> actualizarAuto(Long id, AutoRequest request) {
@@ -268,13 +558,16 @@ public class AutoService {
                 }
             }
 
-            return autoRepository.save(auto);
+            Auto autoGuardado = autoRepository.save(auto);
+            eventPublisher.publishEvent(AutoModificadoEvent.de(autoGuardado));
+            return autoGuardado;
         });
     }
 
     public boolean eliminarAuto(Long id) {
         if (autoRepository.existsById(id)) {
             autoRepository.deleteById(id);
+            eventPublisher.publishEvent(new AutoEliminadoEvent(id));
             return true;
         }
         return false;
@@ -287,6 +580,7 @@ public class AutoService {
 
         auto.setDisponible(disponible);
         Auto autoActualizado = autoRepository.save(auto);
+        eventPublisher.publishEvent(AutoModificadoEvent.de(autoActualizado));
 
         log.info("Cambio manual de disponibilidad - Auto ID: {}, Nueva disponibilidad: {}",
                 autoId, disponible);
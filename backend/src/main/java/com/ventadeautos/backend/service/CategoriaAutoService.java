@@ -1,8 +1,11 @@
 package com.ventadeautos.backend.service;
 
+import com.ventadeautos.backend.cache.ReferenciasCache;
+import com.ventadeautos.backend.catalog.ReferenciaModificadaEvent;
 import com.ventadeautos.backend.model.CategoriaAuto;
 import com.ventadeautos.backend.repository.CategoriaAutoRepository;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import java.util.List;
 import java.util.Optional;
@@ -11,21 +14,23 @@ import java.util.Optional;
 @RequiredArgsConstructor
 public class CategoriaAutoService {
     private final CategoriaAutoRepository categoriaAutoRepository;
+    private final ReferenciasCache referenciasCache;
+    private final ApplicationEventPublisher eventPublisher;
     
     public List<CategoriaAuto> obtenerTodas() {
-        return categoriaAutoRepository.findAll();
+        return referenciasCache.getCategorias().todos();
     }
     
     public List<CategoriaAuto> obtenerActivas() {
-        return categoriaAutoRepository.findByActivaTrue();
+        return referenciasCache.getCategorias().activos();
     }
     
     public Optional<CategoriaAuto> obtenerPorId(Long id) {
-        return categoriaAutoRepository.findById((Long)id);
+        return referenciasCache.getCategorias().porId(id);
     }
     
     public Optional<CategoriaAuto> obtenerPorNombre(String nombre) {
-        return categoriaAutoRepository.findByNombre(nombre);
+        return referenciasCache.getCategorias().porNombre(nombre);
     }
     
     public CategoriaAuto crear(String nombre, String descripcion) {
@@ -38,7 +43,10 @@ public class CategoriaAutoService {
         categoria.setDescripcion(descripcion);
         categoria.setActiva(true);
         
-        return categoriaAutoRepository.save(categoria);
+        CategoriaAuto guardada = categoriaAutoRepository.save(categoria);
+        referenciasCache.getCategorias().guardar(guardada);
+        eventPublisher.publishEvent(ReferenciaModificadaEvent.de(guardada));
+        return guardada;
     }
     
     public CategoriaAuto actualizar(Long id, String nombre, String descripcion, Boolean activa) {
@@ -53,7 +61,10 @@ public class CategoriaAutoService {
         categoria.setDescripcion(descripcion);
         if (activa != null) categoria.setActiva(activa);
         
-        return categoriaAutoRepository.save(categoria);
+        CategoriaAuto guardada = categoriaAutoRepository.save(categoria);
+        referenciasCache.getCategorias().guardar(guardada);
+        eventPublisher.publishEvent(ReferenciaModificadaEvent.de(guardada));
+        return guardada;
     }
     
     public void eliminar(Long id) {
@@ -65,5 +76,6 @@ public class CategoriaAutoService {
         }
         
         categoriaAutoRepository.delete(categoria);
+        referenciasCache.getCategorias().quitar(id);
     }
 }
\ No newline at end of file
@@ -1,8 +1,11 @@
 package com.ventadeautos.backend.service;
 
+import com.ventadeautos.backend.cache.ReferenciasCache;
+import com.ventadeautos.backend.catalog.ReferenciaModificadaEvent;
 import com.ventadeautos.backend.model.Combustible;
 import com.ventadeautos.backend.repository.CombustibleRepository;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import java.util.List;
 import java.util.Optional;
@@ -11,21 +14,23 @@ import java.util.Optional;
 @RequiredArgsConstructor
 public class CombustibleService {
     private final CombustibleRepository combustibleRepository;
+    private final ReferenciasCache referenciasCache;
+    private final ApplicationEventPublisher eventPublisher;
     
     public List<Combustible> obtenerTodos() {
-        return combustibleRepository.findAll();
+        return referenciasCache.getCombustibles().todos();
     }
     
     public List<Combustible> obtenerActivos() {
-        return combustibleRepository.findByActivaTrue();
+        return referenciasCache.getCombustibles().activos();
     }
     
     public Optional<Combustible> obtenerPorId(Long id) {
-        return combustibleRepository.findById((Long)id);
+        return referenciasCache.getCombustibles().porId(id);
     }
     
     public Optional<Combustible> obtenerPorNombre(String nombre) {
-        return combustibleRepository.findByNombre(nombre);
+        return referenciasCache.getCombustibles().porNombre(nombre);
     }
     
     public Combustible crear(String nombre, String descripcion) {
@@ -38,7 +43,10 @@ public class CombustibleService {
         combustible.setDescripcion(descripcion);
         combustible.setActiva(true);
         
-        return combustibleRepository.save(combustible);
+        Combustible guardado = combustibleRepository.save(combustible);
+        referenciasCache.getCombustibles().guardar(guardado);
+        eventPublisher.publishEvent(ReferenciaModificadaEvent.de(guardado));
+        return guardado;
     }
     
     public Combustible actualizar(Long id, String nombre, String descripcion, Boolean activa) {
@@ -53,7 +61,10 @@ public class CombustibleService {
         combustible.setDescripcion(descripcion);
         if (activa != null) combustible.setActiva(activa);
         
-        return combustibleRepository.save(combustible);
+        Combustible guardado = combustibleRepository.save(combustible);
+        referenciasCache.getCombustibles().guardar(guardado);
+        eventPublisher.publishEvent(ReferenciaModificadaEvent.de(guardado));
+        return guardado;
     }
     
     public void eliminar(Long id) {
@@ -65,5 +76,6 @@ public class CombustibleService {
         }
         
         combustibleRepository.delete(combustible);
+        referenciasCache.getCombustibles().quitar(id);
     }
 }
\ No newline at end of file
@@ -1,8 +1,11 @@
 package com.ventadeautos.backend.service;
 
+import com.ventadeautos.backend.cache.ReferenciasCache;
+import com.ventadeautos.backend.catalog.ReferenciaModificadaEvent;
 import com.ventadeautos.backend.model.CondicionAuto;
 import com.ventadeautos.backend.repository.CondicionAutoRepository;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import java.util.List;
 import java.util.Optional;
@@ -11,21 +14,23 @@ import java.util.Optional;
 @RequiredArgsConstructor
 public class CondicionAutoService {
     private final CondicionAutoRepository condicionAutoRepository;
+    private final ReferenciasCache referenciasCache;
+    private final ApplicationEventPublisher eventPublisher;
     
     public List<CondicionAuto> obtenerTodas() {
-        return condicionAutoRepository.findAll();
+        return referenciasCache.getCondiciones().todos();
     }
     
     public List<CondicionAuto> obtenerActivas() {
-        return condicionAutoRepository.findByActivaTrue();
+        return referenciasCache.getCondiciones().activos();
     }
     
     public Optional<CondicionAuto> obtenerPorId(Long id) {
-        return condicionAutoRepository.findById((Long)id);
+        return referenciasCache.getCondiciones().porId(id);
     }
     
     public Optional<CondicionAuto> obtenerPorNombre(String nombre) {
-        return condicionAutoRepository.findByNombre(nombre);
+        return referenciasCache.getCondiciones().porNombre(nombre);
     }
     
     public CondicionAuto crear(String nombre, String descripcion) {
@@ -38,7 +43,10 @@ public class CondicionAutoService {
         condicion.setDescripcion(descripcion);
         condicion.setActiva(true);
         
-        return condicionAutoRepository.save(condicion);
+        CondicionAuto guardada = condicionAutoRepository.save(condicion);
+        referenciasCache.getCondiciones().guardar(guardada);
+        eventPublisher.publishEvent(ReferenciaModificadaEvent.de(guardada));
+        return guardada;
     }
     
     public CondicionAuto actualizar(Long id, String nombre, String descripcion, Boolean activa) {
@@ -53,7 +61,10 @@ public class CondicionAutoService {
         condicion.setDescripcion(descripcion);
         if (activa != null) condicion.setActiva(activa);
         
-        return condicionAutoRepository.save(condicion);
+        CondicionAuto guardada = condicionAutoRepository.save(condicion);
+        referenciasCache.getCondiciones().guardar(guardada);
+        eventPublisher.publishEvent(ReferenciaModificadaEvent.de(guardada));
+        return guardada;
     }
     
     public void eliminar(Long id) {
@@ -65,5 +76,6 @@ public class CondicionAutoService {
         }
         
         condicionAutoRepository.delete(condicion);
+        referenciasCache.getCondiciones().quitar(id);
     }
 }
\ No newline at end of file
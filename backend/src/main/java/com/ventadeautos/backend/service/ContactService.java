@@ -1,23 +1,38 @@
 package com.ventadeautos.backend.service;
 
+import com.ventadeautos.backend.catalog.AutoModificadoEvent;
+import com.ventadeautos.backend.concurrencia.ReintentoOptimista;
+import com.ventadeautos.backend.dashboard.ContactoCambiadoEvent;
 import com.ventadeautos.backend.dto.ContactRequest;
+import com.ventadeautos.backend.exception.BadRequestException;
 import com.ventadeautos.backend.exception.ResourceNotFoundException;
 import com.ventadeautos.backend.model.Contact;
 import com.ventadeautos.backend.model.Auto;
 import com.ventadeautos.backend.repository.ContactRepository;
 import com.ventadeautos.backend.repository.AutoRepository;
+import com.ventadeautos.backend.reserva.ReservasStock;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.http.HttpStatus;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 @Slf4j
 @Service
@@ -25,8 +40,16 @@ import java.util.Map;
 @Transactional
 public class ContactService {
 
+    public static final int MAX_CONTACTOS_LOTE = 500;
+    private static final Set<String> ESTADOS_VALIDOS =
+            Set.of("PENDIENTE", "EN_PROCESO", "VENTA_FINALIZADA", "CANCELADO");
+
     private final ContactRepository contactRepository;
+    private final ListadoStreamingService listadoStreamingService;
     private final AutoRepository autoRepository;
+    private final ApplicationEventPublisher eventPublisher;
+    private final ReintentoOptimista reintentoOptimista;
+    private final ReservasStock reservasStock;
 
     /**
      * Guardar un nuevo contacto desde el formulario público
@@ -68,6 +91,7 @@ public class ContactService {
             Contact contactGuardado = contactRepository.save(contact);
             log.info("Contacto guardado exitosamente - ID: {}, Email: {}", contactGuardado.getId(),
                     contactGuardado.getEmail());
+            eventPublisher.publishEvent(ContactoCambiadoEvent.creado(contactGuardado));
 
             return ResponseEntity.status(HttpStatus.CREATED).body(contactGuardado);
 
@@ -87,6 +111,11 @@ public class ContactService {
         log.debug("Obteniendo todos los contactos");
         return contactRepository.findAllOrderByFechaDesc();
     }
+    
+    // ✅ NUEVO: Todos los contactos escritos fila por fila, sin armar la lista en memoria
+    public StreamingResponseBody transmitirTodosLosContactos() {
+        return listadoStreamingService.escribir(contactRepository::streamAllOrderByFechaDesc, Contact::getAuto);
+    }
 
     /**
      * Obtener contactos no leídos
@@ -122,9 +151,15 @@ public class ContactService {
     public Contact marcarComoLeido(Long id) {
         log.info("Marcando contacto {} como leído y cambiando estado a EN_PROCESO", id);
         Contact contact = obtenerContactoPorId(id);
+        boolean leidoAnterior = Boolean.TRUE.equals(contact.getLeido());
         contact.setLeido(true);
         contact.setEstado("EN_PROCESO"); // Cambiar estado automáticamente
-        return contactRepository.save(contact);
+        Contact actualizado = contactRepository.save(contact);
+        // ✅ NUEVO: Mantener el contador de no leídos del dashboard
+        eventPublisher.publishEvent(ContactoCambiadoEvent.modificado(leidoAnterior, actualizado));
+        // ✅ NUEVO: En negociación: se aparta una unidad del auto hasta que venza la reserva
+        reservarUnidad(actualizado);
+        return actualizado;
     }
 
     /**
@@ -132,41 +167,50 @@ public class ContactService {
      */
     public Contact marcarComoRespondido(Long id) {
         log.info("Marcando contacto {} como respondido", id);
-        Contact contact = obtenerContactoPorId(id);
-        contact.setRespondido(true);
-        return contactRepository.save(contact);
+        obtenerContactoPorId(id);
+        contactRepository.marcarRespondidos(List.of(id), LocalDateTime.now());
+        // El UPDATE vació el contexto: se relee el contacto con la marca y la fecha confirmadas
+        return obtenerContactoPorId(id);
     }
 
     /**
-     * Actualizar estado del contacto y ajustar stock automáticamente
+     * Actualizar estado del contacto y ajustar stock automáticamente.
+     * El estado y el stock se cambian con UPDATE condicionales; si otro admin cambió
+     * el contacto al mismo tiempo, la transición se repite con el estado nuevo.
      */
+    @Transactional(propagation = Propagation.NOT_SUPPORTED) // cada intento abre su transacción
     public Contact actualizarEstado(Long id, String nuevoEstado) {
-        log.info("Actualizando estado del contacto {} a: {}", id, nuevoEstado);
-        Contact contact = obtenerContactoPorId(id);
-        String estadoAnterior = contact.getEstado();
-
         // Validar que el estado sea válido
-        if (!nuevoEstado.equals("PENDIENTE") && !nuevoEstado.equals("EN_PROCESO")
-                && !nuevoEstado.equals("VENTA_FINALIZADA") && !nuevoEstado.equals("CANCELADO")) {
+        if (!ESTADOS_VALIDOS.contains(nuevoEstado)) {
             log.warn("Intento de actualizar contacto con estado inválido: {}", nuevoEstado);
             throw new IllegalArgumentException(
                     "Estado inválido. Use: PENDIENTE, EN_PROCESO, VENTA_FINALIZADA o CANCELADO");
         }
+        return reintentoOptimista.ejecutar("contacto.estado", () -> aplicarEstado(id, nuevoEstado));
+    }
+
+    private Contact aplicarEstado(Long id, String nuevoEstado) {
+        log.info("Actualizando estado del contacto {} a: {}", id, nuevoEstado);
+        Contact contact = obtenerContactoPorId(id);
+        String estadoAnterior = contact.getEstado();
 
-        // Actualizar estado
-        contact.setEstado(nuevoEstado);
+        // Actualizar estado solo si sigue siendo el que se leyó
+        if (contactRepository.cambiarEstadoSi(id, estadoAnterior, nuevoEstado) == 0) {
+            throw new ObjectOptimisticLockingFailureException(Contact.class, id);
+        }
 
         // ✅ LÓGICA DE STOCK: Ajustar stock del auto asociado
+        boolean stockCambiado = false;
         if (contact.getAuto() != null) {
-            Auto auto = contact.getAuto();
+            Long autoId = contact.getAuto().getId();
 
-            // Si cambia a VENTA_FINALIZADA: disminuir stock
+            // Si cambia a VENTA_FINALIZADA: disminuir stock (stock = stock - 1 WHERE stock > 0)
             if (nuevoEstado.equals("VENTA_FINALIZADA") && !estadoAnterior.equals("VENTA_FINALIZADA")) {
-                if (auto.getStock() > 0) {
-                    auto.setStock(auto.getStock() - 1);
-                    log.info("Stock disminuido para auto ID: {}. Nuevo stock: {}", auto.getId(), auto.getStock());
+                stockCambiado = autoRepository.descontarStock(autoId) > 0;
+                if (stockCambiado) {
+                    log.info("Stock disminuido para auto ID: {}", autoId);
                 } else {
-                    log.warn("No hay stock disponible para disminuir en auto ID: {}", auto.getId());
+                    log.warn("No hay stock disponible para disminuir en auto ID: {}", autoId);
                 }
             }
 
@@ -174,20 +218,41 @@ public class ContactService {
             // EN_PROCESO, PENDIENTE): recuperar stock
             // Esto asegura que si se cancela una venta finalizada, el stock regrese
             if (estadoAnterior.equals("VENTA_FINALIZADA") && !nuevoEstado.equals("VENTA_FINALIZADA")) {
-                auto.setStock(auto.getStock() + 1);
-                log.info(
-                        "Stock recuperado para auto ID: {} por cambio de estado de VENTA_FINALIZADA a {}. Nuevo stock: {}",
-                        auto.getId(), nuevoEstado, auto.getStock());
+                stockCambiado = autoRepository.reponerStock(autoId) > 0;
+                log.info("Stock recuperado para auto ID: {} por cambio de estado de VENTA_FINALIZADA a {}",
+                        autoId, nuevoEstado);
             }
 
             // Si se cambia desde otros estados a CANCELADO (que no sea VENTA_FINALIZADA),
             // no hace nada
+        }
 
-            // Guardar cambios en auto
-            autoRepository.save(auto);
+        // Los UPDATE vaciaron el contexto: se relee el contacto con el auto confirmado
+        Contact actualizado = obtenerContactoPorId(id);
+        if (stockCambiado) {
+            eventPublisher.publishEvent(AutoModificadoEvent.de(actualizado.getAuto()));
         }
 
-        return contactRepository.save(contact);
+        // ✅ NUEVO: La reserva de stock dura mientras el contacto esté EN_PROCESO
+        if (nuevoEstado.equals("EN_PROCESO")) {
+            reservarUnidad(actualizado);
+        } else if (actualizado.getAuto() != null) {
+            reservasStock.liberar(id, actualizado.getAuto().getId());
+        }
+        return actualizado;
+    }
+
+    private void reservarUnidad(Contact contact) {
+        if (contact.getAuto() != null) {
+            reservarUnidad(contact.getId(), contact.getAuto());
+        }
+    }
+
+    private void reservarUnidad(Long contactoId, Auto auto) {
+        int stock = auto.getStock() != null ? auto.getStock() : 0;
+        if (!reservasStock.reservar(contactoId, auto.getId(), stock)) {
+            log.warn("Sin unidades libres para reservar el auto ID: {} (contacto {})", auto.getId(), contactoId);
+        }
     }
 
     /**
@@ -256,6 +321,10 @@ public class ContactService {
 
         Contact contact = obtenerContactoPorId(id);
         contactRepository.deleteById(id);
+        if (contact.getAuto() != null) {
+            reservasStock.liberar(id, contact.getAuto().getId());
+        }
+        eventPublisher.publishEvent(ContactoCambiadoEvent.eliminado(contact));
 
         Map<String, Object> response = new HashMap<>();
         response.put("mensaje", "Contacto eliminado correctamente");
@@ -265,6 +334,163 @@ public class ContactService {
         return response;
     }
 
+    // =============================================
+    // OPERACIONES POR LOTE
+    // =============================================
+
+    /**
+     * Marca varios contactos como leídos y los pasa a EN_PROCESO, como marcarComoLeido.
+     * La marca va en un solo UPDATE y el cambio de estado sigue las mismas reglas de
+     * stock y reservas que {@link #actualizarEstados}.
+     */
+    @Transactional(propagation = Propagation.NOT_SUPPORTED) // cada intento abre su transacción
+    public Map<String, Object> marcarComoLeidos(List<Long> ids) {
+        Set<Long> unicos = validarLote(ids);
+        return reintentoOptimista.ejecutar("contacto.lote.leido", () -> {
+            List<Object[]> filas = contactRepository.findEstadosPorIds(unicos);
+            List<Object[]> noLeidos = filas.stream().filter(fila -> !Boolean.TRUE.equals(fila[2])).toList();
+            // Si otro admin marcó alguno entre la lectura y el UPDATE, los contadores no cerrarían
+            int marcados = contactRepository.marcarLeidos(unicos);
+            if (marcados != noLeidos.size()) {
+                throw new ObjectOptimisticLockingFailureException(Contact.class, unicos.iterator().next());
+            }
+            noLeidos.forEach(fila -> eventPublisher.publishEvent(
+                    new ContactoCambiadoEvent(false, true, (LocalDateTime) fila[4])));
+            aplicarEstados(filas, "EN_PROCESO");
+            return resultadoLote("Contactos marcados como leídos", unicos.size(), filas.size(), marcados);
+        });
+    }
+
+    public Map<String, Object> marcarComoRespondidos(List<Long> ids) {
+        Set<Long> unicos = validarLote(ids);
+        int marcados = contactRepository.marcarRespondidos(unicos, LocalDateTime.now());
+        log.info("Contactos marcados como respondidos: {} de {}", marcados, unicos.size());
+        return resultadoLote("Contactos marcados como respondidos", unicos.size(), marcados, marcados);
+    }
+
+    /**
+     * Cambia el estado de varios contactos con un UPDATE condicional por cada estado
+     * anterior y ajusta el stock con una sola sentencia por auto. Si otro admin cambió
+     * alguno de los contactos al mismo tiempo, se repite el lote completo.
+     */
+    @Transactional(propagation = Propagation.NOT_SUPPORTED) // cada intento abre su transacción
+    public Map<String, Object> actualizarEstados(List<Long> ids, String nuevoEstado) {
+        Set<Long> unicos = validarLote(ids);
+        if (nuevoEstado == null || !ESTADOS_VALIDOS.contains(nuevoEstado)) {
+            throw new BadRequestException("Estado inválido. Use: PENDIENTE, EN_PROCESO, VENTA_FINALIZADA o CANCELADO");
+        }
+        return reintentoOptimista.ejecutar("contacto.lote.estado", () -> {
+            List<Object[]> filas = contactRepository.findEstadosPorIds(unicos);
+            int cambiados = aplicarEstados(filas, nuevoEstado);
+            return resultadoLote("Estado actualizado a " + nuevoEstado, unicos.size(), filas.size(), cambiados);
+        });
+    }
+
+    public Map<String, Object> eliminarContactos(List<Long> ids) {
+        Set<Long> unicos = validarLote(ids);
+        List<Object[]> filas = contactRepository.findEstadosPorIds(unicos);
+        int eliminados = filas.isEmpty() ? 0 : contactRepository.eliminarPorIds(unicos);
+
+        for (Object[] fila : filas) {
+            Long autoId = (Long) fila[3];
+            if (autoId != null) {
+                reservasStock.liberar((Long) fila[0], autoId);
+            }
+            eventPublisher.publishEvent(
+                    new ContactoCambiadoEvent(Boolean.TRUE.equals(fila[2]), null, (LocalDateTime) fila[4]));
+        }
+        log.info("Contactos eliminados por lote: {} de {}", eliminados, unicos.size());
+        return resultadoLote("Contactos eliminados correctamente", unicos.size(), filas.size(), eliminados);
+    }
+
+    // filas: [contactoId, estado, leido, autoId, fechaCreacion]; devuelve cuántos cambiaron de estado
+    private int aplicarEstados(List<Object[]> filas, String nuevoEstado) {
+        Map<String, List<Long>> porEstadoAnterior = new HashMap<>();
+        Map<Long, Integer> deltasStock = new HashMap<>();
+        for (Object[] fila : filas) {
+            String estadoAnterior = (String) fila[1];
+            Long autoId = (Long) fila[3];
+            if (estadoAnterior.equals(nuevoEstado)) {
+                continue;
+            }
+            porEstadoAnterior.computeIfAbsent(estadoAnterior, estado -> new ArrayList<>()).add((Long) fila[0]);
+            // Misma regla que aplicarEstado: entrar a VENTA_FINALIZADA descuenta, salir repone
+            if (autoId != null && nuevoEstado.equals("VENTA_FINALIZADA")) {
+                deltasStock.merge(autoId, -1, Integer::sum);
+            } else if (autoId != null && estadoAnterior.equals("VENTA_FINALIZADA")) {
+                deltasStock.merge(autoId, 1, Integer::sum);
+            }
+        }
+
+        int cambiados = 0;
+        for (Map.Entry<String, List<Long>> grupo : porEstadoAnterior.entrySet()) {
+            List<Long> grupoIds = grupo.getValue();
+            if (contactRepository.cambiarEstadoSi(grupoIds, grupo.getKey(), nuevoEstado) != grupoIds.size()) {
+                throw new ObjectOptimisticLockingFailureException(Contact.class, grupoIds.get(0));
+            }
+            cambiados += grupoIds.size();
+        }
+
+        // ✅ LÓGICA DE STOCK: una sola sentencia por auto con la suma de sus transiciones
+        deltasStock.values().removeIf(delta -> delta == 0);
+        deltasStock.forEach(autoRepository::ajustarStock);
+
+        Set<Long> autoIds = filas.stream()
+                .map(fila -> (Long) fila[3])
+                .filter(Objects::nonNull)
+                .collect(Collectors.toSet());
+        boolean reservar = nuevoEstado.equals("EN_PROCESO");
+        Map<Long, Auto> autos = !autoIds.isEmpty() && (reservar || !deltasStock.isEmpty())
+                ? autoRepository.findAllWithRelationsByIdIn(autoIds).stream()
+                        .collect(Collectors.toMap(Auto::getId, Function.identity()))
+                : Map.of();
+        deltasStock.keySet().stream()
+                .map(autos::get)
+                .filter(Objects::nonNull)
+                .forEach(auto -> eventPublisher.publishEvent(AutoModificadoEvent.de(auto)));
+
+        // ✅ NUEVO: La reserva de stock dura mientras el contacto esté EN_PROCESO
+        for (Object[] fila : filas) {
+            Long contactoId = (Long) fila[0];
+            Long autoId = (Long) fila[3];
+            if (autoId == null) {
+                continue;
+            }
+            if (reservar && autos.containsKey(autoId)) {
+                reservarUnidad(contactoId, autos.get(autoId));
+            } else if (!reservar) {
+                reservasStock.liberar(contactoId, autoId);
+            }
+        }
+        log.info("Estado {} aplicado a {} contactos, stock ajustado en {} autos",
+                nuevoEstado, cambiados, deltasStock.size());
+        return cambiados;
+    }
+
+    private Set<Long> validarLote(List<Long> ids) {
+        if (ids == null || ids.isEmpty()) {
+            throw new BadRequestException("Debe enviar al menos un contacto");
+        }
+        if (ids.size() > MAX_CONTACTOS_LOTE) {
+            throw new BadRequestException("Máximo " + MAX_CONTACTOS_LOTE + " contactos por lote");
+        }
+        Set<Long> unicos = new LinkedHashSet<>(ids);
+        unicos.remove(null);
+        if (unicos.isEmpty()) {
+            throw new BadRequestException("Debe enviar al menos un contacto");
+        }
+        return unicos;
+    }
+
+    private Map<String, Object> resultadoLote(String mensaje, int solicitados, int encontrados, int modificados) {
+        Map<String, Object> response = new HashMap<>();
+        response.put("mensaje", mensaje);
+        response.put("solicitados", solicitados);
+        response.put("encontrados", encontrados);
+        response.put("modificados", modificados);
+        return response;
+    }
+
     /**
      * Obtener estadísticas de contactos
      */
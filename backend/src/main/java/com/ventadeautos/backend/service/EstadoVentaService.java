@@ -1,5 +1,6 @@
 package com.ventadeautos.backend.service;
 
+import com.ventadeautos.backend.cache.ReferenciasCache;
 import com.ventadeautos.backend.model.EstadoVenta;
 import com.ventadeautos.backend.repository.EstadoVentaRepository;
 import lombok.RequiredArgsConstructor;
@@ -11,21 +12,22 @@ import java.util.Optional;
 @RequiredArgsConstructor
 public class EstadoVentaService {
     private final EstadoVentaRepository estadoVentaRepository;
+    private final ReferenciasCache referenciasCache;
     
     public List<EstadoVenta> obtenerTodos() {
-        return estadoVentaRepository.findAll();
+        return referenciasCache.getEstadosVenta().todos();
     }
     
     public List<EstadoVenta> obtenerActivos() {
-        return estadoVentaRepository.findByActivaTrue();
+        return referenciasCache.getEstadosVenta().activos();
     }
     
     public Optional<EstadoVenta> obtenerPorId(Long id) {
-        return estadoVentaRepository.findById((Long)id);
+        return referenciasCache.getEstadosVenta().porId(id);
     }
     
     public Optional<EstadoVenta> obtenerPorNombre(String nombre) {
-        return estadoVentaRepository.findByNombre(nombre);
+        return referenciasCache.getEstadosVenta().porNombre(nombre);
     }
     
     public EstadoVenta crear(String nombre, String descripcion) {
@@ -38,7 +40,9 @@ public class EstadoVentaService {
         estado.setDescripcion(descripcion);
         estado.setActiva(true);
         
-        return estadoVentaRepository.save(estado);
+        EstadoVenta guardado = estadoVentaRepository.save(estado);
+        referenciasCache.getEstadosVenta().guardar(guardado);
+        return guardado;
     }
     
     public EstadoVenta actualizar(Long id, String nombre, String descripcion, Boolean activa) {
@@ -53,7 +57,9 @@ public class EstadoVentaService {
         estado.setDescripcion(descripcion);
         if (activa != null) estado.setActiva(activa);
         
-        return estadoVentaRepository.save(estado);
+        EstadoVenta guardado = estadoVentaRepository.save(estado);
+        referenciasCache.getEstadosVenta().guardar(guardado);
+        return guardado;
     }
     
     public void eliminar(Long id) {
@@ -65,5 +71,6 @@ public class EstadoVentaService {
         }
         
         estadoVentaRepository.delete(estado);
+        referenciasCache.getEstadosVenta().quitar(id);
     }
 }
\ No newline at end of file
@@ -0,0 +1,130 @@
+package com.ventadeautos.backend.service;
+
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.ventadeautos.backend.model.Auto;
+import com.ventadeautos.backend.repository.AutoRepository;
+import jakarta.persistence.EntityManager;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+
+/**
+ * Escribe listados grandes como un arreglo JSON a medida que llegan las filas.
+ *
+ * La consulta se recorre con un cursor de solo avance (las consultas Stream de los
+ * repositorios llevan fetch size, y el datasource usa useCursorFetch) y las filas se
+ * juntan de a {@link #LOTE}. Por cada lote se traen las imágenes de sus autos en una
+ * sola consulta, se vacía el EntityManager, se asignan las imágenes a las filas ya
+ * desconectadas y recién entonces se escriben en un {@link JsonGenerator}. Así la
+ * memoria no depende de la cantidad de filas y no hay un SELECT de imágenes por fila:
+ * con un cursor, el @BatchSize de Auto.imagenes no tiene filas siguientes que agrupar.
+ *
+ * El cuerpo se escribe fuera del hilo del request, donde no hay sesión abierta: la
+ * consulta corre en su propia transacción de solo lectura.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class ListadoStreamingService {
+
+    // Debe coincidir con el fetch size de las consultas Stream
+    public static final int LOTE = 100;
+
+    private final PlatformTransactionManager transactionManager;
+    private final EntityManager entityManager;
+    private final ObjectMapper objectMapper;
+    private final AutoRepository autoRepository;
+
+    /**
+     * @param autoDe auto de cada fila (o null), cuyas imágenes se cargan por lote
+     */
+    public <T> StreamingResponseBody escribir(Supplier<Stream<T>> consulta, Function<T, Auto> autoDe) {
+        return escribir(consulta, autoDe, Function.identity());
+    }
+
+    public <T, R> StreamingResponseBody escribir(Supplier<Stream<T>> consulta, Function<T, Auto> autoDe,
+                                                 Function<T, R> convertir) {
+        return salida -> {
+            TransactionTemplate transaccion = new TransactionTemplate(transactionManager);
+            transaccion.setReadOnly(true);
+            transaccion.executeWithoutResult(estado -> {
+                int filas = 0;
+                try (JsonGenerator generador = objectMapper.getFactory().createGenerator(salida, JsonEncoding.UTF8);
+                     Stream<T> resultados = consulta.get()) {
+                    // El contenedor cierra la salida; el generador solo la vacía
+                    generador.configure(JsonGenerator.Feature.AUTO_CLOSE_TARGET, false);
+                    generador.writeStartArray();
+                    List<T> lote = new ArrayList<>(LOTE);
+                    Iterator<T> iterador = resultados.iterator();
+                    while (iterador.hasNext()) {
+                        // El lote se escribe antes de volver a avanzar el cursor, así el
+                        // clear nunca alcanza a una fila que todavía no se juntó
+                        lote.add(iterador.next());
+                        if (lote.size() == LOTE) {
+                            filas += escribirLote(generador, lote, autoDe, convertir);
+                        }
+                    }
+                    filas += escribirLote(generador, lote, autoDe, convertir);
+                    generador.writeEndArray();
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+                log.debug("Listado en streaming completado: {} filas", filas);
+            });
+        };
+    }
+
+    private <T, R> int escribirLote(JsonGenerator generador, List<T> lote, Function<T, Auto> autoDe,
+                                    Function<T, R> convertir) throws IOException {
+        int cantidad = lote.size();
+        if (cantidad == 0) {
+            return 0;
+        }
+        Set<Long> autoIds = new HashSet<>();
+        for (T fila : lote) {
+            Auto auto = autoDe.apply(fila);
+            if (auto != null) {
+                autoIds.add(auto.getId());
+            }
+        }
+        Map<Long, List<String>> imagenesPorAuto = new HashMap<>();
+        if (!autoIds.isEmpty()) {
+            for (Object[] fila : autoRepository.findImagenesPorAutoIds(autoIds)) {
+                imagenesPorAuto.computeIfAbsent((Long) fila[0], id -> new ArrayList<>()).add((String) fila[1]);
+            }
+        }
+
+        // Desconectadas, las filas ya no cargan nada: las imágenes se asignan a mano
+        entityManager.clear();
+        for (T fila : lote) {
+            Auto auto = autoDe.apply(fila);
+            if (auto != null) {
+                auto.setImagenes(new ArrayList<>(imagenesPorAuto.getOrDefault(auto.getId(), List.of())));
+            }
+        }
+        for (T fila : lote) {
+            generador.writeObject(convertir.apply(fila));
+        }
+        generador.flush();
+        lote.clear();
+        return cantidad;
+    }
+}
@@ -1,8 +1,12 @@
 package com.ventadeautos.backend.service;
 
+import com.ventadeautos.backend.cache.ReferenciasCache;
+import com.ventadeautos.backend.catalog.MarcaEliminadaEvent;
+import com.ventadeautos.backend.catalog.MarcaModificadaEvent;
 import com.ventadeautos.backend.model.Marca;
 import com.ventadeautos.backend.repository.MarcaRepository;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import java.util.List;
 import java.util.Optional;
@@ -12,21 +16,23 @@ import java.util.Optional;
 public class MarcaService {
     
     private final MarcaRepository marcaRepository;
+    private final ReferenciasCache referenciasCache;
+    private final ApplicationEventPublisher eventPublisher;
     
     public List<Marca> obtenerTodasLasMarcas() {
-        return marcaRepository.findAll();
+        return referenciasCache.getMarcas().todos();
     }
     
     public List<Marca> obtenerMarcasActivas() {
-        return marcaRepository.findByActivaTrue();
+        return referenciasCache.getMarcas().activos();
     }
     
     public Optional<Marca> obtenerMarcaPorId(Long id) {
-        return marcaRepository.findById((Long)id);
+        return referenciasCache.getMarcas().porId(id);
     }
     
     public Optional<Marca> obtenerMarcaPorNombre(String nombre) {
-        return marcaRepository.findByNombreIgnoreCase(nombre);
+        return referenciasCache.getMarcas().porNombre(nombre);
     }
     
     public Marca crearMarca(String nombre, String descripcion) {
@@ -40,7 +46,10 @@ public class MarcaService {
         marca.setDescripcion(descripcion);
         marca.setActiva(true);
         
-        return marcaRepository.save(marca);
+        Marca guardada = marcaRepository.save(marca);
+        referenciasCache.getMarcas().guardar(guardada);
+        eventPublisher.publishEvent(MarcaModificadaEvent.de(guardada));
+        return guardada;
     }
     
     public Marca actualizarMarca(Long id, String nombre, String descripcion, Boolean activa) {
@@ -58,7 +67,10 @@ public class MarcaService {
             marca.setActiva(activa);
         }
         
-        return marcaRepository.save(marca);
+        Marca guardada = marcaRepository.save(marca);
+        referenciasCache.getMarcas().guardar(guardada);
+        eventPublisher.publishEvent(MarcaModificadaEvent.de(guardada));
+        return guardada;
     }
     
     public void eliminarMarca(Long id) {
@@ -71,6 +83,8 @@ public class MarcaService {
         }
         
         marcaRepository.delete(marca);
+        referenciasCache.getMarcas().quitar(id);
+        eventPublisher.publishEvent(new MarcaEliminadaEvent(id));
     }
     
     public Marca desactivarMarca(Long id) {
@@ -78,6 +92,9 @@ public class MarcaService {
             .orElseThrow(() -> new RuntimeException("Marca no encontrada"));
         
         marca.setActiva(false);
-        return marcaRepository.save(marca);
+        Marca guardada = marcaRepository.save(marca);
+        referenciasCache.getMarcas().guardar(guardada);
+        eventPublisher.publishEvent(MarcaModificadaEvent.de(guardada));
+        return guardada;
     }
 }
\ No newline at end of file
@@ -1,5 +1,6 @@
 package com.ventadeautos.backend.service;
 
+import com.ventadeautos.backend.cache.ReferenciasCache;
 import com.ventadeautos.backend.model.Rol;
 import com.ventadeautos.backend.repository.RolRepository;
 import lombok.RequiredArgsConstructor;
@@ -11,21 +12,22 @@ import java.util.Optional;
 @RequiredArgsConstructor
 public class RolService {
     private final RolRepository rolRepository;
+    private final ReferenciasCache referenciasCache;
     
     public List<Rol> obtenerTodos() {
-        return rolRepository.findAll();
+        return referenciasCache.getRoles().todos();
     }
     
     public List<Rol> obtenerActivos() {
-        return rolRepository.findByActivaTrue();
+        return referenciasCache.getRoles().activos();
     }
     
     public Optional<Rol> obtenerPorId(Long id) {
-        return rolRepository.findById(id);
+        return referenciasCache.getRoles().porId(id);
     }
     
     public Optional<Rol> obtenerPorNombre(String nombre) {
-        return rolRepository.findByNombre(nombre);
+        return referenciasCache.getRoles().porNombre(nombre);
     }
     
     public Rol crear(String nombre, String descripcion) {
@@ -38,7 +40,9 @@ public class RolService {
         rol.setDescripcion(descripcion);
         rol.setActiva(true);
         
-        return rolRepository.save(rol);
+        Rol guardado = rolRepository.save(rol);
+        referenciasCache.getRoles().guardar(guardado);
+        return guardado;
     }
     
     public Rol actualizar(Long id, String nombre, String descripcion, Boolean activa) {
@@ -53,7 +57,9 @@ public class RolService {
         rol.setDescripcion(descripcion);
         if (activa != null) rol.setActiva(activa);
         
-        return rolRepository.save(rol);
+        Rol guardado = rolRepository.save(rol);
+        referenciasCache.getRoles().guardar(guardado);
+        return guardado;
     }
     
     public void eliminar(Long id) {
@@ -65,5 +71,6 @@ public class RolService {
         }
         
         rolRepository.delete(rol);
+        referenciasCache.getRoles().quitar(id);
     }
 }
\ No newline at end of file
@@ -1,8 +1,11 @@
 package com.ventadeautos.backend.service;
 
+import com.ventadeautos.backend.cache.ReferenciasCache;
+import com.ventadeautos.backend.catalog.ReferenciaModificadaEvent;
 import com.ventadeautos.backend.model.Transmision;
 import com.ventadeautos.backend.repository.TransmisionRepository;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import java.util.List;
 import java.util.Optional;
@@ -11,21 +14,23 @@ import java.util.Optional;
 @RequiredArgsConstructor
 public class TransmisionService {
     private final TransmisionRepository transmisionRepository;
+    private final ReferenciasCache referenciasCache;
+    private final ApplicationEventPublisher eventPublisher;
     
     public List<Transmision> obtenerTodas() {
-        return transmisionRepository.findAll();
+        return referenciasCache.getTransmisiones().todos();
     }
     
     public List<Transmision> obtenerActivas() {
-        return transmisionRepository.findByActivaTrue();
+        return referenciasCache.getTransmisiones().activos();
     }
     
     public Optional<Transmision> obtenerPorId(Long id) {
-        return transmisionRepository.findById(id);
+        return referenciasCache.getTransmisiones().porId(id);
     }
     
     public Optional<Transmision> obtenerPorNombre(String nombre) {
-        return transmisionRepository.findByNombre(nombre);
+        return referenciasCache.getTransmisiones().porNombre(nombre);
     }
     
     public Transmision crear(String nombre, String descripcion) {
@@ -38,7 +43,10 @@ public class TransmisionService {
         transmision.setDescripcion(descripcion);
         transmision.setActiva(true);
         
-        return transmisionRepository.save(transmision);
+        Transmision guardada = transmisionRepository.save(transmision);
+        referenciasCache.getTransmisiones().guardar(guardada);
+        eventPublisher.publishEvent(ReferenciaModificadaEvent.de(guardada));
+        return guardada;
     }
     
     public Transmision actualizar(Long id, String nombre, String descripcion, Boolean activa) {
@@ -53,7 +61,10 @@ public class TransmisionService {
         transmision.setDescripcion(descripcion);
         if (activa != null) transmision.setActiva(activa);
         
-        return transmisionRepository.save(transmision);
+        Transmision guardada = transmisionRepository.save(transmision);
+        referenciasCache.getTransmisiones().guardar(guardada);
+        eventPublisher.publishEvent(ReferenciaModificadaEvent.de(guardada));
+        return guardada;
     }
     
     public void eliminar(Long id) {
@@ -65,5 +76,6 @@ public class TransmisionService {
         }
         
         transmisionRepository.delete(transmision);
+        referenciasCache.getTransmisiones().quitar(id);
     }
 }
\ No newline at end of file
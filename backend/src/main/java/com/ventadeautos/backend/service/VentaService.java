@@ -1,6 +1,11 @@
 package com.ventadeautos.backend.service;
 
+import com.ventadeautos.backend.catalog.AutoModificadoEvent;
+import com.ventadeautos.backend.catalog.EstadoVentaCambiadoEvent;
+import com.ventadeautos.backend.concurrencia.ReintentoOptimista;
 import com.ventadeautos.backend.dto.ContactRequest;
+import com.ventadeautos.backend.dto.TransicionVentaRequest;
+import com.ventadeautos.backend.dto.TransicionVentaResultado;
 import com.ventadeautos.backend.dto.VentaResponse;
 import com.ventadeautos.backend.exception.BadRequestException;
 import com.ventadeautos.backend.exception.ConflictException;
@@ -10,11 +15,25 @@ import com.ventadeautos.backend.repository.AutoRepository;
 import com.ventadeautos.backend.repository.VentaRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
 import java.util.List;
+import java.util.Set;
 import java.util.stream.Collectors;
 
 @Slf4j
@@ -23,9 +42,25 @@ import java.util.stream.Collectors;
 @Transactional
 public class VentaService {
     
+    public static final int MAX_TRANSICIONES_LOTE = 500;
+    
+    // Mismo criterio que AutoRepository.aplicarTransicionVenta: disponible va primero
+    // y se calcula con los contadores anteriores más los deltas
+    private static final String SQL_TRANSICION_VENTA =
+            "UPDATE ventas SET estado_id = ?, fecha_actualizacion = ? WHERE id = ? AND estado_id = ?";
+    private static final String SQL_CONTADORES_AUTO = "UPDATE autos SET " +
+            "disponible = CASE WHEN stock = 0 OR ventas_pendientes + ? > 0 OR ventas_finalizadas + ? > 0 " +
+            "THEN false ELSE true END, " +
+            "ventas_pendientes = ventas_pendientes + ?, ventas_finalizadas = ventas_finalizadas + ?, " +
+            "version = version + 1 WHERE id = ?";
+    
     private final VentaRepository ventaRepository;
     private final AutoRepository autoRepository;
     private final EstadoVentaService estadoVentaService;
+    private final ListadoStreamingService listadoStreamingService;
+    private final ApplicationEventPublisher eventPublisher;
+    private final ReintentoOptimista reintentoOptimista;
+    private final JdbcTemplate jdbcTemplate;
     
     // ✅ NOTA: crearSolicitudContacto está DEPRECADO
     // Los contactos públicos ahora se manejan mediante ContactService
@@ -40,13 +75,55 @@ public class VentaService {
         return ventaRepository.findAllWithAutoAndMarca();
     }
     
+    // ✅ NUEVO: Todas las ventas convertidas y escritas fila por fila (sin lista intermedia)
+    public StreamingResponseBody transmitirTodasLasVentas() {
+        return listadoStreamingService.escribir(ventaRepository::streamAllWithAutoAndMarca,
+                Venta::getAuto, this::convertirAVentaResponse);
+    }
+    
     public List<Venta> obtenerVentasPorEstado(EstadoVenta estado) {
         return ventaRepository.findByEstado(estado);
     }
     
+    // ✅ NUEVO: Listados de VentaResponse proyectados directamente desde JPQL
+    // (una consulta para las filas y otra para todas las imágenes)
+    public List<VentaResponse> obtenerTodasLasVentasResponse() {
+        return asignarImagenes(ventaRepository.findAllResponses());
+    }
+    
+    public List<VentaResponse> obtenerVentasResponsePorEstado(String estadoNombre) {
+        return asignarImagenes(ventaRepository.findResponsesByEstadoNombre(estadoNombre));
+    }
+    
+    private List<VentaResponse> asignarImagenes(List<VentaResponse> ventas) {
+        Set<Long> autoIds = ventas.stream()
+            .map(VentaResponse::getAutoId)
+            .filter(Objects::nonNull)
+            .collect(Collectors.toSet());
+        if (autoIds.isEmpty()) {
+            return ventas;
+        }
+        
+        Map<Long, List<String>> imagenesPorAuto = new HashMap<>();
+        for (Object[] fila : autoRepository.findImagenesPorAutoIds(autoIds)) {
+            imagenesPorAuto.computeIfAbsent((Long) fila[0], id -> new ArrayList<>()).add((String) fila[1]);
+        }
+        // Igual que convertirAVentaResponse: sin imágenes el campo queda en null
+        ventas.forEach(v -> {
+            List<String> imagenes = imagenesPorAuto.get(v.getAutoId());
+            v.setAutoImagenes(imagenes != null ? new ArrayList<>(imagenes) : null);
+        });
+        return ventas;
+    }
+    
     // ✅ MEJORAR: Cambiar firma para recibir String (nombre del estado)
-    @Transactional
+    // ✅ NUEVO: Si otra operación cambió la venta al mismo tiempo, la transición se repite
+    @Transactional(propagation = Propagation.NOT_SUPPORTED) // cada intento abre su transacción
     public Venta actualizarEstadoVenta(Long ventaId, String nuevoEstadoNombre) {
+        return reintentoOptimista.ejecutar("venta.estado", () -> aplicarEstadoVenta(ventaId, nuevoEstadoNombre));
+    }
+    
+    private Venta aplicarEstadoVenta(Long ventaId, String nuevoEstadoNombre) {
         log.info("Actualizando venta ID: {} a estado: {}", ventaId, nuevoEstadoNombre);
         
         Venta venta = ventaRepository.findById((Long)ventaId)
@@ -63,74 +140,144 @@ public class VentaService {
             });
         
         EstadoVenta estadoAnterior = venta.getEstado();
-        venta.setEstado(nuevoEstado);
+        Long autoId = venta.getAuto().getId();
+        Boolean disponibleAnterior = venta.getAuto().getDisponible();
         
-        Venta ventaActualizada = ventaRepository.save(venta);
+        // ✅ Cambiar el estado solo si sigue siendo el que se leyó
+        if (ventaRepository.cambiarEstadoSi(ventaId, estadoAnterior, nuevoEstado, LocalDateTime.now()) == 0) {
+            throw new ObjectOptimisticLockingFailureException(Venta.class, ventaId);
+        }
         log.info("Venta actualizada - ID: {}, Estado anterior: {} → Estado nuevo: {}", 
                 ventaId, estadoAnterior.getNombre(), nuevoEstadoNombre);
         
-        // ✅ ACTUALIZAR DISPONIBILIDAD DEL AUTO
-        actualizarDisponibilidadAuto(venta.getAuto().getId());
+        // ✅ ACTUALIZAR CONTADORES Y DISPONIBILIDAD DEL AUTO (una sola sentencia, sin recorrer sus ventas)
+        EstadoVentaCambiadoEvent transicion =
+                new EstadoVentaCambiadoEvent(autoId, estadoAnterior.getNombre(), nuevoEstado.getNombre());
+        autoRepository.aplicarTransicionVenta(autoId, transicion.deltaPendientes(), transicion.deltaFinalizadas());
         
-        return ventaActualizada;
+        // Los UPDATE vaciaron el contexto: se releen auto y venta confirmados
+        Auto auto = autoRepository.findById(autoId)
+            .orElseThrow(() -> new ResourceNotFoundException("Auto", autoId));
+        if (!Objects.equals(auto.getDisponible(), disponibleAnterior)) {
+            eventPublisher.publishEvent(AutoModificadoEvent.de(auto));
+            log.info("Auto ID: {} - Disponibilidad actualizada: {}", autoId, auto.getDisponible());
+        }
+        
+        // ✅ Informar al catálogo en memoria la transición (lleva la cuenta de pendientes por auto)
+        eventPublisher.publishEvent(transicion);
+        
+        return ventaRepository.findById(ventaId)
+            .orElseThrow(() -> new ResourceNotFoundException("Venta", ventaId));
     }
+    
+    /**
+     * Cierre por lote: aplica N cambios de estado en una sola transacción.
+     *
+     * Las ventas se leen con una consulta, los cambios de estado van en un UPDATE por
+     * lotes JDBC (condicional al estado leído, como el cambio individual) y cada auto
+     * afectado se recalcula una sola vez con la suma de sus transiciones. Los ítems
+     * inválidos o en conflicto no frenan al resto: se informan en su resultado.
+     */
+    public List<TransicionVentaResultado> actualizarEstadosVentas(List<TransicionVentaRequest> transiciones) {
+        if (transiciones == null || transiciones.isEmpty()) {
+            throw new BadRequestException("Debe enviar al menos una transición");
+        }
+        if (transiciones.size() > MAX_TRANSICIONES_LOTE) {
+            throw new BadRequestException("Máximo " + MAX_TRANSICIONES_LOTE + " transiciones por lote");
+        }
         
-    // ✅ MÉTODO CORREGIDO
-    private void actualizarDisponibilidadAuto(Long autoId) {
-        Auto auto = autoRepository.findById((Long)autoId)
-            .orElseThrow(() -> new ResourceNotFoundException("Auto", autoId));
+        // Estado actual de todas las ventas del lote en una sola consulta
+        Set<Long> ventaIds = transiciones.stream()
+            .map(TransicionVentaRequest::getVentaId)
+            .filter(Objects::nonNull)
+            .collect(Collectors.toSet());
+        Map<Long, Object[]> actuales = new HashMap<>();
+        if (!ventaIds.isEmpty()) {
+            for (Object[] fila : ventaRepository.findEstadosPorIds(ventaIds)) {
+                actuales.put((Long) fila[0], fila);
+            }
+        }
+        
+        TransicionVentaResultado[] resultados = new TransicionVentaResultado[transiciones.size()];
+        Map<String, Optional<EstadoVenta>> estados = new HashMap<>();
+        Map<Long, Boolean> disponibleAnterior = new HashMap<>();
+        List<Object[]> actualizaciones = new ArrayList<>();
+        List<Integer> indices = new ArrayList<>();
+        List<EstadoVentaCambiadoEvent> transicionesValidas = new ArrayList<>();
+        Timestamp ahora = Timestamp.valueOf(LocalDateTime.now());
         
-        // ✅ SI STOCK = 0 → AUTOMÁTICAMENTE NO DISPONIBLE
-        if (auto.getStock() != null && auto.getStock() == 0) {
-            if (auto.getDisponible()) {
-                auto.setDisponible(false);
-                autoRepository.save(auto);
-                log.info("Auto ID: {} - Marcado como NO DISPONIBLE (Stock = 0)", autoId);
+        for (int i = 0; i < transiciones.size(); i++) {
+            TransicionVentaRequest transicion = transiciones.get(i);
+            Long ventaId = transicion.getVentaId();
+            Object[] actual = ventaId != null ? actuales.get(ventaId) : null;
+            if (actual == null) {
+                resultados[i] = TransicionVentaResultado.fallida(ventaId, "Venta no encontrada");
+                continue;
             }
-            return;
+            Optional<EstadoVenta> nuevoEstado = transicion.getEstado() != null
+                ? estados.computeIfAbsent(transicion.getEstado(), estadoVentaService::obtenerPorNombre)
+                : Optional.empty();
+            if (nuevoEstado.isEmpty()) {
+                resultados[i] = TransicionVentaResultado.fallida(ventaId, "Estado no encontrado: " + transicion.getEstado());
+                continue;
+            }
+            if (!Boolean.TRUE.equals(nuevoEstado.get().getActiva())) {
+                resultados[i] = TransicionVentaResultado.fallida(ventaId,
+                    "El estado '" + transicion.getEstado() + "' no está activo");
+                continue;
+            }
+            
+            Long autoId = (Long) actual[1];
+            EstadoVenta estado = nuevoEstado.get();
+            actualizaciones.add(new Object[]{estado.getId(), ahora, ventaId, actual[2]});
+            indices.add(i);
+            transicionesValidas.add(new EstadoVentaCambiadoEvent(autoId, (String) actual[3], estado.getNombre()));
+            disponibleAnterior.putIfAbsent(autoId, (Boolean) actual[4]);
+            // Si la venta se repite en el lote, el siguiente ítem parte de este estado
+            actuales.put(ventaId, new Object[]{ventaId, autoId, estado.getId(), estado.getNombre(), actual[4]});
         }
         
-        // Obtener estados
-        EstadoVenta estadoPendiente = estadoVentaService.obtenerPorNombre("PENDIENTE")
-            .orElseThrow(() -> new ResourceNotFoundException("Estado", "PENDIENTE"));
-        
-        EstadoVenta estadoFinalizado = estadoVentaService.obtenerPorNombre("FINALIZADO")
-            .orElseThrow(() -> new ResourceNotFoundException("Estado", "FINALIZADO"));
-        
-        // Obtener TODAS las ventas del auto
-        List<Venta> ventasDelAuto = ventaRepository.findByAutoId(autoId);
-        
-        boolean tieneVentaPendiente = ventasDelAuto.stream()
-            .anyMatch(v -> v.getEstado().getId().equals(estadoPendiente.getId()));
-        
-        boolean tieneVentaFinalizado = ventasDelAuto.stream()
-            .anyMatch(v -> v.getEstado().getId().equals(estadoFinalizado.getId()));
-        
-        // ✅ Determinar nueva disponibilidad
-        boolean nuevaDisponibilidad;
-        
-        if (tieneVentaPendiente) {
-            // Si hay PENDIENTE → NO disponible
-            nuevaDisponibilidad = false;
-            log.debug("Auto ID: {} → NO DISPONIBLE (venta PENDIENTE)", autoId);
-        } 
-        else if (tieneVentaFinalizado) {
-            // Si hay FINALIZADO → NO disponible (vendido)
-            nuevaDisponibilidad = false;
-            log.debug("Auto ID: {} → NO DISPONIBLE (VENDIDO)", autoId);
-        } 
-        else {
-            // Si NO hay PENDIENTE ni FINALIZADO (todas canceladas o sin ventas) → SÍ disponible
-            nuevaDisponibilidad = true;
-            log.debug("Auto ID: {} → DISPONIBLE (ventas canceladas o sin ventas)", autoId);
+        int[] filas = actualizaciones.isEmpty()
+            ? new int[0]
+            : jdbcTemplate.batchUpdate(SQL_TRANSICION_VENTA, actualizaciones);
+        
+        // Deltas por auto de las transiciones que sí se aplicaron: [pendientes, finalizadas]
+        Map<Long, int[]> deltasPorAuto = new LinkedHashMap<>();
+        List<EstadoVentaCambiadoEvent> aplicadas = new ArrayList<>();
+        for (int k = 0; k < filas.length; k++) {
+            int i = indices.get(k);
+            EstadoVentaCambiadoEvent transicion = transicionesValidas.get(k);
+            Long ventaId = transiciones.get(i).getVentaId();
+            if (filas[k] == 0) {
+                resultados[i] = TransicionVentaResultado.fallida(ventaId, "La venta fue modificada por otra operación");
+                continue;
+            }
+            int[] deltas = deltasPorAuto.computeIfAbsent(transicion.getAutoId(), id -> new int[2]);
+            deltas[0] += transicion.deltaPendientes();
+            deltas[1] += transicion.deltaFinalizadas();
+            aplicadas.add(transicion);
+            resultados[i] = TransicionVentaResultado.aplicada(ventaId,
+                transicion.getEstadoAnterior(), transicion.getEstadoNuevo());
         }
         
-        // Solo actualizar si cambió
-        if (auto.getDisponible() != nuevaDisponibilidad) {
-            auto.setDisponible(nuevaDisponibilidad);
-            autoRepository.save(auto);
-            log.info("Auto ID: {} - Disponibilidad actualizada: {}", autoId, nuevaDisponibilidad);
+        // ✅ Una sola actualización de contadores y disponibilidad por auto afectado
+        if (!deltasPorAuto.isEmpty()) {
+            List<Object[]> contadores = new ArrayList<>(deltasPorAuto.size());
+            deltasPorAuto.forEach((autoId, deltas) ->
+                contadores.add(new Object[]{deltas[0], deltas[1], deltas[0], deltas[1], autoId}));
+            jdbcTemplate.batchUpdate(SQL_CONTADORES_AUTO, contadores);
+            
+            for (Auto auto : autoRepository.findAllWithRelationsByIdIn(deltasPorAuto.keySet())) {
+                if (!Objects.equals(auto.getDisponible(), disponibleAnterior.get(auto.getId()))) {
+                    eventPublisher.publishEvent(AutoModificadoEvent.de(auto));
+                }
+            }
         }
+        aplicadas.forEach(eventPublisher::publishEvent);
+        
+        log.info("Lote de {} transiciones de venta: {} aplicadas, {} autos recalculados",
+            transiciones.size(), aplicadas.size(), deltasPorAuto.size());
+        return Arrays.asList(resultados);
     }
     
     public VentaResponse convertirAVentaResponse(Venta venta) {
@@ -0,0 +1,157 @@
+package com.ventadeautos.backend;
+
+import com.ventadeautos.backend.cache.ReferenciasCache;
+import com.ventadeautos.backend.cache.RegistroReferencia;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.MethodSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpStatus;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Presupuesto de sentencias SQL por endpoint GET.
+ *
+ * Levanta la aplicación sobre H2 (modo MySQL) con data.sql más data-consultas.sql y
+ * mide con las estadísticas de Hibernate cuántas sentencias, cargas de entidades y de
+ * colecciones provoca cada petición. Si un endpoint supera su presupuesto es que volvió
+ * un N+1 (una consulta por fila o por relación EAGER).
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("consultas")
+class PresupuestoConsultasTests {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics estadisticas;
+
+    record Presupuesto(String url, long sentencias) {
+        @Override
+        public String toString() {
+            return url;
+        }
+    }
+
+    // Los endpoints del catálogo en memoria no deberían tocar la base; el resto, una
+    // consulta para las filas y otra (por lotes de 100) para las imágenes de los autos.
+    // Los casos stream=true miden el cuerpo escrito en streaming, no solo el request.
+    static Stream<Presupuesto> endpoints() {
+        return Stream.of(
+                // AutoController
+                new Presupuesto("/api/autos", 2),
+                new Presupuesto("/api/autos?admin=true", 2),
+                new Presupuesto("/api/autos?admin=true&stream=true", 2),
+                new Presupuesto("/api/autos?disponibles=true", 0),
+                new Presupuesto("/api/autos?tamano=5", 2),
+                new Presupuesto("/api/autos?tamano=5&orden=precio", 2),
+                new Presupuesto("/api/autos/1", 2),
+                new Presupuesto("/api/autos/disponibles", 0),
+                new Presupuesto("/api/autos/lote?ids=1,2,3", 2),
+                new Presupuesto("/api/autos/comparar?ids=1,2", 2),
+                new Presupuesto("/api/autos/estado?ids=1,2,3", 0),
+                new Presupuesto("/api/autos/1/disponibilidad", 1),
+                new Presupuesto("/api/autos/1/visible", 0),
+                new Presupuesto("/api/autos/categoria/1", 0),
+                new Presupuesto("/api/autos/condicion/1", 0),
+                new Presupuesto("/api/autos/marca/1", 0),
+                new Presupuesto("/api/autos/combustible/1", 0),
+                new Presupuesto("/api/autos/transmision/2", 0),
+                new Presupuesto("/api/autos/categoria/1/condicion/1", 0),
+                new Presupuesto("/api/autos/marca/1/categoria/1", 0),
+                new Presupuesto("/api/autos/marca/1/condicion/1", 0),
+                new Presupuesto("/api/autos/categoria/1/combustible/1", 0),
+                new Presupuesto("/api/autos/filtros?marcaId=1,2&orden=precio_asc", 0),
+                new Presupuesto("/api/autos/buscar?q=toyota", 0),
+                new Presupuesto("/api/autos/autocompletar?q=to", 0),
+                new Presupuesto("/api/autos/facetas", 0),
+                new Presupuesto("/api/autos/categorias", 0),
+                new Presupuesto("/api/autos/condiciones", 0),
+                new Presupuesto("/api/autos/combustibles", 0),
+                new Presupuesto("/api/autos/transmisiones", 0),
+                new Presupuesto("/api/autos/marcas", 0),
+                new Presupuesto("/api/autos/opciones", 0),
+                new Presupuesto("/api/autos/admin/no-disponibles", 2),
+                // MarcaController
+                new Presupuesto("/api/marcas", 0),
+                new Presupuesto("/api/marcas/todas", 0),
+                new Presupuesto("/api/marcas/1", 0),
+                // VentaController
+                new Presupuesto("/api/ventas/mis-solicitudes", 2),
+                new Presupuesto("/api/ventas/admin/todas", 2),
+                new Presupuesto("/api/ventas/admin/todas?stream=true", 2),
+                new Presupuesto("/api/ventas/admin/estado/PENDIENTE", 2),
+                // ContactController
+                new Presupuesto("/api/contact/admin/todos", 2),
+                new Presupuesto("/api/contact/admin/todos?stream=true", 2),
+                new Presupuesto("/api/contact/admin/no-leidos", 2),
+                new Presupuesto("/api/contact/admin/no-respondidos", 2),
+                new Presupuesto("/api/contact/admin/1", 2),
+                new Presupuesto("/api/contact/admin/auto/1", 2),
+                new Presupuesto("/api/contact/admin/estadisticas", 4),
+                // DashboardController
+                new Presupuesto("/api/admin/dashboard/stats", 0),
+                new Presupuesto("/api/admin/dashboard/autos?tamano=5", 2),
+                // UsuarioController
+                new Presupuesto("/api/usuarios", 2),
+                new Presupuesto("/api/usuarios/admins", 2)
+        );
+    }
+
+    // Los registros de tablas de referencia se cargan la primera vez que se usan: se cargan
+    // antes de medir para que el resultado no dependa de qué caso corre primero
+    @BeforeAll
+    static void cargarReferencias(@Autowired ReferenciasCache referencias) {
+        Stream.of(referencias.getMarcas(), referencias.getCategorias(), referencias.getCondiciones(),
+                        referencias.getCombustibles(), referencias.getTransmisiones(),
+                        referencias.getEstadosVenta(), referencias.getRoles())
+                .forEach(RegistroReferencia::todos);
+    }
+
+    @BeforeEach
+    void prepararEstadisticas() {
+        estadisticas = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        estadisticas.setStatisticsEnabled(true);
+    }
+
+    @ParameterizedTest(name = "{0}")
+    @MethodSource("endpoints")
+    void respetaPresupuestoDeSentencias(Presupuesto presupuesto) throws Exception {
+        estadisticas.clear();
+
+        MvcResult resultado = mockMvc.perform(get(presupuesto.url())).andReturn();
+        if (resultado.getRequest().isAsyncStarted()) {
+            // Un StreamingResponseBody recién se escribe en el despacho asíncrono
+            mockMvc.perform(asyncDispatch(resultado)).andExpect(status().is2xxSuccessful());
+        } else {
+            assertTrue(HttpStatus.valueOf(resultado.getResponse().getStatus()).is2xxSuccessful(),
+                    () -> presupuesto.url() + " respondió " + resultado.getResponse().getStatus());
+        }
+
+        long sentencias = estadisticas.getPrepareStatementCount();
+        assertTrue(sentencias <= presupuesto.sentencias(), () -> String.format(
+                "%s ejecutó %d sentencias (presupuesto %d): %d entidades cargadas, %d colecciones, consultas %s",
+                presupuesto.url(), sentencias, presupuesto.sentencias(),
+                estadisticas.getEntityLoadCount(), estadisticas.getCollectionFetchCount(),
+                String.join(" | ", estadisticas.getQueries())));
+    }
+}
@@ -0,0 +1,108 @@
+package com.ventadeautos.backend.cache;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.ventadeautos.backend.model.Auto;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.clearInvocations;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+class FragmentosAutosTests {
+
+    private ObjectMapper objectMapper;
+    private FragmentosAutos fragmentos;
+    private Auto auto1;
+    private Auto auto2;
+    private Auto auto3;
+
+    @BeforeEach
+    void preparar() {
+        objectMapper = spy(new ObjectMapper());
+        fragmentos = new FragmentosAutos(objectMapper);
+        auto1 = auto(1L, "Corolla");
+        auto2 = auto(2L, "Hilux01");
+        auto3 = auto(3L, "Yaris01");
+    }
+
+    @Test
+    void ensamblaLoMismoQueJacksonConLaListaCompleta() throws Exception {
+        List<Auto> autos = List.of(auto2, auto1, auto3);
+
+        assertArrayEquals(new ObjectMapper().writeValueAsBytes(autos), fragmentos.ensamblar(autos));
+        assertEquals("[]", new String(fragmentos.ensamblar(List.of()), StandardCharsets.UTF_8));
+    }
+
+    @Test
+    void mismaCopiaNoSeSerializaDeNuevo() throws Exception {
+        fragmentos.ensamblar(List.of(auto1, auto2));
+        fragmentos.ensamblar(List.of(auto2, auto1));
+
+        verify(objectMapper, times(2)).writeValueAsBytes(any());
+    }
+
+    @Test
+    void copiaNuevaDelMismoAutoReemplazaSuFragmento() throws Exception {
+        fragmentos.ensamblar(List.of(auto1));
+
+        Auto editado = auto(1L, "Corolla Cross");
+        byte[] json = fragmentos.ensamblar(List.of(editado));
+
+        assertArrayEquals(new ObjectMapper().writeValueAsBytes(List.of(editado)), json);
+        verify(objectMapper, times(2)).writeValueAsBytes(any());
+    }
+
+    @Test
+    void alSuperarElLimiteDescartaElMenosUsadoRecientemente() throws Exception {
+        // Caben justo dos fragmentos (los tres miden lo mismo)
+        ReflectionTestUtils.setField(fragmentos, "maxBytes", 2L * tamano(auto1));
+        fragmentos.ensamblar(List.of(auto1));
+        fragmentos.ensamblar(List.of(auto2));
+        fragmentos.ensamblar(List.of(auto1));
+        fragmentos.ensamblar(List.of(auto3));
+        clearInvocations(objectMapper);
+
+        fragmentos.ensamblar(List.of(auto1, auto3));
+        verify(objectMapper, never()).writeValueAsBytes(any());
+
+        fragmentos.ensamblar(List.of(auto2));
+        verify(objectMapper).writeValueAsBytes(auto2);
+    }
+
+    @Test
+    void fragmentoMayorQueElLimiteSeDevuelvePeroNoSeGuarda() throws Exception {
+        ReflectionTestUtils.setField(fragmentos, "maxBytes", 10L);
+
+        byte[] json = fragmentos.ensamblar(List.of(auto1));
+        fragmentos.ensamblar(List.of(auto1));
+
+        assertArrayEquals(new ObjectMapper().writeValueAsBytes(List.of(auto1)), json);
+        verify(objectMapper, times(2)).writeValueAsBytes(auto1);
+    }
+
+    private static int tamano(Auto auto) throws Exception {
+        return new ObjectMapper().writeValueAsBytes(auto).length;
+    }
+
+    private static Auto auto(Long id, String modelo) {
+        Auto auto = new Auto();
+        auto.setId(id);
+        auto.setModelo(modelo);
+        auto.setAnio(2020);
+        auto.setPrecio(new BigDecimal("20000"));
+        auto.setStock(1);
+        auto.setDisponible(true);
+        return auto;
+    }
+}
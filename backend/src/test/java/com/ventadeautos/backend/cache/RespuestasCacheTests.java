@@ -0,0 +1,191 @@
+package com.ventadeautos.backend.cache;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.mock.web.MockHttpServletRequest;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.InflaterInputStream;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class RespuestasCacheTests {
+
+    private static final byte[] JSON = "{\"marcas\":[\"Toyota\",\"Volkswagen\"]}".getBytes(StandardCharsets.UTF_8);
+
+    private VersionCatalogo versionCatalogo;
+    private RespuestasCache cache;
+    private AtomicInteger serializaciones;
+
+    @BeforeEach
+    void preparar() {
+        versionCatalogo = new VersionCatalogo();
+        cache = new RespuestasCache(versionCatalogo, new ObjectMapper());
+        serializaciones = new AtomicInteger();
+    }
+
+    @Test
+    void sinAcceptEncodingDevuelveElJsonPlano() {
+        ResponseEntity<byte[]> respuesta = responder(pedido());
+
+        assertEquals(HttpStatus.OK, respuesta.getStatusCode());
+        assertArrayEquals(JSON, respuesta.getBody());
+        HttpHeaders headers = respuesta.getHeaders();
+        assertEquals(MediaType.APPLICATION_JSON, headers.getContentType());
+        assertEquals(JSON.length, headers.getContentLength());
+        assertNull(headers.getFirst(HttpHeaders.CONTENT_ENCODING));
+        assertEquals(List.of(HttpHeaders.ACCEPT_ENCODING), headers.getVary());
+        assertTrue(headers.getETag().startsWith("W/\""));
+    }
+
+    @Test
+    void serializaLosDatosConJackson() {
+        ResponseEntity<byte[]> respuesta = cache.responder("datos", pedido(), () -> Map.of("total", 3));
+
+        assertEquals("{\"total\":3}", new String(respuesta.getBody(), StandardCharsets.UTF_8));
+    }
+
+    @Test
+    void comprimeConGzipSiElClienteLoAcepta() throws IOException {
+        MockHttpServletRequest request = pedido();
+        request.addHeader(HttpHeaders.ACCEPT_ENCODING, "deflate, GZIP, br");
+
+        ResponseEntity<byte[]> respuesta = responder(request);
+
+        assertEquals("gzip", respuesta.getHeaders().getFirst(HttpHeaders.CONTENT_ENCODING));
+        assertEquals(respuesta.getBody().length, respuesta.getHeaders().getContentLength());
+        assertArrayEquals(JSON, leer(new GZIPInputStream(new ByteArrayInputStream(respuesta.getBody()))));
+    }
+
+    @Test
+    void usaDeflateSiGzipEstaRechazado() throws IOException {
+        MockHttpServletRequest request = pedido();
+        request.addHeader(HttpHeaders.ACCEPT_ENCODING, "gzip;q=0, deflate;q=0.5");
+
+        ResponseEntity<byte[]> respuesta = responder(request);
+
+        assertEquals("deflate", respuesta.getHeaders().getFirst(HttpHeaders.CONTENT_ENCODING));
+        assertArrayEquals(JSON, leer(new InflaterInputStream(new ByteArrayInputStream(respuesta.getBody()))));
+    }
+
+    @Test
+    void codificacionesConQCeroNoSeUsan() {
+        MockHttpServletRequest request = pedido();
+        request.addHeader(HttpHeaders.ACCEPT_ENCODING, "gzip; q=0.000, deflate;q=0, identity");
+
+        ResponseEntity<byte[]> respuesta = responder(request);
+
+        assertNull(respuesta.getHeaders().getFirst(HttpHeaders.CONTENT_ENCODING));
+        assertArrayEquals(JSON, respuesta.getBody());
+    }
+
+    @Test
+    void ifNoneMatchVigenteResponde304SinCuerpo() {
+        String etag = responder(pedido()).getHeaders().getETag();
+
+        MockHttpServletRequest request = pedido();
+        request.addHeader(HttpHeaders.IF_NONE_MATCH, etag);
+        ResponseEntity<byte[]> respuesta = responder(request);
+
+        assertEquals(HttpStatus.NOT_MODIFIED, respuesta.getStatusCode());
+        assertNull(respuesta.getBody());
+        assertEquals(etag, respuesta.getHeaders().getETag());
+        assertEquals(List.of(HttpHeaders.ACCEPT_ENCODING), respuesta.getHeaders().getVary());
+    }
+
+    @Test
+    void ifNoneMatchAceptaListasFormaFuerteYComodin() {
+        String etag = responder(pedido()).getHeaders().getETag();
+        String fuerte = etag.substring(2);
+
+        for (String valor : List.of("\"otro\", " + etag, fuerte, "*")) {
+            MockHttpServletRequest request = pedido();
+            request.addHeader(HttpHeaders.IF_NONE_MATCH, valor);
+            assertEquals(HttpStatus.NOT_MODIFIED, responder(request).getStatusCode(), valor);
+        }
+    }
+
+    @Test
+    void ifNoneMatchDistintoDevuelveElCuerpo() {
+        MockHttpServletRequest request = pedido();
+        request.addHeader(HttpHeaders.IF_NONE_MATCH, "W/\"0-0\"");
+
+        ResponseEntity<byte[]> respuesta = responder(request);
+
+        assertEquals(HttpStatus.OK, respuesta.getStatusCode());
+        assertArrayEquals(JSON, respuesta.getBody());
+    }
+
+    @Test
+    void mismaVersionReusaLosBytesSinSerializarDeNuevo() {
+        String etag = responder(pedido()).getHeaders().getETag();
+        MockHttpServletRequest request = pedido();
+        request.addHeader(HttpHeaders.ACCEPT_ENCODING, "gzip");
+        responder(request);
+
+        assertEquals(1, serializaciones.get());
+        assertEquals(etag, responder(pedido()).getHeaders().getETag());
+        assertEquals(1, serializaciones.get());
+    }
+
+    @Test
+    void nuevaVersionInvalidaLaEntradaYElEtag() {
+        String etag = responder(pedido()).getHeaders().getETag();
+
+        versionCatalogo.incrementar();
+        MockHttpServletRequest request = pedido();
+        request.addHeader(HttpHeaders.IF_NONE_MATCH, etag);
+        ResponseEntity<byte[]> respuesta = responder(request);
+
+        assertEquals(HttpStatus.OK, respuesta.getStatusCode());
+        assertEquals(2, serializaciones.get());
+        assertNotEquals(etag, respuesta.getHeaders().getETag());
+    }
+
+    @Test
+    void cadaClaveTieneSuPropiaEntrada() {
+        byte[] otro = "[]".getBytes(StandardCharsets.UTF_8);
+
+        ResponseEntity<byte[]> primera = responder(pedido());
+        ResponseEntity<byte[]> segunda = cache.responderJson("otra", pedido(), () -> otro);
+
+        assertArrayEquals(JSON, primera.getBody());
+        assertArrayEquals(otro, segunda.getBody());
+        assertNotNull(segunda.getHeaders().getETag());
+        assertNotEquals(primera.getHeaders().getETag(), segunda.getHeaders().getETag());
+    }
+
+    private ResponseEntity<byte[]> responder(MockHttpServletRequest request) {
+        return cache.responderJson("marcas", request, () -> {
+            serializaciones.incrementAndGet();
+            return JSON;
+        });
+    }
+
+    private static MockHttpServletRequest pedido() {
+        return new MockHttpServletRequest("GET", "/api/marcas");
+    }
+
+    private static byte[] leer(InputStream entrada) throws IOException {
+        try (entrada) {
+            return entrada.readAllBytes();
+        }
+    }
+}
@@ -0,0 +1,185 @@
+package com.ventadeautos.backend.catalog;
+
+import com.ventadeautos.backend.cache.ReferenciasCache;
+import com.ventadeautos.backend.cache.RegistroReferencia;
+import com.ventadeautos.backend.dto.SugerenciaAutocompletado;
+import com.ventadeautos.backend.model.Auto;
+import com.ventadeautos.backend.model.Marca;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class AutocompletadoTests {
+
+    private final Marca toyota = marca(1L, "Toyota", true);
+    private final Marca volkswagen = marca(2L, "Volkswagen", true);
+    private final Marca chevrolet = marca(3L, "Chevrolet", false);
+
+    private CatalogoAutos catalogoAutos;
+    private Autocompletado autocompletado;
+
+    @BeforeEach
+    void preparar() {
+        catalogoAutos = mock(CatalogoAutos.class);
+        ReferenciasCache referenciasCache = mock(ReferenciasCache.class);
+        when(referenciasCache.getMarcas()).thenReturn(new RegistroReferencia<>("marcas",
+                () -> List.of(toyota, volkswagen, chevrolet), Marca::getId, Marca::getNombre,
+                m -> Boolean.TRUE.equals(m.getActiva()), () -> { }));
+        when(catalogoAutos.todos()).thenReturn(List.of(
+                auto(1L, toyota, "Corolla", 2, true),
+                auto(2L, toyota, "Corolla", 1, true),
+                auto(3L, toyota, "Hilux", 4, true),
+                auto(4L, volkswagen, "Golf", 0, true),
+                auto(5L, volkswagen, "Gol", 1, false),
+                auto(6L, chevrolet, "Onix", 1, true)));
+        autocompletado = new Autocompletado(catalogoAutos, referenciasCache);
+        autocompletado.inicializar();
+    }
+
+    @Test
+    void prefijoVacioOLimiteCeroNoSugiereNada() {
+        assertTrue(autocompletado.sugerir(null, 5).isEmpty());
+        assertTrue(autocompletado.sugerir("  ", 5).isEmpty());
+        assertTrue(autocompletado.sugerir("to", 0).isEmpty());
+    }
+
+    @Test
+    void prefijoSinCoincidenciasNoSugiereNada() {
+        assertTrue(autocompletado.sugerir("xyz", 5).isEmpty());
+        assertTrue(autocompletado.sugerir("toyotas", 5).isEmpty());
+    }
+
+    @Test
+    void ordenaPorStockDisponible() {
+        assertEquals(List.of("Toyota:7", "Toyota Hilux:4", "Toyota Corolla:3"),
+                textos(autocompletado.sugerir("to", 10)));
+    }
+
+    @Test
+    void respetaElLimite() {
+        assertEquals(List.of("Toyota:7"), textos(autocompletado.sugerir("to", 1)));
+    }
+
+    @Test
+    void sugiereModelosPorSuNombreSoloOConLaMarca() {
+        assertEquals(List.of("Toyota Corolla:3"), textos(autocompletado.sugerir("cor", 10)));
+        assertEquals(List.of("Toyota Corolla:3"), textos(autocompletado.sugerir("toyota co", 10)));
+
+        SugerenciaAutocompletado sugerencia = autocompletado.sugerir("cor", 10).get(0);
+        assertEquals(TipoSugerencia.MODELO, sugerencia.getTipo());
+        assertEquals(1L, sugerencia.getMarcaId());
+    }
+
+    @Test
+    void ignoraMayusculasYTildes() {
+        assertEquals("Toyota", autocompletado.sugerir("TOYÓ", 10).get(0).getTexto());
+    }
+
+    @Test
+    void empatesPonenMarcasAntesQueModelosYLuegoOrdenAlfabetico() {
+        // Golf no tiene stock y Gol no está disponible: los tres pesan 0
+        assertEquals(List.of("Volkswagen:0", "Volkswagen Gol:0", "Volkswagen Golf:0"),
+                textos(autocompletado.sugerir("v", 10)));
+        assertEquals(List.of("Volkswagen Gol:0", "Volkswagen Golf:0"),
+                textos(autocompletado.sugerir("go", 10)));
+    }
+
+    @Test
+    void marcaInactivaNoSeSugiereAunqueSusModelosSi() {
+        assertEquals(List.of("Chevrolet Onix:1"), textos(autocompletado.sugerir("chev", 10)));
+    }
+
+    @Test
+    void cambioDeStockReordenaLasSugerencias() {
+        autocompletado.onAutoModificado(AutoModificadoEvent.de(auto(4L, volkswagen, "Golf", 5, true)));
+
+        assertEquals(List.of("Volkswagen Golf:5", "Volkswagen Gol:0"),
+                textos(autocompletado.sugerir("go", 10)));
+        assertEquals(List.of("Volkswagen:5", "Volkswagen Golf:5", "Volkswagen Gol:0"),
+                textos(autocompletado.sugerir("v", 10)));
+    }
+
+    @Test
+    void modeloDesapareceRecienConSuUltimoAuto() {
+        autocompletado.onAutoEliminado(new AutoEliminadoEvent(1L));
+        assertEquals(List.of("Toyota Corolla:1"), textos(autocompletado.sugerir("cor", 10)));
+
+        autocompletado.onAutoEliminado(new AutoEliminadoEvent(2L));
+        assertTrue(autocompletado.sugerir("cor", 10).isEmpty());
+        assertEquals(List.of("Toyota:4", "Toyota Hilux:4"), textos(autocompletado.sugerir("to", 10)));
+    }
+
+    @Test
+    void cambiarDeModeloMueveSuStock() {
+        autocompletado.onAutoModificado(AutoModificadoEvent.de(auto(2L, toyota, "Yaris", 1, true)));
+
+        assertEquals(List.of("Toyota Corolla:2"), textos(autocompletado.sugerir("cor", 10)));
+        assertEquals(List.of("Toyota Yaris:1"), textos(autocompletado.sugerir("ya", 10)));
+        assertEquals("Toyota:7", textos(autocompletado.sugerir("to", 10)).get(0));
+    }
+
+    @Test
+    void renombrarMarcaReindexaSusModelos() {
+        autocompletado.onMarcaModificada(new MarcaModificadaEvent(marca(1L, "Lexus", true)));
+
+        assertTrue(autocompletado.sugerir("toy", 10).isEmpty());
+        assertEquals(List.of("Lexus:7", "Lexus Hilux:4", "Lexus Corolla:3"),
+                textos(autocompletado.sugerir("lex", 10)));
+        assertEquals(List.of("Lexus Corolla:3"), textos(autocompletado.sugerir("cor", 10)));
+    }
+
+    @Test
+    void desactivarOEliminarMarcaQuitaSuSugerencia() {
+        autocompletado.onMarcaModificada(new MarcaModificadaEvent(marca(1L, "Toyota", false)));
+        assertEquals(List.of("Toyota Hilux:4", "Toyota Corolla:3"), textos(autocompletado.sugerir("to", 10)));
+
+        autocompletado.onMarcaEliminada(new MarcaEliminadaEvent(2L));
+        assertTrue(autocompletado.sugerir("v", 10).stream()
+                .noneMatch(s -> s.getTipo() == TipoSugerencia.MARCA));
+    }
+
+    @Test
+    void cadaNodoGuardaComoMaximoLasMejoresSugerencias() {
+        for (long id = 10; id < 25; id++) {
+            autocompletado.onAutoModificado(AutoModificadoEvent.de(
+                    auto(id, volkswagen, "Modelo " + id, (int) id, true)));
+        }
+
+        List<SugerenciaAutocompletado> sugerencias = autocompletado.sugerir("volkswagen m", 50);
+
+        assertEquals(Autocompletado.MAX_SUGERENCIAS, sugerencias.size());
+        assertEquals("Volkswagen Modelo 24:24", textos(sugerencias).get(0));
+        assertEquals("Volkswagen Modelo 15:15", textos(sugerencias).get(Autocompletado.MAX_SUGERENCIAS - 1));
+    }
+
+    private static List<String> textos(List<SugerenciaAutocompletado> sugerencias) {
+        List<String> textos = new ArrayList<>();
+        sugerencias.forEach(s -> textos.add(s.getTexto() + ":" + s.getStock()));
+        return textos;
+    }
+
+    private static Marca marca(Long id, String nombre, boolean activa) {
+        Marca marca = new Marca();
+        marca.setId(id);
+        marca.setNombre(nombre);
+        marca.setActiva(activa);
+        return marca;
+    }
+
+    private static Auto auto(Long id, Marca marca, String modelo, int stock, boolean disponible) {
+        Auto auto = new Auto();
+        auto.setId(id);
+        auto.setMarca(marca);
+        auto.setModelo(modelo);
+        auto.setStock(stock);
+        auto.setDisponible(disponible);
+        return auto;
+    }
+}
@@ -0,0 +1,335 @@
+package com.ventadeautos.backend.catalog;
+
+import com.ventadeautos.backend.cache.VersionCatalogo;
+import com.ventadeautos.backend.dto.EstadoAutoResponse;
+import com.ventadeautos.backend.model.Auto;
+import com.ventadeautos.backend.model.CategoriaAuto;
+import com.ventadeautos.backend.model.Combustible;
+import com.ventadeautos.backend.model.CondicionAuto;
+import com.ventadeautos.backend.model.Marca;
+import com.ventadeautos.backend.model.Transmision;
+import com.ventadeautos.backend.repository.AutoRepository;
+import com.ventadeautos.backend.reserva.Reserva;
+import com.ventadeautos.backend.reserva.ReservaStockEvent;
+import com.ventadeautos.backend.reserva.ReservasStock;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class CatalogoAutosTests {
+
+    private AutoRepository autoRepository;
+    private ReservasStock reservasStock;
+    private VersionCatalogo versionCatalogo;
+    private CatalogoAutos catalogo;
+
+    // El catálogo se carga en la primera consulta, así cada test puede ajustar los mocks antes.
+    // Los eventos recibidos antes de la carga se ignoran: los tests que los usan cargan primero.
+    @BeforeEach
+    void preparar() {
+        autoRepository = mock(AutoRepository.class);
+        reservasStock = mock(ReservasStock.class);
+        versionCatalogo = new VersionCatalogo();
+        catalogo = new CatalogoAutos(autoRepository, versionCatalogo, reservasStock);
+
+        when(autoRepository.findAllParaCatalogo()).thenReturn(List.of(
+                auto(1L, 1L, 1L, 1L, "20000", 2020, 10000, 2, true),
+                auto(2L, 1L, 2L, 2L, "15000", 2018, 50000, 1, true),
+                auto(3L, 2L, 1L, 1L, "30000", 2022, 0, 1, true),
+                auto(4L, 2L, 2L, 1L, "15000", 2019, 30000, 3, true),
+                auto(5L, 3L, 1L, 2L, "50000", 2023, 5000, 1, false),
+                // Su única unidad está reservada
+                auto(6L, 3L, 1L, 1L, "25000", 2021, 20000, 1, true)));
+        when(autoRepository.contarVentasPendientesPorAuto()).thenReturn(List.of());
+        when(reservasStock.activasPorAuto()).thenReturn(Map.of(6L, 1));
+    }
+
+    @Test
+    void combinaValoresConOrDentroDeUnaDimensionYConAndEntreDimensiones() {
+        FiltroCatalogo filtro = new FiltroCatalogo();
+        filtro.setMarcaIds(Set.of(1L, 2L));
+        filtro.setCategoriaIds(Set.of(1L));
+
+        assertIds(List.of(1L, 3L), catalogo.filtrar(filtro));
+    }
+
+    @Test
+    void valorSinAutosNoCoincideConNada() {
+        FiltroCatalogo filtro = new FiltroCatalogo();
+        filtro.setMarcaIds(Set.of(99L));
+
+        assertTrue(catalogo.filtrar(filtro).isEmpty());
+        assertEquals(0, catalogo.contar(filtro));
+    }
+
+    @Test
+    void conStockExcluyeAutosConTodasSusUnidadesReservadas() {
+        FiltroCatalogo filtro = new FiltroCatalogo();
+        filtro.setMarcaIds(Set.of(3L));
+        assertIds(List.of(6L), catalogo.filtrar(filtro));
+
+        filtro.setConStock(true);
+        assertTrue(catalogo.filtrar(filtro).isEmpty());
+    }
+
+    @Test
+    void filtroPorDimensionesRespetaReservas() {
+        assertIds(List.of(1L, 2L, 3L, 4L), catalogo.filtrar(null, null, null, null, null));
+        assertTrue(catalogo.filtrar(3L, null, null, null, null).isEmpty());
+    }
+
+    @Test
+    void liberarLaReservaVuelveVisibleAlAuto() {
+        assertFalse(catalogo.esVisible(6L));
+        assertEquals(4, catalogo.contarVisibles());
+        long version = versionCatalogo.actual();
+
+        when(reservasStock.activas(6L)).thenReturn(0);
+        catalogo.onReservaStock(new ReservaStockEvent(new Reserva(10L, 6L, 0L), null));
+
+        assertTrue(catalogo.esVisible(6L));
+        assertEquals(5, catalogo.contarVisibles());
+        assertIds(List.of(6L), catalogo.filtrar(3L, null, null, null, null));
+        assertTrue(versionCatalogo.actual() > version);
+    }
+
+    @Test
+    void ventaPendienteOcultaAlAutoHastaQueSeFinaliza() {
+        catalogo.inicializar();
+        catalogo.onEstadoVentaCambiado(new EstadoVentaCambiadoEvent(
+                1L, null, EstadoVentaCambiadoEvent.PENDIENTE));
+
+        assertFalse(catalogo.esVisible(1L));
+        assertEquals(3, catalogo.contarVisibles());
+        assertEquals(1, catalogo.contarVentasPendientes());
+        FiltroCatalogo filtro = new FiltroCatalogo();
+        filtro.setMarcaIds(Set.of(1L));
+        filtro.setSinVentasPendientes(true);
+        assertIds(List.of(2L), catalogo.filtrar(filtro));
+
+        catalogo.onEstadoVentaCambiado(new EstadoVentaCambiadoEvent(
+                1L, EstadoVentaCambiadoEvent.PENDIENTE, EstadoVentaCambiadoEvent.FINALIZADO));
+
+        assertTrue(catalogo.esVisible(1L));
+        assertEquals(4, catalogo.contarVisibles());
+        assertEquals(0, catalogo.contarVentasPendientes());
+    }
+
+    @Test
+    void cargaInicialCuentaVentasPendientes() {
+        when(autoRepository.contarVentasPendientesPorAuto())
+                .thenReturn(List.<Object[]>of(new Object[]{2L, 2L}));
+
+        assertFalse(catalogo.esVisible(2L));
+        assertEquals(3, catalogo.contarVisibles());
+        assertEquals(2, catalogo.contarVentasPendientes());
+    }
+
+    @Test
+    void facetaIgnoraSuPropioFiltroYAutoQueFallaUnaDimensionSumaSoloEnElla() {
+        FiltroCatalogo filtro = new FiltroCatalogo();
+        filtro.setMarcaIds(Set.of(1L));
+        filtro.setCategoriaIds(Set.of(1L));
+
+        Map<DimensionCatalogo, Map<Long, Integer>> facetas = catalogo.contarFacetas(filtro);
+
+        // 1 cumple todo; 2 falla categoría; 3 falla marca; 4 falla ambas y no suma;
+        // 5 no está disponible y 6 no tiene stock libre
+        assertEquals(Map.of(1L, 1, 2L, 1), facetas.get(DimensionCatalogo.MARCA));
+        assertEquals(Map.of(1L, 1, 2L, 1), facetas.get(DimensionCatalogo.CATEGORIA));
+        assertEquals(Map.of(1L, 1), facetas.get(DimensionCatalogo.COMBUSTIBLE));
+        assertEquals(Map.of(1L, 1), facetas.get(DimensionCatalogo.TRANSMISION));
+    }
+
+    @Test
+    void rangosIncluyenAmbosExtremos() {
+        FiltroCatalogo filtro = new FiltroCatalogo();
+        filtro.setPrecioMin(new BigDecimal("15000"));
+        filtro.setPrecioMax(new BigDecimal("20000.00"));
+        assertIds(List.of(1L, 2L, 4L), catalogo.filtrar(filtro));
+
+        filtro = new FiltroCatalogo();
+        filtro.setAnioMin(2019);
+        filtro.setKilometrajeMax(10000);
+        assertIds(List.of(1L, 3L), catalogo.filtrar(filtro));
+    }
+
+    @Test
+    void rangoVacioOInvertidoNoCoincideConNada() {
+        FiltroCatalogo filtro = new FiltroCatalogo();
+        filtro.setPrecioMin(new BigDecimal("60000"));
+        assertTrue(catalogo.filtrar(filtro).isEmpty());
+
+        filtro = new FiltroCatalogo();
+        filtro.setAnioMin(2022);
+        filtro.setAnioMax(2018);
+        assertTrue(catalogo.filtrar(filtro).isEmpty());
+    }
+
+    @Test
+    void ordenaPorPrecioDesempatandoPorIdYRespetaElLimite() {
+        FiltroCatalogo filtro = new FiltroCatalogo();
+        filtro.setConStock(true);
+        filtro.setOrden(OrdenCatalogo.PRECIO_ASC);
+        assertIds(List.of(2L, 4L, 1L, 3L), catalogo.filtrar(filtro));
+
+        filtro.setOrden(OrdenCatalogo.PRECIO_DESC);
+        assertIds(List.of(3L, 1L, 4L, 2L), catalogo.filtrar(filtro));
+
+        filtro.setLimite(2);
+        assertIds(List.of(3L, 1L), catalogo.filtrar(filtro));
+
+        filtro.setLimite(0);
+        assertTrue(catalogo.filtrar(filtro).isEmpty());
+    }
+
+    @Test
+    void seleccionConHeapOrdenaIgualQueElRecorridoDelIndice() {
+        catalogo.inicializar();
+        // Con muchos autos de otra marca, pocas coincidencias pasan por el heap top-K
+        for (long id = 100; id < 140; id++) {
+            catalogo.onAutoModificado(AutoModificadoEvent.de(
+                    auto(id, 9L, 1L, 1L, "10000", 2000, 100000, 1, true)));
+        }
+        FiltroCatalogo filtro = new FiltroCatalogo();
+        filtro.setMarcaIds(Set.of(1L, 2L));
+        filtro.setConStock(true);
+
+        filtro.setOrden(OrdenCatalogo.PRECIO_ASC);
+        assertIds(List.of(2L, 4L, 1L, 3L), catalogo.filtrar(filtro));
+
+        filtro.setOrden(OrdenCatalogo.PRECIO_DESC);
+        assertIds(List.of(3L, 1L, 4L, 2L), catalogo.filtrar(filtro));
+
+        filtro.setOrden(OrdenCatalogo.ANIO_ASC);
+        filtro.setLimite(1);
+        assertIds(List.of(2L), catalogo.filtrar(filtro));
+    }
+
+    @Test
+    void eliminarLiberaElSlotYUnAutoNuevoLoReusaSinArrastrarIndices() {
+        catalogo.inicializar();
+        catalogo.onAutoEliminado(new AutoEliminadoEvent(2L));
+
+        assertEquals(5, catalogo.tamano());
+        assertEquals(3, catalogo.contarVisibles());
+        assertIds(List.of(1L), catalogo.porMarca(1L));
+
+        catalogo.onAutoModificado(AutoModificadoEvent.de(
+                auto(7L, 4L, 2L, 2L, "12000", 2017, 80000, 1, true)));
+
+        assertEquals(6, catalogo.tamano());
+        assertEquals(4, catalogo.contarVisibles());
+        assertIds(List.of(7L), catalogo.porMarca(4L));
+        assertIds(List.of(1L), catalogo.porMarca(1L));
+        FiltroCatalogo filtro = new FiltroCatalogo();
+        filtro.setConStock(true);
+        filtro.setOrden(OrdenCatalogo.PRECIO_ASC);
+        assertIds(List.of(7L, 4L, 1L, 3L), catalogo.filtrar(filtro));
+    }
+
+    @Test
+    void modificarUnAutoLoMueveDeIndices() {
+        catalogo.inicializar();
+        catalogo.onAutoModificado(AutoModificadoEvent.de(
+                auto(1L, 2L, 1L, 1L, "40000", 2020, 10000, 2, true)));
+
+        assertIds(List.of(2L), catalogo.porMarca(1L));
+        FiltroCatalogo filtro = new FiltroCatalogo();
+        filtro.setPrecioMin(new BigDecimal("35000"));
+        assertIds(List.of(1L), catalogo.filtrar(filtro));
+        assertEquals(4, catalogo.contarVisibles());
+    }
+
+    @Test
+    void renombrarUnaReferenciaReemplazaLasCopiasQueLaUsan() {
+        catalogo.inicializar();
+        Auto anterior = catalogo.porMarca(1L).get(1);
+        long version = versionCatalogo.actual();
+        CategoriaAuto suv = new CategoriaAuto();
+        suv.setId(2L);
+        suv.setNombre("SUV");
+
+        catalogo.onReferenciaModificada(ReferenciaModificadaEvent.de(suv));
+
+        Auto actual = catalogo.porMarca(1L).get(1);
+        assertEquals(2L, actual.getId());
+        assertEquals("SUV", actual.getCategoria().getNombre());
+        assertNotSame(anterior, actual);
+        assertTrue(catalogo.porMarca(2L).stream()
+                .filter(a -> a.getId() == 4L)
+                .allMatch(a -> "SUV".equals(a.getCategoria().getNombre())));
+        assertNull(catalogo.porMarca(1L).get(0).getCategoria().getNombre());
+        assertTrue(versionCatalogo.actual() > version);
+    }
+
+    @Test
+    void sinStockElAutoDejaDeEstarDisponible() {
+        catalogo.inicializar();
+        catalogo.onAutoModificado(AutoModificadoEvent.de(
+                auto(3L, 2L, 1L, 1L, "30000", 2022, 0, 0, true)));
+
+        assertFalse(catalogo.esVisible(3L));
+        assertEquals(3, catalogo.contarVisibles());
+        assertIds(List.of(1L, 2L, 4L), catalogo.filtrar(null, null, null, null, null));
+    }
+
+    @Test
+    void estadosInformaStockLibreYAutosInexistentes() {
+        List<EstadoAutoResponse> estados = catalogo.estados(List.of(6L, 1L, 99L));
+
+        assertEquals(new EstadoAutoResponse(6L, true, true, false, 1, 0), estados.get(0));
+        assertEquals(new EstadoAutoResponse(1L, true, true, true, 2, 2), estados.get(1));
+        assertEquals(new EstadoAutoResponse(99L, false, false, false, 0, 0), estados.get(2));
+    }
+
+    @Test
+    void obtenerVisiblesRespetaElOrdenRecibido() {
+        assertIds(List.of(4L, 1L), catalogo.obtenerVisibles(List.of(4L, 5L, 6L, 1L, 99L)));
+    }
+
+    private static void assertIds(List<Long> esperados, List<Auto> autos) {
+        assertEquals(esperados, autos.stream().map(Auto::getId).toList());
+    }
+
+    private static Auto auto(Long id, Long marcaId, Long categoriaId, Long combustibleId, String precio,
+                             int anio, int kilometraje, int stock, boolean disponible) {
+        Marca marca = new Marca();
+        marca.setId(marcaId);
+        CategoriaAuto categoria = new CategoriaAuto();
+        categoria.setId(categoriaId);
+        Combustible combustible = new Combustible();
+        combustible.setId(combustibleId);
+        CondicionAuto condicion = new CondicionAuto();
+        condicion.setId(1L);
+        Transmision transmision = new Transmision();
+        transmision.setId(1L);
+
+        Auto auto = new Auto();
+        auto.setId(id);
+        auto.setMarca(marca);
+        auto.setCategoria(categoria);
+        auto.setCombustible(combustible);
+        auto.setCondicion(condicion);
+        auto.setTransmision(transmision);
+        auto.setModelo("Modelo " + id);
+        auto.setPrecio(new BigDecimal(precio));
+        auto.setAnio(anio);
+        auto.setKilometraje(kilometraje);
+        auto.setStock(stock);
+        auto.setDisponible(disponible);
+        return auto;
+    }
+}
@@ -0,0 +1,89 @@
+package com.ventadeautos.backend.catalog;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.BitSet;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class IndiceOrdenadoTests {
+
+    private IndiceOrdenado indice;
+
+    // slot = id - 1; valores con repetidos para probar el desempate por id
+    @BeforeEach
+    void preparar() {
+        indice = new IndiceOrdenado(2);
+        indice.insertar(300, 3, 2);
+        indice.insertar(100, 1, 0);
+        indice.insertar(200, 4, 3);
+        indice.insertar(200, 2, 1);
+        indice.insertar(500, 5, 4);
+    }
+
+    @Test
+    void mantieneOrdenPorValorYDesempataPorId() {
+        assertEquals(5, indice.tamano());
+        assertSlots(new int[]{0, 1, 3, 2, 4});
+    }
+
+    @Test
+    void rangoIncluyeAmbosExtremos() {
+        assertEquals(bits(1, 2, 3), indice.rango(200L, 300L));
+    }
+
+    @Test
+    void rangoConExtremosNulosNoLimita() {
+        assertEquals(bits(0, 1, 2, 3, 4), indice.rango(null, null));
+        assertEquals(bits(0, 1, 3), indice.rango(null, 200L));
+        assertEquals(bits(2, 4), indice.rango(250L, null));
+    }
+
+    @Test
+    void rangoVacioOInvertidoNoDevuelveSlots() {
+        assertTrue(indice.rango(301L, 499L).isEmpty());
+        assertTrue(indice.rango(400L, 200L).isEmpty());
+        assertTrue(indice.rango(600L, null).isEmpty());
+        assertTrue(new IndiceOrdenado(0).rango(null, null).isEmpty());
+    }
+
+    @Test
+    void rangoConMaximoExtremoNoDesborda() {
+        assertEquals(bits(0, 1, 2, 3, 4), indice.rango(Long.MIN_VALUE, Long.MAX_VALUE));
+    }
+
+    @Test
+    void eliminarQuitaSoloElParExacto() {
+        indice.eliminar(200, 4);
+        indice.eliminar(999, 1);
+        assertEquals(4, indice.tamano());
+        assertSlots(new int[]{0, 1, 2, 4});
+        assertEquals(bits(1), indice.rango(200L, 200L));
+    }
+
+    @Test
+    void reconstruirIgnoraSlotsLibres() {
+        long[] ids = {7, 0, 9, 8};
+        long[] valores = {50, 999, 10, 50};
+        indice.reconstruir(slot -> valores[slot], ids, ids.length);
+        assertEquals(3, indice.tamano());
+        assertSlots(new int[]{2, 0, 3});
+        assertEquals(bits(0, 3), indice.rango(50L, 50L));
+    }
+
+    private void assertSlots(int[] esperados) {
+        for (int i = 0; i < esperados.length; i++) {
+            assertEquals(esperados[i], indice.slot(i), "posición " + i);
+        }
+    }
+
+    private static BitSet bits(int... slots) {
+        BitSet bits = new BitSet();
+        for (int slot : slots) {
+            bits.set(slot);
+        }
+        return bits;
+    }
+}
@@ -0,0 +1,136 @@
+package com.ventadeautos.backend.catalog;
+
+import com.ventadeautos.backend.model.Auto;
+import com.ventadeautos.backend.model.Marca;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class MotorBusquedaTests {
+
+    private CatalogoAutos catalogoAutos;
+    private MotorBusqueda motor;
+    private Marca toyota;
+
+    @BeforeEach
+    void preparar() {
+        catalogoAutos = mock(CatalogoAutos.class);
+        toyota = marca(1L, "Toyota");
+        Marca volkswagen = marca(2L, "Volkswagen");
+        when(catalogoAutos.todos()).thenReturn(List.of(
+                auto(1L, toyota, "Corolla", "Rojo", null),
+                auto(2L, volkswagen, "Golf", "Azul", "Sedán con cámara de retroceso, motor parecido al de un Toyota"),
+                auto(3L, volkswagen, "Gol", "Blanco", null),
+                auto(4L, toyota, "Hilux", "Blanco", null),
+                auto(5L, toyota, "Hilux", "Blanco", null)));
+        motor = new MotorBusqueda(catalogoAutos);
+        motor.inicializar();
+    }
+
+    @Test
+    void consultaVaciaOSoloSeparadoresNoDevuelveNada() {
+        assertTrue(motor.buscar(null, 10).isEmpty());
+        assertTrue(motor.buscar("   ", 10).isEmpty());
+        assertTrue(motor.buscar(" -- , ", 10).isEmpty());
+    }
+
+    @Test
+    void ignoraMayusculasYTildes() {
+        assertEquals(List.of(2L), motor.buscar("CAMARA", 10));
+        assertEquals(List.of(2L), motor.buscar("sedan", 10));
+    }
+
+    @Test
+    void marcaPesaMasQueDescripcion() {
+        // 1, 4 y 5 la tienen como marca (y misma longitud); 2 solo la menciona
+        assertEquals(List.of(1L, 4L, 5L, 2L), motor.buscar("toyota", 10));
+    }
+
+    @Test
+    void empatesSeOrdenanPorId() {
+        assertEquals(List.of(4L, 5L), motor.buscar("hilux", 10));
+    }
+
+    @Test
+    void respetaElLimite() {
+        assertEquals(List.of(1L, 4L), motor.buscar("toyota", 2));
+    }
+
+    @Test
+    void variosTerminosSumanPuntaje() {
+        assertEquals(1L, motor.buscar("toyota rojo", 10).get(0));
+        assertEquals(4L, motor.buscar("blanco hilux", 10).get(0));
+    }
+
+    @Test
+    void corrigeErroresDeTipeo() {
+        assertEquals(List.of(1L, 4L, 5L, 2L), motor.buscar("toyta", 10));
+        assertEquals(List.of(1L), motor.buscar("corola", 10));
+        // Transposición de letras adyacentes; 2 queda después por su descripción más larga
+        assertEquals(List.of(3L, 2L), motor.buscar("volkswagne", 10));
+    }
+
+    @Test
+    void terminoExistenteNoSeExpandeAParecidos() {
+        // "gol" existe, así que no arrastra a "golf"
+        assertEquals(List.of(3L), motor.buscar("gol", 10));
+    }
+
+    @Test
+    void terminosCortosOMuyDistintosNoSeCorrigen() {
+        assertTrue(motor.buscar("hx", 10).isEmpty());
+        assertTrue(motor.buscar("mercedes", 10).isEmpty());
+    }
+
+    @Test
+    void autoModificadoReemplazaSusTerminos() {
+        motor.onAutoModificado(AutoModificadoEvent.de(auto(3L, toyota, "Yaris", "Blanco", null)));
+
+        assertEquals(List.of(3L), motor.buscar("yaris", 10));
+        assertTrue(motor.buscar("gol", 10).stream().noneMatch(id -> id == 3L));
+    }
+
+    @Test
+    void autoEliminadoDejaDeAparecer() {
+        motor.onAutoEliminado(new AutoEliminadoEvent(1L));
+
+        assertTrue(motor.buscar("corolla", 10).isEmpty());
+        assertEquals(List.of(4L, 5L, 2L), motor.buscar("toyota", 10));
+    }
+
+    @Test
+    void renombrarMarcaReindexaSusAutos() {
+        Marca renombrada = marca(2L, "VW");
+        when(catalogoAutos.porMarca(2L)).thenReturn(List.of(
+                auto(2L, marca(2L, "Volkswagen"), "Golf", "Azul", null),
+                auto(3L, marca(2L, "Volkswagen"), "Gol", "Blanco", null)));
+
+        motor.onMarcaModificada(new MarcaModificadaEvent(renombrada));
+
+        assertEquals(List.of(2L, 3L), motor.buscar("vw", 10));
+        assertTrue(motor.buscar("volkswagen", 10).isEmpty());
+    }
+
+    private static Marca marca(Long id, String nombre) {
+        Marca marca = new Marca();
+        marca.setId(id);
+        marca.setNombre(nombre);
+        return marca;
+    }
+
+    private static Auto auto(Long id, Marca marca, String modelo, String color, String descripcion) {
+        Auto auto = new Auto();
+        auto.setId(id);
+        auto.setMarca(marca);
+        auto.setModelo(modelo);
+        auto.setColor(color);
+        auto.setDescripcion(descripcion);
+        return auto;
+    }
+}
@@ -0,0 +1,240 @@
+package com.ventadeautos.backend.reserva;
+
+import com.ventadeautos.backend.model.ReservaStock;
+import com.ventadeautos.backend.repository.ReservaStockRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.scheduling.TaskScheduler;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ScheduledFuture;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class ReservasStockTests {
+
+    private ReservaStockRepository repository;
+    private TaskScheduler taskScheduler;
+    private ScheduledFuture<?> tarea;
+    private List<ReservaStockEvent> eventos;
+    private ReservasStock reservas;
+
+    @BeforeEach
+    void preparar() {
+        repository = mock(ReservaStockRepository.class);
+        taskScheduler = mock(TaskScheduler.class);
+        tarea = mock(ScheduledFuture.class);
+        doReturn(tarea).when(taskScheduler).schedule(any(Runnable.class), any(Instant.class));
+        eventos = new ArrayList<>();
+        reservas = new ReservasStock(repository, evento -> eventos.add((ReservaStockEvent) evento), taskScheduler);
+        ReflectionTestUtils.setField(reservas, "duracion", Duration.ofHours(1));
+    }
+
+    @Test
+    void otorgaReservasHastaCubrirElStock() {
+        assertTrue(reservas.reservar(1L, 10L, 2));
+        assertTrue(reservas.reservar(2L, 10L, 2));
+        assertFalse(reservas.reservar(3L, 10L, 2));
+
+        assertEquals(2, reservas.activas(10L));
+        assertEquals(Map.of(10L, 2), reservas.activasPorAuto());
+        assertEquals(2, eventos.size());
+        assertTrue(eventos.stream().allMatch(e -> e.getAnterior() == null && e.getNueva() != null));
+        verify(repository, times(2)).save(any(ReservaStock.class));
+    }
+
+    @Test
+    void sinStockNoOtorgaNada() {
+        assertFalse(reservas.reservar(1L, 10L, 0));
+
+        assertEquals(0, reservas.activas(10L));
+        assertTrue(eventos.isEmpty());
+        verify(repository, never()).save(any());
+    }
+
+    @Test
+    void renovarNoCuentaLaReservaPropia() {
+        assertTrue(reservas.reservar(1L, 10L, 1));
+        assertTrue(reservas.reservar(1L, 10L, 1));
+        assertFalse(reservas.reservar(2L, 10L, 1));
+
+        assertEquals(1, reservas.activas(10L));
+        ReservaStockEvent renovacion = eventos.get(1);
+        assertEquals(eventos.get(0).getNueva(), renovacion.getAnterior());
+        assertNotNull(renovacion.getNueva());
+    }
+
+    @Test
+    void liberarDevuelveLaUnidad() {
+        reservas.reservar(1L, 10L, 1);
+
+        reservas.liberar(1L, 10L);
+
+        assertEquals(0, reservas.activas(10L));
+        assertTrue(reservas.activasPorAuto().isEmpty());
+        assertNull(eventos.get(1).getNueva());
+        assertEquals(1L, eventos.get(1).getAnterior().contactoId());
+        verify(repository).deleteById(1L);
+        assertTrue(reservas.reservar(2L, 10L, 1));
+    }
+
+    @Test
+    void liberarSinReservaNoHaceNada() {
+        reservas.reservar(1L, 10L, 1);
+
+        reservas.liberar(2L, 10L);
+        reservas.liberar(1L, 20L);
+
+        assertEquals(1, reservas.activas(10L));
+        assertEquals(1, eventos.size());
+        verify(repository, never()).deleteById(any());
+    }
+
+    @Test
+    void rollbackDeUnaReservaNuevaLaQuita() {
+        reservas.reservar(1L, 10L, 1);
+
+        reservas.onRollback(eventos.get(0));
+
+        assertEquals(0, reservas.activas(10L));
+        assertTrue(reservas.reservar(2L, 10L, 1));
+    }
+
+    @Test
+    void rollbackDeUnaRenovacionRestauraLaAnterior() {
+        reservas.reservar(1L, 10L, 1);
+        ReflectionTestUtils.setField(reservas, "duracion", Duration.ofHours(2));
+        reservas.reservar(1L, 10L, 1);
+        ReservaStockEvent renovacion = eventos.get(1);
+
+        reservas.onRollback(renovacion);
+
+        assertEquals(1, reservas.activas(10L));
+        reservas.liberar(1L, 10L);
+        assertEquals(renovacion.getAnterior(), eventos.get(2).getAnterior());
+    }
+
+    @Test
+    void rollbackDeUnaLiberacionRestauraLaReserva() {
+        reservas.reservar(1L, 10L, 1);
+        reservas.liberar(1L, 10L);
+
+        reservas.onRollback(eventos.get(1));
+
+        assertEquals(1, reservas.activas(10L));
+        assertFalse(reservas.reservar(2L, 10L, 1));
+    }
+
+    @Test
+    void rollbackAtrasadoNoQuitaUnaReservaPosterior() {
+        reservas.reservar(1L, 10L, 1);
+        ReflectionTestUtils.setField(reservas, "duracion", Duration.ofHours(2));
+        reservas.reservar(1L, 10L, 1);
+
+        // La nueva del primer evento ya fue reemplazada por la renovación
+        reservas.onRollback(eventos.get(0));
+
+        assertEquals(1, reservas.activas(10L));
+        reservas.liberar(1L, 10L);
+        assertEquals(eventos.get(1).getNueva(), eventos.get(2).getAnterior());
+    }
+
+    @Test
+    void reservaVencidaNoCuentaYLiberaElCupo() {
+        ReflectionTestUtils.setField(reservas, "duracion", Duration.ZERO);
+        assertTrue(reservas.reservar(1L, 10L, 1));
+
+        assertEquals(0, reservas.activas(10L));
+        assertTrue(reservas.reservar(2L, 10L, 1));
+    }
+
+    @Test
+    void cargaLasVigentesDeLaBaseYProgramaElVencimientoMasCercano() {
+        Instant ahora = Instant.ofEpochMilli(System.currentTimeMillis());
+        when(repository.findByVenceAfter(any())).thenReturn(List.of(
+                new ReservaStock(1L, 10L, ahora.plus(Duration.ofHours(2))),
+                new ReservaStock(2L, 10L, ahora.plus(Duration.ofHours(1))),
+                new ReservaStock(3L, 20L, ahora.plus(Duration.ofHours(3)))));
+
+        assertEquals(Map.of(10L, 2, 20L, 1), reservas.activasPorAuto());
+        verify(taskScheduler).schedule(any(Runnable.class), eq(ahora.plus(Duration.ofHours(1))));
+    }
+
+    @Test
+    void soloReprogramaSiElNuevoVencimientoEsAnterior() {
+        ReflectionTestUtils.setField(reservas, "duracion", Duration.ofHours(2));
+        reservas.reservar(1L, 10L, 5);
+        ReflectionTestUtils.setField(reservas, "duracion", Duration.ofHours(3));
+        reservas.reservar(2L, 10L, 5);
+        verify(taskScheduler, times(1)).schedule(any(Runnable.class), any(Instant.class));
+        verify(tarea, never()).cancel(false);
+
+        ReflectionTestUtils.setField(reservas, "duracion", Duration.ofHours(1));
+        reservas.reservar(3L, 10L, 5);
+
+        ArgumentCaptor<Instant> momentos = ArgumentCaptor.forClass(Instant.class);
+        verify(taskScheduler, times(2)).schedule(any(Runnable.class), momentos.capture());
+        assertTrue(momentos.getAllValues().get(1).isBefore(momentos.getAllValues().get(0)));
+        verify(tarea).cancel(false);
+    }
+
+    @Test
+    void vencerQuitaLasVencidasAvisaYProgramaLaSiguiente() {
+        Instant ahora = Instant.ofEpochMilli(System.currentTimeMillis());
+        Instant siguiente = ahora.plus(Duration.ofHours(1));
+        when(repository.findByVenceAfter(any())).thenReturn(List.of(
+                new ReservaStock(1L, 10L, ahora.minusSeconds(1)),
+                new ReservaStock(2L, 20L, siguiente)));
+        reservas.activas(10L);
+
+        reservas.vencer();
+
+        assertEquals(1, eventos.size());
+        assertEquals(1L, eventos.get(0).getAnterior().contactoId());
+        assertNull(eventos.get(0).getNueva());
+        assertEquals(Map.of(20L, 1), reservas.activasPorAuto());
+        verify(taskScheduler).schedule(any(Runnable.class), eq(siguiente));
+        // Las filas quedan para la purga
+        verify(repository, never()).eliminarVencidas(any());
+    }
+
+    @Test
+    void vencerSinReservasNoProgramaNada() {
+        reservas.vencer();
+
+        assertTrue(eventos.isEmpty());
+        verify(taskScheduler, never()).schedule(any(Runnable.class), any(Instant.class));
+    }
+
+    @Test
+    void purgarQuitaLasVencidasDeMemoriaYDeLaBase() {
+        ReflectionTestUtils.setField(reservas, "duracion", Duration.ZERO);
+        reservas.reservar(1L, 10L, 1);
+
+        reservas.purgar();
+
+        assertEquals(2, eventos.size());
+        assertNull(eventos.get(1).getNueva());
+        verify(repository).eliminarVencidas(any());
+        reservas.purgar();
+        assertEquals(2, eventos.size());
+    }
+}
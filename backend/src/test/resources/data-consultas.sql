@@ -0,0 +1,82 @@
+-- Datos adicionales para PresupuestoConsultasTests (se cargan después de data.sql)
+-- 40 contactos y 30 ventas repartidos entre los 12 autos: con un N+1 el número de
+-- sentencias crece con las filas y supera el presupuesto de cada endpoint.
+
+INSERT INTO contactos (id, nombre, dni, email, telefono, asunto, mensaje, auto_id, leido, respondido, estado, tipo_transaccion, fecha_creacion) VALUES
+(1, 'Luis Vargas', '40000001', 'cliente1@correo.com', '900000001', 'Consulta por auto', 'Mensaje de prueba 1', 1, false, false, 'EN_PROCESO', 'COMPRA', TIMESTAMP '2025-01-02 10:01:00'),
+(2, 'Rosa Rojas', '40000002', 'cliente2@correo.com', '900000002', 'Consulta por auto', 'Mensaje de prueba 2', 2, false, false, 'VENTA_FINALIZADA', 'VENTA', TIMESTAMP '2025-01-03 10:02:00'),
+(3, 'Jorge Flores', '40000003', 'cliente3@correo.com', '900000003', 'Consulta por auto', 'Mensaje de prueba 3', 3, true, false, 'CANCELADO', 'PENDIENTE', TIMESTAMP '2025-01-04 10:03:00'),
+(4, 'Lucía Castro', '40000004', 'cliente4@correo.com', '900000004', 'Consulta por auto', 'Mensaje de prueba 4', 4, false, true, 'PENDIENTE', 'COMPRA', TIMESTAMP '2025-01-05 10:04:00'),
+(5, 'Miguel Ramos', '40000005', 'cliente5@correo.com', '900000005', 'Consulta por auto', 'Mensaje de prueba 5', 5, false, false, 'EN_PROCESO', 'VENTA', TIMESTAMP '2025-01-06 10:05:00'),
+(6, 'Carmen Chávez', '40000006', 'cliente6@correo.com', '900000006', 'Consulta por auto', 'Mensaje de prueba 6', 6, true, false, 'VENTA_FINALIZADA', 'PENDIENTE', TIMESTAMP '2025-01-07 10:06:00'),
+(7, 'Diego Mendoza', '40000007', 'cliente7@correo.com', '900000007', 'Consulta por auto', 'Mensaje de prueba 7', 7, false, false, 'CANCELADO', 'COMPRA', TIMESTAMP '2025-01-08 10:07:00'),
+(8, 'Elena Torres', '40000008', 'cliente8@correo.com', '900000008', 'Consulta por auto', 'Mensaje de prueba 8', 8, false, true, 'PENDIENTE', 'VENTA', TIMESTAMP '2025-01-09 10:08:00'),
+(9, 'Raúl Vargas', '40000009', 'cliente9@correo.com', '900000009', 'Consulta por auto', 'Mensaje de prueba 9', 9, true, false, 'EN_PROCESO', 'PENDIENTE', TIMESTAMP '2025-01-10 10:09:00'),
+(10, 'Ana Rojas', '40000010', 'cliente10@correo.com', '900000010', 'Consulta por auto', 'Mensaje de prueba 10', NULL, false, false, 'VENTA_FINALIZADA', 'COMPRA', TIMESTAMP '2025-01-11 10:10:00'),
+(11, 'Luis Flores', '40000011', 'cliente11@correo.com', '900000011', 'Consulta por auto', 'Mensaje de prueba 11', 11, false, false, 'CANCELADO', 'VENTA', TIMESTAMP '2025-01-12 10:11:00'),
+(12, 'Rosa Castro', '40000012', 'cliente12@correo.com', '900000012', 'Consulta por auto', 'Mensaje de prueba 12', 12, true, true, 'PENDIENTE', 'PENDIENTE', TIMESTAMP '2025-01-13 10:12:00'),
+(13, 'Jorge Ramos', '40000013', 'cliente13@correo.com', '900000013', 'Consulta por auto', 'Mensaje de prueba 13', 1, false, false, 'EN_PROCESO', 'COMPRA', TIMESTAMP '2025-01-14 10:13:00'),
+(14, 'Lucía Chávez', '40000014', 'cliente14@correo.com', '900000014', 'Consulta por auto', 'Mensaje de prueba 14', 2, false, false, 'VENTA_FINALIZADA', 'VENTA', TIMESTAMP '2025-01-15 10:14:00'),
+(15, 'Miguel Mendoza', '40000015', 'cliente15@correo.com', '900000015', 'Consulta por auto', 'Mensaje de prueba 15', 3, true, false, 'CANCELADO', 'PENDIENTE', TIMESTAMP '2025-01-16 10:15:00'),
+(16, 'Carmen Torres', '40000016', 'cliente16@correo.com', '900000016', 'Consulta por auto', 'Mensaje de prueba 16', 4, false, true, 'PENDIENTE', 'COMPRA', TIMESTAMP '2025-01-17 10:16:00'),
+(17, 'Diego Vargas', '40000017', 'cliente17@correo.com', '900000017', 'Consulta por auto', 'Mensaje de prueba 17', 5, false, false, 'EN_PROCESO', 'VENTA', TIMESTAMP '2025-01-18 10:17:00'),
+(18, 'Elena Rojas', '40000018', 'cliente18@correo.com', '900000018', 'Consulta por auto', 'Mensaje de prueba 18', 6, true, false, 'VENTA_FINALIZADA', 'PENDIENTE', TIMESTAMP '2025-01-19 10:18:00'),
+(19, 'Raúl Flores', '40000019', 'cliente19@correo.com', '900000019', 'Consulta por auto', 'Mensaje de prueba 19', 7, false, false, 'CANCELADO', 'COMPRA', TIMESTAMP '2025-01-20 10:19:00'),
+(20, 'Ana Castro', '40000020', 'cliente20@correo.com', '900000020', 'Consulta por auto', 'Mensaje de prueba 20', NULL, false, true, 'PENDIENTE', 'VENTA', TIMESTAMP '2025-01-21 10:20:00'),
+(21, 'Luis Ramos', '40000021', 'cliente21@correo.com', '900000021', 'Consulta por auto', 'Mensaje de prueba 21', 9, true, false, 'EN_PROCESO', 'PENDIENTE', TIMESTAMP '2025-01-22 10:21:00'),
+(22, 'Rosa Chávez', '40000022', 'cliente22@correo.com', '900000022', 'Consulta por auto', 'Mensaje de prueba 22', 10, false, false, 'VENTA_FINALIZADA', 'COMPRA', TIMESTAMP '2025-01-23 10:22:00'),
+(23, 'Jorge Mendoza', '40000023', 'cliente23@correo.com', '900000023', 'Consulta por auto', 'Mensaje de prueba 23', 11, false, false, 'CANCELADO', 'VENTA', TIMESTAMP '2025-01-24 10:23:00'),
+(24, 'Lucía Torres', '40000024', 'cliente24@correo.com', '900000024', 'Consulta por auto', 'Mensaje de prueba 24', 12, true, true, 'PENDIENTE', 'PENDIENTE', TIMESTAMP '2025-01-25 10:24:00'),
+(25, 'Miguel Vargas', '40000025', 'cliente25@correo.com', '900000025', 'Consulta por auto', 'Mensaje de prueba 25', 1, false, false, 'EN_PROCESO', 'COMPRA', TIMESTAMP '2025-01-26 10:25:00'),
+(26, 'Carmen Rojas', '40000026', 'cliente26@correo.com', '900000026', 'Consulta por auto', 'Mensaje de prueba 26', 2, false, false, 'VENTA_FINALIZADA', 'VENTA', TIMESTAMP '2025-01-27 10:26:00'),
+(27, 'Diego Flores', '40000027', 'cliente27@correo.com', '900000027', 'Consulta por auto', 'Mensaje de prueba 27', 3, true, false, 'CANCELADO', 'PENDIENTE', TIMESTAMP '2025-01-28 10:27:00'),
+(28, 'Elena Castro', '40000028', 'cliente28@correo.com', '900000028', 'Consulta por auto', 'Mensaje de prueba 28', 4, false, true, 'PENDIENTE', 'COMPRA', TIMESTAMP '2025-01-01 10:28:00'),
+(29, 'Raúl Ramos', '40000029', 'cliente29@correo.com', '900000029', 'Consulta por auto', 'Mensaje de prueba 29', 5, false, false, 'EN_PROCESO', 'VENTA', TIMESTAMP '2025-01-02 10:29:00'),
+(30, 'Ana Chávez', '40000030', 'cliente30@correo.com', '900000030', 'Consulta por auto', 'Mensaje de prueba 30', NULL, true, false, 'VENTA_FINALIZADA', 'PENDIENTE', TIMESTAMP '2025-01-03 10:30:00'),
+(31, 'Luis Mendoza', '40000031', 'cliente31@correo.com', '900000031', 'Consulta por auto', 'Mensaje de prueba 31', 7, false, false, 'CANCELADO', 'COMPRA', TIMESTAMP '2025-01-04 10:31:00'),
+(32, 'Rosa Torres', '40000032', 'cliente32@correo.com', '900000032', 'Consulta por auto', 'Mensaje de prueba 32', 8, false, true, 'PENDIENTE', 'VENTA', TIMESTAMP '2025-01-05 10:32:00'),
+(33, 'Jorge Vargas', '40000033', 'cliente33@correo.com', '900000033', 'Consulta por auto', 'Mensaje de prueba 33', 9, true, false, 'EN_PROCESO', 'PENDIENTE', TIMESTAMP '2025-01-06 10:33:00'),
+(34, 'Lucía Rojas', '40000034', 'cliente34@correo.com', '900000034', 'Consulta por auto', 'Mensaje de prueba 34', 10, false, false, 'VENTA_FINALIZADA', 'COMPRA', TIMESTAMP '2025-01-07 10:34:00'),
+(35, 'Miguel Flores', '40000035', 'cliente35@correo.com', '900000035', 'Consulta por auto', 'Mensaje de prueba 35', 11, false, false, 'CANCELADO', 'VENTA', TIMESTAMP '2025-01-08 10:35:00'),
+(36, 'Carmen Castro', '40000036', 'cliente36@correo.com', '900000036', 'Consulta por auto', 'Mensaje de prueba 36', 12, true, true, 'PENDIENTE', 'PENDIENTE', TIMESTAMP '2025-01-09 10:36:00'),
+(37, 'Diego Ramos', '40000037', 'cliente37@correo.com', '900000037', 'Consulta por auto', 'Mensaje de prueba 37', 1, false, false, 'EN_PROCESO', 'COMPRA', TIMESTAMP '2025-01-10 10:37:00'),
+(38, 'Elena Chávez', '40000038', 'cliente38@correo.com', '900000038', 'Consulta por auto', 'Mensaje de prueba 38', 2, false, false, 'VENTA_FINALIZADA', 'VENTA', TIMESTAMP '2025-01-11 10:38:00'),
+(39, 'Raúl Mendoza', '40000039', 'cliente39@correo.com', '900000039', 'Consulta por auto', 'Mensaje de prueba 39', 3, true, false, 'CANCELADO', 'PENDIENTE', TIMESTAMP '2025-01-12 10:39:00'),
+(40, 'Ana Torres', '40000040', 'cliente40@correo.com', '900000040', 'Consulta por auto', 'Mensaje de prueba 40', NULL, false, true, 'PENDIENTE', 'COMPRA', TIMESTAMP '2025-01-13 10:40:00');
+
+INSERT INTO ventas (id, contact_id, auto_id, estado_id, fecha_solicitud, fecha_actualizacion) VALUES
+(1, 1, 1, 2, TIMESTAMP '2025-02-02 09:00:00', TIMESTAMP '2025-02-02 09:00:00'),
+(2, 2, 2, 3, TIMESTAMP '2025-02-03 09:00:00', TIMESTAMP '2025-02-03 09:00:00'),
+(3, 3, 3, 1, TIMESTAMP '2025-02-04 09:00:00', TIMESTAMP '2025-02-04 09:00:00'),
+(4, 4, 4, 2, TIMESTAMP '2025-02-05 09:00:00', TIMESTAMP '2025-02-05 09:00:00'),
+(5, 5, 5, 3, TIMESTAMP '2025-02-06 09:00:00', TIMESTAMP '2025-02-06 09:00:00'),
+(6, 6, 6, 1, TIMESTAMP '2025-02-07 09:00:00', TIMESTAMP '2025-02-07 09:00:00'),
+(7, 7, 7, 2, TIMESTAMP '2025-02-08 09:00:00', TIMESTAMP '2025-02-08 09:00:00'),
+(8, 8, 8, 3, TIMESTAMP '2025-02-09 09:00:00', TIMESTAMP '2025-02-09 09:00:00'),
+(9, 9, 9, 1, TIMESTAMP '2025-02-10 09:00:00', TIMESTAMP '2025-02-10 09:00:00'),
+(10, 11, 11, 2, TIMESTAMP '2025-02-11 09:00:00', TIMESTAMP '2025-02-11 09:00:00'),
+(11, 12, 12, 3, TIMESTAMP '2025-02-12 09:00:00', TIMESTAMP '2025-02-12 09:00:00'),
+(12, 13, 1, 1, TIMESTAMP '2025-02-13 09:00:00', TIMESTAMP '2025-02-13 09:00:00'),
+(13, 14, 2, 2, TIMESTAMP '2025-02-14 09:00:00', TIMESTAMP '2025-02-14 09:00:00'),
+(14, 15, 3, 3, TIMESTAMP '2025-02-15 09:00:00', TIMESTAMP '2025-02-15 09:00:00'),
+(15, 16, 4, 1, TIMESTAMP '2025-02-16 09:00:00', TIMESTAMP '2025-02-16 09:00:00'),
+(16, 17, 5, 2, TIMESTAMP '2025-02-17 09:00:00', TIMESTAMP '2025-02-17 09:00:00'),
+(17, 18, 6, 3, TIMESTAMP '2025-02-18 09:00:00', TIMESTAMP '2025-02-18 09:00:00'),
+(18, 19, 7, 1, TIMESTAMP '2025-02-19 09:00:00', TIMESTAMP '2025-02-19 09:00:00'),
+(19, 21, 9, 2, TIMESTAMP '2025-02-20 09:00:00', TIMESTAMP '2025-02-20 09:00:00'),
+(20, 22, 10, 3, TIMESTAMP '2025-02-21 09:00:00', TIMESTAMP '2025-02-21 09:00:00'),
+(21, 23, 11, 1, TIMESTAMP '2025-02-22 09:00:00', TIMESTAMP '2025-02-22 09:00:00'),
+(22, 24, 12, 2, TIMESTAMP '2025-02-23 09:00:00', TIMESTAMP '2025-02-23 09:00:00'),
+(23, 25, 1, 3, TIMESTAMP '2025-02-24 09:00:00', TIMESTAMP '2025-02-24 09:00:00'),
+(24, 26, 2, 1, TIMESTAMP '2025-02-25 09:00:00', TIMESTAMP '2025-02-25 09:00:00'),
+(25, 27, 3, 2, TIMESTAMP '2025-02-26 09:00:00', TIMESTAMP '2025-02-26 09:00:00'),
+(26, 28, 4, 3, TIMESTAMP '2025-02-27 09:00:00', TIMESTAMP '2025-02-27 09:00:00'),
+(27, 29, 5, 1, TIMESTAMP '2025-02-28 09:00:00', TIMESTAMP '2025-02-28 09:00:00'),
+(28, 31, 7, 2, TIMESTAMP '2025-02-01 09:00:00', TIMESTAMP '2025-02-01 09:00:00'),
+(29, 32, 8, 3, TIMESTAMP '2025-02-02 09:00:00', TIMESTAMP '2025-02-02 09:00:00'),
+(30, 33, 9, 1, TIMESTAMP '2025-02-03 09:00:00', TIMESTAMP '2025-02-03 09:00:00');
+
+-- Contadores de ventas por auto (la aplicación los mantiene en cada transición)
+UPDATE autos a SET
+ventas_pendientes = (SELECT COUNT(*) FROM ventas v JOIN estados_venta e ON e.id = v.estado_id WHERE v.auto_id = a.id AND e.nombre = 'PENDIENTE'),
+ventas_finalizadas = (SELECT COUNT(*) FROM ventas v JOIN estados_venta e ON e.id = v.estado_id WHERE v.auto_id = a.id AND e.nombre = 'FINALIZADO');
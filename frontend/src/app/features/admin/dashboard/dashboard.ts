@@ -3,7 +3,6 @@ import { CommonModule } from '@angular/common';
 import { RouterModule, Router } from '@angular/router';
 import { DashboardService, DashboardStats } from '../../../../core/services/dashboard.service';
 import { AuthService } from '../../../../core/services/auth.service';
-import { Auto } from '../../../../core/models/auto.model';
 
 @Component({
   selector: 'app-dashboard',
@@ -14,7 +13,6 @@ import { Auto } from '../../../../core/models/auto.model';
 })
 export class DashboardComponent implements OnInit {
   stats: DashboardStats | null = null;
-  autos: Auto[] = [];
   loading = true;
   error = '';
   adminName = '';
@@ -38,18 +36,10 @@ export class DashboardComponent implements OnInit {
     this.dashboardService.obtenerEstadisticas().subscribe({
       next: (stats: DashboardStats) => {
         // Agregar propiedad autosDisponibles si no existe
-        if (!stats.autosDisponibles) {
+        if (stats.autosDisponibles === undefined) {
           stats.autosDisponibles = stats.totalAutos;
         }
 
-        // Obtener los autos de la respuesta (castear como any para acceder a propiedades dinámicas)
-        const statsAny = stats as any;
-        if (statsAny.autos && statsAny.autos.length > 0) {
-          this.autos = statsAny.autos as Auto[];
-        } else if (statsAny.todosLosAutos && statsAny.todosLosAutos.length > 0) {
-          this.autos = statsAny.todosLosAutos as Auto[];
-        }
-
         this.stats = stats;
         this.loading = false;
       },
@@ -11,8 +11,34 @@ export interface DashboardStats {
   contactosNuevos: number;
   totalContactos: number;
   contactosHoy?: number;
-  autos?: Auto[];
-  todosLosAutos?: Auto[];
+  ventasPendientes?: number;
+}
+
+// Resumen de auto que devuelven los listados paginados
+export interface AutoResumen {
+  id: number;
+  marcaId?: number;
+  marca: string;
+  modelo: string;
+  anio: number;
+  precio: number;
+  color?: string;
+  kilometraje?: number;
+  stock?: number;
+  disponible: boolean;
+  categoria?: string;
+  condicion?: string;
+  combustible?: string;
+  transmision?: string;
+  imagenPrincipal?: string;
+}
+
+export interface PaginaAutos {
+  autos: AutoResumen[];
+  orden: string;
+  tamano: number;
+  // null cuando no hay más páginas
+  siguienteCursor: string | null;
 }
 
 @Injectable({
@@ -30,14 +56,21 @@ export class DashboardService {
           totalAutos: 0,
           contactosNuevos: 0,
           totalContactos: 0,
-          autosDisponibles: 0,
-          autos: [],
-          todosLosAutos: []
+          autosDisponibles: 0
         });
       })
     );
   }
 
+  // Los autos ya no vienen en /stats: se piden por páginas
+  obtenerPaginaAutos(cursor?: string | null, tamano = 20, disponibles = false): Observable<PaginaAutos> {
+    let endpoint = `admin/dashboard/autos?tamano=${tamano}&disponibles=${disponibles}`;
+    if (cursor) {
+      endpoint += `&cursor=${encodeURIComponent(cursor)}`;
+    }
+    return this.api.get<PaginaAutos>(endpoint);
+  }
+
   obtenerTodosLosAutos(): Observable<Auto[]> {
     return this.api.get<Auto[]>('autos?admin=true');
   }